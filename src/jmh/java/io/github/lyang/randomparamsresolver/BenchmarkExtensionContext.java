@@ -0,0 +1,218 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.junit.jupiter.api.MediaType;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExecutableInvoker;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestInstances;
+import org.junit.jupiter.api.function.ThrowingConsumer;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+/**
+ * A standalone root {@link ExtensionContext} backed by in-memory stores, so benchmarks exercise
+ * the same store lookups as a real engine without any mocking framework on the hot path.
+ */
+final class BenchmarkExtensionContext implements ExtensionContext {
+  private final Map<Namespace, Store> stores = new ConcurrentHashMap<>();
+  private final Map<String, String> configuration;
+
+  BenchmarkExtensionContext(Map<String, String> configuration) {
+    this.configuration = Map.copyOf(configuration);
+  }
+
+  @Override
+  public Optional<ExtensionContext> getParent() {
+    return Optional.empty();
+  }
+
+  @Override
+  public ExtensionContext getRoot() {
+    return this;
+  }
+
+  @Override
+  public String getUniqueId() {
+    return "[engine:benchmark]";
+  }
+
+  @Override
+  public String getDisplayName() {
+    return "benchmark";
+  }
+
+  @Override
+  public Set<String> getTags() {
+    return Set.of();
+  }
+
+  @Override
+  public Optional<AnnotatedElement> getElement() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<Class<?>> getTestClass() {
+    return Optional.empty();
+  }
+
+  @Override
+  public List<Class<?>> getEnclosingTestClasses() {
+    return List.of();
+  }
+
+  @Override
+  public Optional<TestInstance.Lifecycle> getTestInstanceLifecycle() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<Object> getTestInstance() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<TestInstances> getTestInstances() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<Method> getTestMethod() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<Throwable> getExecutionException() {
+    return Optional.empty();
+  }
+
+  @Override
+  public Optional<String> getConfigurationParameter(String key) {
+    return Optional.ofNullable(configuration.get(key));
+  }
+
+  @Override
+  public <T> Optional<T> getConfigurationParameter(
+      String key, Function<? super String, ? extends T> transformer) {
+    return getConfigurationParameter(key).map(transformer);
+  }
+
+  @Override
+  public void publishReportEntry(Map<String, String> map) {
+    // report entries are not collected while benchmarking
+  }
+
+  @Override
+  public void publishFile(String name, MediaType mediaType, ThrowingConsumer<Path> action) {
+    // files are not collected while benchmarking
+  }
+
+  @Override
+  public void publishDirectory(String name, ThrowingConsumer<Path> action) {
+    // directories are not collected while benchmarking
+  }
+
+  @Override
+  public Store getStore(Namespace namespace) {
+    return stores.computeIfAbsent(namespace, ns -> new MapStore());
+  }
+
+  @Override
+  public Store getStore(StoreScope scope, Namespace namespace) {
+    return getStore(namespace);
+  }
+
+  @Override
+  public ExecutionMode getExecutionMode() {
+    return ExecutionMode.SAME_THREAD;
+  }
+
+  @Override
+  public ExecutableInvoker getExecutableInvoker() {
+    // no parameter resolvers are registered, so executables are invoked without arguments
+    return new ExecutableInvoker() {
+      @Override
+      public Object invoke(Method method, Object target) {
+        try {
+          return method.invoke(target);
+        } catch (ReflectiveOperationException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+
+      @Override
+      public <T> T invoke(Constructor<T> constructor, Object outerInstance) {
+        try {
+          return outerInstance == null
+              ? constructor.newInstance()
+              : constructor.newInstance(outerInstance);
+        } catch (ReflectiveOperationException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+  }
+
+  private static final class MapStore implements Store {
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(Object key) {
+      return values.get(key);
+    }
+
+    @Override
+    public <V> V get(Object key, Class<V> requiredType) {
+      return requiredType.cast(values.get(key));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public <K, V> Object getOrComputeIfAbsent(K key, Function<? super K, ? extends V> function) {
+      return computeIfAbsent(key, function);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Object computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+      return values.computeIfAbsent(key, k -> function.apply((K) k));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public <K, V> V getOrComputeIfAbsent(
+        K key, Function<? super K, ? extends V> function, Class<V> requiredType) {
+      return computeIfAbsent(key, function, requiredType);
+    }
+
+    @Override
+    public <K, V> V computeIfAbsent(
+        K key, Function<? super K, ? extends V> function, Class<V> requiredType) {
+      return requiredType.cast(computeIfAbsent(key, function));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+      values.put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+      return values.remove(key);
+    }
+
+    @Override
+    public <V> V remove(Object key, Class<V> requiredType) {
+      return requiredType.cast(values.remove(key));
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.lang.reflect.Parameter;
+import java.util.Optional;
+import org.junit.jupiter.api.extension.ParameterContext;
+
+/** A plain {@link ParameterContext} for the first parameter of a benchmark target method. */
+final class BenchmarkParameterContext implements ParameterContext {
+  private final Parameter parameter;
+
+  BenchmarkParameterContext(Parameter parameter) {
+    this.parameter = parameter;
+  }
+
+  @Override
+  public Parameter getParameter() {
+    return parameter;
+  }
+
+  @Override
+  public int getIndex() {
+    return 0;
+  }
+
+  @Override
+  public Optional<Object> getTarget() {
+    return Optional.empty();
+  }
+}
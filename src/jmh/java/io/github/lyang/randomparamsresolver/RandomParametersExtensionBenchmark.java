@@ -0,0 +1,142 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link RandomParametersExtension} resolution for every entry in {@link
+ * RandomParametersExtension#GENERATORS}, except {@code java.lang.foreign.MemorySegment}, which the
+ * Java 17 sources cannot declare, and for patterns, alphabets, collections, enums and records.
+ * Each {@link #target} names a method of {@link BenchmarkTargets} whose single parameter is
+ * resolved. Generated files are deleted after each resolution, which the {@code path} target
+ * includes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomParametersExtensionBenchmark {
+  @Param({
+    "randomGenerator",
+    "splittableGenerator",
+    "jumpableGenerator",
+    "leapableGenerator",
+    "streamableGenerator",
+    "byteValue",
+    "boxedByte",
+    "shortValue",
+    "boxedShort",
+    "charValue",
+    "boxedCharacter",
+    "intValue",
+    "boxedInteger",
+    "boundedInt",
+    "longValue",
+    "boxedLong",
+    "boundedLong",
+    "floatValue",
+    "boxedFloat",
+    "boundedFloat",
+    "doubleValue",
+    "boxedDouble",
+    "boundedDouble",
+    "bigInteger",
+    "bigDecimal",
+    "boundedBigDecimal",
+    "bigInteger4096",
+    "money",
+    "bytes16",
+    "bytes1024",
+    "bytes65536",
+    "shorts1024",
+    "chars1024",
+    "ints1024",
+    "ints4194304",
+    "longs1024",
+    "floats1024",
+    "doubles1024",
+    "doubles4194304",
+    "integerList",
+    "stringSet",
+    "longStringMap",
+    "byteBuffer",
+    "directByteBuffer",
+    "path",
+    "inputStream",
+    "readableByteChannel",
+    "seekableByteChannel",
+    "intStream",
+    "longStream",
+    "doubleStream",
+    "intSupplier",
+    "longSupplier",
+    "doubleSupplier",
+    "basicLatin",
+    "cjkUnifiedIdeographs",
+    "emoticons",
+    "hexKey",
+    "email",
+    "hexString1048576",
+    "greekString1048576",
+    "hexBytes1048576",
+    "enumConstant",
+    "record",
+    "recordList"
+  })
+  public String target;
+
+  private RandomParametersExtension extension;
+  private ParameterContext parameterContext;
+  private ExtensionContext extensionContext;
+
+  @Setup
+  public void setUp() {
+    Logger.getLogger(RandomParametersExtension.class.getName()).setLevel(Level.WARNING);
+    Method method =
+        Arrays.stream(BenchmarkTargets.class.getDeclaredMethods())
+            .filter(m -> m.getName().equals(target))
+            .findFirst()
+            .orElseThrow();
+    extension = new RandomParametersExtension();
+    parameterContext = new BenchmarkParameterContext(method.getParameters()[0]);
+    extensionContext = new BenchmarkExtensionContext(Map.of());
+  }
+
+  @Benchmark
+  public boolean supportsParameter() {
+    return extension.supportsParameter(parameterContext, extensionContext);
+  }
+
+  @Benchmark
+  public Object resolveParameter() throws IOException {
+    Object value = extension.resolveParameter(parameterContext, extensionContext);
+    if (value instanceof Path path) {
+      extensionContext
+          .getStore(RandomParametersExtension.NAMESPACE)
+          .remove(path, PayloadGenerators.TemporaryFile.class)
+          .close();
+    }
+    return value;
+  }
+}
@@ -0,0 +1,142 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * The characters of a {@link Randomize#alphabet()}, drawn uniformly into strings, {@code char}
+ * arrays and {@code byte} arrays.
+ *
+ * <p>Each draw takes the fewest bits that index the alphabet, so one {@code nextLong()} yields
+ * several characters. Indexes past the end of the alphabet are skipped rather than wrapped, so
+ * every character stays equally likely. Strings of Latin-1 alphabets are filled as bytes and
+ * decoded with a single copy, without boxing or per-character appends.
+ */
+final class Alphabet {
+  private final int[] codePoints;
+  private final char[] chars;
+  private final byte[] bytes;
+  private final int bits;
+  private final int mask;
+
+  private Alphabet(int[] codePoints) {
+    this.codePoints = codePoints;
+    boolean bmp = true;
+    boolean latin1 = true;
+    for (int codePoint : codePoints) {
+      bmp &= Character.isBmpCodePoint(codePoint);
+      latin1 &= codePoint <= 0xFF;
+    }
+    chars = bmp ? new char[codePoints.length] : null;
+    bytes = latin1 ? new byte[codePoints.length] : null;
+    for (int i = 0; i < codePoints.length; i++) {
+      if (chars != null) {
+        chars[i] = (char) codePoints[i];
+      }
+      if (bytes != null) {
+        bytes[i] = (byte) codePoints[i];
+      }
+    }
+    bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(codePoints.length - 1));
+    mask = (1 << bits) - 1;
+  }
+
+  /**
+   * Returns the alphabet of the code points of {@code alphabet}.
+   *
+   * @throws IllegalArgumentException if {@code alphabet} repeats a character
+   */
+  static Alphabet of(String alphabet) {
+    Set<Integer> seen = new HashSet<>();
+    int[] codePoints = alphabet.codePoints().toArray();
+    for (int codePoint : codePoints) {
+      if (!seen.add(codePoint)) {
+        throw new IllegalArgumentException(
+            String.format(
+                "alphabet (%s) must not repeat %s", alphabet, Character.toString(codePoint)));
+      }
+    }
+    return new Alphabet(codePoints);
+  }
+
+  /** Whether every character fits in one Latin-1 byte. */
+  boolean isLatin1() {
+    return bytes != null;
+  }
+
+  /** Whether every character fits in one {@code char}. */
+  boolean isBmp() {
+    return chars != null;
+  }
+
+  /** Returns a sampler over the same code points, in order. */
+  CodePointSampler sampler() {
+    List<int[]> ranges = new ArrayList<>(codePoints.length);
+    for (int codePoint : codePoints) {
+      ranges.add(new int[] {codePoint, codePoint + 1});
+    }
+    return CodePointSampler.of(ranges);
+  }
+
+  /** Generates a string of {@code length} characters. */
+  String string(RandomGenerator random, int length) {
+    if (isLatin1()) {
+      byte[] values = new byte[length];
+      BulkGenerators.fill(random, length, (r, from, to) -> fill(r, values, from, to));
+      return new String(values, StandardCharsets.ISO_8859_1);
+    }
+    if (isBmp()) {
+      char[] values = new char[length];
+      BulkGenerators.fill(random, length, (r, from, to) -> fill(r, values, from, to));
+      return new String(values);
+    }
+    int[] values = new int[length];
+    int i = 0;
+    while (i < length) {
+      long word = random.nextLong();
+      for (int slices = Long.SIZE / bits; slices > 0 && i < length; slices--) {
+        int index = (int) word & mask;
+        word >>>= bits;
+        if (index < codePoints.length) {
+          values[i++] = codePoints[index];
+        }
+      }
+    }
+    return new String(values, 0, length);
+  }
+
+  /** Fills {@code [from, to)} of {@code values} with characters of this Latin-1 alphabet. */
+  void fill(RandomGenerator random, byte[] values, int from, int to) {
+    int i = from;
+    while (i < to) {
+      long word = random.nextLong();
+      for (int slices = Long.SIZE / bits; slices > 0 && i < to; slices--) {
+        int index = (int) word & mask;
+        word >>>= bits;
+        if (index < bytes.length) {
+          values[i++] = bytes[index];
+        }
+      }
+    }
+  }
+
+  /** Fills {@code [from, to)} of {@code values} with characters of this BMP alphabet. */
+  void fill(RandomGenerator random, char[] values, int from, int to) {
+    int i = from;
+    while (i < to) {
+      long word = random.nextLong();
+      for (int slices = Long.SIZE / bits; slices > 0 && i < to; slices--) {
+        int index = (int) word & mask;
+        word >>>= bits;
+        if (index < chars.length) {
+          values[i++] = chars[index];
+        }
+      }
+    }
+  }
+}
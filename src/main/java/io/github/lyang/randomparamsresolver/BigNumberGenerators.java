@@ -0,0 +1,160 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generators for {@link BigInteger} and {@link BigDecimal} of arbitrary size. Values are drawn
+ * uniformly from {@code [min, max)}: integers directly from random magnitude bits, and decimals as
+ * a random unscaled integer with a fixed scale, so no value goes through a {@code double} or a
+ * string.
+ *
+ * <p>The bounds come from either {@link Randomize#bigMin()} and {@link Randomize#bigMax()}, {@link
+ * Randomize#bitLength()} or {@link Randomize#precision()}, or else the {@code long} bounds for
+ * integers and the {@code double} bounds for decimals.
+ */
+final class BigNumberGenerators {
+  static final int DEFAULT_SCALE = 16;
+  private static final int UNSET = -1;
+  private static final int UNSET_SCALE = Integer.MIN_VALUE;
+
+  private BigNumberGenerators() {}
+
+  static Generator bigInteger(Randomize annotation) {
+    if (!hasBounds(annotation)) {
+      long min = annotation.longMin();
+      long max = annotation.longMax();
+      ResolutionPlan.requireLess("longMin", min, "longMax", max);
+      return random -> BigInteger.valueOf(random.nextLong(min, max));
+    }
+    if (annotation.bitLength() != UNSET || annotation.precision() != UNSET) {
+      return between(digits(annotation));
+    }
+    BigInteger min = parse("bigMin", annotation.bigMin(), BigInteger::new);
+    BigInteger max = parse("bigMax", annotation.bigMax(), BigInteger::new);
+    return between(min, max);
+  }
+
+  static Generator bigDecimal(Randomize annotation) {
+    BigInteger[] unscaled;
+    int scale;
+    if (!hasBounds(annotation)) {
+      double min = annotation.doubleMin();
+      double max = annotation.doubleMax();
+      ResolutionPlan.requireLess("doubleMin", min, "doubleMax", max);
+      scale = scale(annotation, DEFAULT_SCALE);
+      unscaled =
+          Double.isFinite(max - min)
+              ? unscaled(new BigDecimal(min), new BigDecimal(max), scale)
+              : unscaled(BigDecimal.ZERO, BigDecimal.ONE, scale);
+    } else if (annotation.bitLength() != UNSET || annotation.precision() != UNSET) {
+      scale = scale(annotation, 0);
+      unscaled = digits(annotation);
+    } else {
+      BigDecimal min = parse("bigMin", annotation.bigMin(), BigDecimal::new);
+      BigDecimal max = parse("bigMax", annotation.bigMax(), BigDecimal::new);
+      ResolutionPlan.requireLess("bigMin", min, "bigMax", max);
+      scale = scale(annotation, Math.max(min.scale(), max.scale()));
+      unscaled = unscaled(min, max, scale);
+    }
+    Generator generator = between(unscaled);
+    return random -> new BigDecimal((BigInteger) generator.generate(random), scale);
+  }
+
+  private static Generator between(BigInteger[] range) {
+    return between(range[0], range[1]);
+  }
+
+  /** Returns a generator of integers drawn uniformly from {@code [min, max)}. */
+  static Generator between(BigInteger min, BigInteger max) {
+    ResolutionPlan.requireLess("bigMin", min, "bigMax", max);
+    BigInteger span = max.subtract(min);
+    if (span.bitLength() < Long.SIZE) {
+      long bound = span.longValueExact();
+      if (min.bitLength() < Long.SIZE && max.bitLength() < Long.SIZE) {
+        long low = min.longValueExact();
+        return random -> BigInteger.valueOf(low + random.nextLong(bound));
+      }
+      return random -> min.add(BigInteger.valueOf(random.nextLong(bound)));
+    }
+    return random -> min.add(below(random, span));
+  }
+
+  /** Draws uniformly from {@code [0, bound)} by rejecting draws of {@code bound}'s bit length. */
+  static BigInteger below(RandomGenerator random, BigInteger bound) {
+    int bits = bound.bitLength();
+    byte[] bytes = new byte[(bits + 7) / 8];
+    int mask = 0xff >>> (bytes.length * 8 - bits);
+    for (long rejected = 0; ; rejected++) {
+      random.nextBytes(bytes);
+      bytes[0] &= (byte) mask;
+      BigInteger value = new BigInteger(1, bytes);
+      if (value.compareTo(bound) < 0) {
+        if (rejected > 0) {
+          ResolutionMetrics.reject(rejected);
+        }
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Returns whether {@code bigMin} and {@code bigMax}, {@code bitLength} or {@code precision} is
+   * set.
+   *
+   * @throws IllegalArgumentException if more than one is set
+   */
+  private static boolean hasBounds(Randomize annotation) {
+    int count =
+        (annotation.bigMin().isEmpty() && annotation.bigMax().isEmpty() ? 0 : 1)
+            + (annotation.bitLength() == UNSET ? 0 : 1)
+            + (annotation.precision() == UNSET ? 0 : 1);
+    if (count > 1) {
+      throw new IllegalArgumentException(
+          "only one of bigMin and bigMax, bitLength or precision can be set");
+    }
+    return count == 1;
+  }
+
+  /** The {@code [0, 2^bitLength)} or {@code (-10^precision, 10^precision)} integer range. */
+  private static BigInteger[] digits(Randomize annotation) {
+    if (annotation.bitLength() != UNSET) {
+      ResolutionPlan.requireNonNegative("bitLength", annotation.bitLength());
+      return new BigInteger[] {BigInteger.ZERO, BigInteger.ONE.shiftLeft(annotation.bitLength())};
+    }
+    if (annotation.precision() < 1) {
+      throw new IllegalArgumentException(
+          String.format("precision (%d) must be positive", annotation.precision()));
+    }
+    BigInteger bound = BigInteger.TEN.pow(annotation.precision());
+    return new BigInteger[] {BigInteger.ONE.subtract(bound), bound};
+  }
+
+  private static int scale(Randomize annotation, int defaultScale) {
+    return annotation.scale() == UNSET_SCALE ? defaultScale : annotation.scale();
+  }
+
+  /** The {@code [min, max)} range of unscaled values with {@code scale}. */
+  private static BigInteger[] unscaled(BigDecimal min, BigDecimal max, int scale) {
+    BigInteger low = min.movePointRight(scale).setScale(0, RoundingMode.CEILING).toBigInteger();
+    BigInteger high = max.movePointRight(scale).setScale(0, RoundingMode.CEILING).toBigInteger();
+    if (low.compareTo(high) >= 0) {
+      throw new IllegalArgumentException(
+          String.format("no value of scale %d is in [%s, %s)", scale, min, max));
+    }
+    return new BigInteger[] {low, high};
+  }
+
+  private static <T> T parse(String name, String value, Function<String, T> parser) {
+    try {
+      return parser.apply(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(String.format("%s (%s) is not a number", name, value), e);
+    }
+  }
+}
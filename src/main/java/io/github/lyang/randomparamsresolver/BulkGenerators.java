@@ -0,0 +1,429 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.Distributions.DoubleSampler;
+import io.github.lyang.randomparamsresolver.Distributions.LongSampler;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Permutation;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Sequence;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Space;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+/**
+ * Generators for primitive arrays and for {@link List}, {@link Set} and {@link Map} of the
+ * supported element types, sized by {@link Randomize#length()}, whose elements take {@link
+ * Randomize#elementLength()} as their own length. With {@link Randomize#unique()},
+ * {@code int} and {@code long} arrays, collection elements and map keys are drawn from a {@link
+ * Permutation} of their bounds instead, and with a non-uniform {@link Randomize#distribution()},
+ * numbers are drawn from the {@link Distributions} sampler of their bounds. With {@link
+ * Randomize#alphabet()}, {@code char} arrays are drawn from the {@link Alphabet} instead of their
+ * bounds.
+ *
+ * <p>Primitive arrays are filled in unboxed loops. Arrays of at least {@link #PARALLEL_THRESHOLD}
+ * elements are filled in parallel in fixed {@link #CHUNK_SIZE} chunks, each with its own generator
+ * split off sequentially, so the content only depends on the seed and not on the thread count.
+ * Samples rejected by the chunks are counted towards the resolution on the calling thread.
+ */
+final class BulkGenerators {
+  static final int PARALLEL_THRESHOLD = 1 << 18;
+  static final int CHUNK_SIZE = 1 << 16;
+  private static final long MAX_DRAWS_PER_ELEMENT = 64;
+  private static final Map<Class<?>, IntFunction<Collection<Object>>> COLLECTIONS =
+      Map.of(List.class, ArrayList::new, Set.class, LinkedHashSet::new);
+
+  private BulkGenerators() {}
+
+  static Generator ints(Randomize annotation) {
+    int length = requireLength(annotation);
+    int min = annotation.intMin();
+    int max = annotation.intMax();
+    ResolutionPlan.requireLess("intMin", min, "intMax", max);
+    if (annotation.unique()) {
+      UniqueGenerators.requireCapacity(UniqueGenerators.ints(min, max), length);
+      return random -> {
+        int[] values = new int[length];
+        Permutation permutation = new Permutation((long) max - min, random.nextLong());
+        fill(
+            random,
+            length,
+            (r, from, to) -> {
+              for (int i = from; i < to; i++) {
+                values[i] = (int) (min + permutation.apply(i));
+              }
+            });
+        return values;
+      };
+    }
+    LongSampler sampler = Distributions.longs(annotation, min, max);
+    if (sampler != null) {
+      return random -> {
+        int[] values = new int[length];
+        fill(
+            random,
+            length,
+            (r, from, to) -> {
+              for (int i = from; i < to; i++) {
+                values[i] = (int) sampler.next(r);
+              }
+            });
+        return values;
+      };
+    }
+    return random -> {
+      int[] values = new int[length];
+      fill(
+          random,
+          length,
+          (r, from, to) -> {
+            for (int i = from; i < to; i++) {
+              values[i] = r.nextInt(min, max);
+            }
+          });
+      return values;
+    };
+  }
+
+  static Generator longs(Randomize annotation) {
+    int length = requireLength(annotation);
+    long min = annotation.longMin();
+    long max = annotation.longMax();
+    ResolutionPlan.requireLess("longMin", min, "longMax", max);
+    if (annotation.unique()) {
+      UniqueGenerators.requireCapacity(UniqueGenerators.longs(min, max), length);
+      return random -> {
+        long[] values = new long[length];
+        Permutation permutation = new Permutation(max - min, random.nextLong());
+        fill(
+            random,
+            length,
+            (r, from, to) -> {
+              for (int i = from; i < to; i++) {
+                values[i] = min + permutation.apply(i);
+              }
+            });
+        return values;
+      };
+    }
+    LongSampler sampler = Distributions.longs(annotation, min, max);
+    if (sampler != null) {
+      return random -> {
+        long[] values = new long[length];
+        fill(
+            random,
+            length,
+            (r, from, to) -> {
+              for (int i = from; i < to; i++) {
+                values[i] = sampler.next(r);
+              }
+            });
+        return values;
+      };
+    }
+    return random -> {
+      long[] values = new long[length];
+      fill(
+          random,
+          length,
+          (r, from, to) -> {
+            for (int i = from; i < to; i++) {
+              values[i] = r.nextLong(min, max);
+            }
+          });
+      return values;
+    };
+  }
+
+  static Generator shorts(Randomize annotation) {
+    int length = requireLength(annotation);
+    short min = annotation.shortMin();
+    short max = annotation.shortMax();
+    ResolutionPlan.requireLess("shortMin", min, "shortMax", max);
+    return random -> {
+      short[] values = new short[length];
+      fill(
+          random,
+          length,
+          (r, from, to) -> {
+            for (int i = from; i < to; i++) {
+              values[i] = (short) r.nextInt(min, max);
+            }
+          });
+      return values;
+    };
+  }
+
+  static Generator chars(Randomize annotation) {
+    int length = requireLength(annotation);
+    if (!annotation.alphabet().isEmpty()) {
+      Alphabet alphabet = Alphabet.of(annotation.alphabet());
+      if (!alphabet.isBmp()) {
+        throw new IllegalArgumentException(
+            "alphabet for char[] must not contain supplementary characters");
+      }
+      return random -> {
+        char[] values = new char[length];
+        fill(random, length, (r, from, to) -> alphabet.fill(r, values, from, to));
+        return values;
+      };
+    }
+    char min = annotation.charMin();
+    char max = annotation.charMax();
+    ResolutionPlan.requireLess("charMin", min, "charMax", max);
+    return random -> {
+      char[] values = new char[length];
+      fill(
+          random,
+          length,
+          (r, from, to) -> {
+            for (int i = from; i < to; i++) {
+              values[i] = (char) r.nextInt(min, max);
+            }
+          });
+      return values;
+    };
+  }
+
+  static Generator floats(Randomize annotation) {
+    int length = requireLength(annotation);
+    float min = annotation.floatMin();
+    float max = annotation.floatMax();
+    ResolutionPlan.requireLess("floatMin", min, "floatMax", max);
+    DoubleSampler sampler = Distributions.doubles(annotation, min, max);
+    if (sampler != null) {
+      float below = Math.nextDown(max);
+      return random -> {
+        float[] values = new float[length];
+        fill(
+            random,
+            length,
+            (r, from, to) -> {
+              for (int i = from; i < to; i++) {
+                values[i] = Math.min((float) sampler.next(r), below);
+              }
+            });
+        return values;
+      };
+    }
+    boolean bounded = Float.isFinite(max - min);
+    return random -> {
+      float[] values = new float[length];
+      fill(
+          random,
+          length,
+          (r, from, to) -> {
+            for (int i = from; i < to; i++) {
+              values[i] = bounded ? r.nextFloat(min, max) : r.nextFloat();
+            }
+          });
+      return values;
+    };
+  }
+
+  static Generator doubles(Randomize annotation) {
+    int length = requireLength(annotation);
+    double min = annotation.doubleMin();
+    double max = annotation.doubleMax();
+    ResolutionPlan.requireLess("doubleMin", min, "doubleMax", max);
+    DoubleSampler sampler = Distributions.doubles(annotation, min, max);
+    if (sampler != null) {
+      return random -> {
+        double[] values = new double[length];
+        fill(
+            random,
+            length,
+            (r, from, to) -> {
+              for (int i = from; i < to; i++) {
+                values[i] = sampler.next(r);
+              }
+            });
+        return values;
+      };
+    }
+    boolean bounded = Double.isFinite(max - min);
+    return random -> {
+      double[] values = new double[length];
+      fill(
+          random,
+          length,
+          (r, from, to) -> {
+            for (int i = from; i < to; i++) {
+              values[i] = bounded ? r.nextDouble(min, max) : r.nextDouble();
+            }
+          });
+      return values;
+    };
+  }
+
+  /**
+   * Returns the factory for a {@link List}, {@link Set} or {@link Map} of element types supported
+   * by {@code elements}, or {@code null} if {@code type} is not one.
+   */
+  static Function<Randomize, Generator> collection(
+      Type type, Function<Class<?>, Function<Randomize, Generator>> elements) {
+    if (!(type instanceof ParameterizedType parameterized)) {
+      return null;
+    }
+    Type[] arguments = parameterized.getActualTypeArguments();
+    List<Function<Randomize, Generator>> factories = new ArrayList<>();
+    for (Type argument : arguments) {
+      if (!(argument instanceof Class<?> element)
+          || RandomGenerator.class.isAssignableFrom(element)) {
+        return null;
+      }
+      factories.add(elements.apply(element));
+    }
+    if (factories.contains(null)) {
+      return null;
+    }
+    Type raw = parameterized.getRawType();
+    if (raw == Map.class) {
+      return annotation -> map(annotation, factories.get(0), factories.get(1));
+    }
+    IntFunction<Collection<Object>> collection = COLLECTIONS.get(raw);
+    return collection == null
+        ? null
+        : annotation -> collection(annotation, collection, factories.get(0));
+  }
+
+  private static Generator collection(
+      Randomize annotation,
+      IntFunction<Collection<Object>> factory,
+      Function<Randomize, Generator> element) {
+    int length = requireLength(annotation);
+    Generator generator = element.apply(elements(annotation));
+    if (annotation.unique()) {
+      Space space = requireSpace(generator, length);
+      return random -> {
+        Collection<Object> values = factory.apply(length);
+        Sequence sequence = new Sequence(space, random.nextLong());
+        for (int i = 0; i < length; i++) {
+          values.add(sequence.next());
+        }
+        return values;
+      };
+    }
+    return random -> {
+      Collection<Object> values = factory.apply(length);
+      long draws = 0;
+      while (values.size() < length) {
+        requireDraws(++draws, length);
+        values.add(generator.generate(random));
+      }
+      if (draws > length) {
+        ResolutionMetrics.reject(draws - length);
+      }
+      return values;
+    };
+  }
+
+  /** The annotation of the elements of a collection, sized by {@link Randomize#elementLength()}. */
+  private static Randomize elements(Randomize annotation) {
+    return GeneratedRandomize.with(annotation, "length", annotation.elementLength());
+  }
+
+  private static Generator map(
+      Randomize annotation,
+      Function<Randomize, Generator> key,
+      Function<Randomize, Generator> value) {
+    int length = requireLength(annotation);
+    Randomize elements = elements(annotation);
+    Generator keys = key.apply(elements);
+    Generator values = value.apply(elements);
+    if (annotation.unique()) {
+      Space space = requireSpace(keys, length);
+      return random -> {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        Sequence sequence = new Sequence(space, random.nextLong());
+        for (int i = 0; i < length; i++) {
+          map.put(sequence.next(), values.generate(random));
+        }
+        return map;
+      };
+    }
+    return random -> {
+      Map<Object, Object> map = new LinkedHashMap<>();
+      long draws = 0;
+      while (map.size() < length) {
+        requireDraws(++draws, length);
+        map.putIfAbsent(keys.generate(random), values.generate(random));
+      }
+      if (draws > length) {
+        ResolutionMetrics.reject(draws - length);
+      }
+      return map;
+    };
+  }
+
+  private static void requireDraws(long draws, int length) {
+    if (draws > MAX_DRAWS_PER_ELEMENT * length) {
+      throw new ParameterResolutionException(
+          String.format("Cannot generate %d distinct values within the configured bounds", length));
+    }
+  }
+
+  /**
+   * Returns the {@link Randomize#unique()} space of an element or key generator.
+   *
+   * @throws IllegalArgumentException if the elements cannot be unique or are too few
+   */
+  private static Space requireSpace(Generator generator, int length) {
+    if (!(generator instanceof Space space)) {
+      throw new IllegalArgumentException("unique requires int, long or String elements");
+    }
+    UniqueGenerators.requireCapacity(space, length);
+    return space;
+  }
+
+  private static int requireLength(Randomize annotation) {
+    ResolutionPlan.requireNonNegative("length", annotation.length());
+    return annotation.length();
+  }
+
+  static void fill(RandomGenerator random, int length, ChunkFiller filler) {
+    if (length < PARALLEL_THRESHOLD) {
+      filler.fill(random, 0, length);
+      return;
+    }
+    RandomGenerator[] generators = new RandomGenerator[(length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+    for (int i = 0; i < generators.length; i++) {
+      generators[i] =
+          random instanceof SplittableGenerator splittable
+              ? splittable.split()
+              : new SplittableRandom(random.nextLong());
+    }
+    long rejected =
+        IntStream.range(0, generators.length)
+            .parallel()
+            .mapToLong(
+                i ->
+                    ResolutionMetrics.counting(
+                        () ->
+                            filler.fill(
+                                generators[i],
+                                i * CHUNK_SIZE,
+                                (int) Math.min(length, (i + 1L) * CHUNK_SIZE))))
+            .sum();
+    ResolutionMetrics.reject(rejected);
+  }
+
+  /** Fills the {@code [from, to)} range of an array. */
+  @FunctionalInterface
+  interface ChunkFiller {
+    void fill(RandomGenerator random, int from, int to);
+  }
+}
@@ -0,0 +1,106 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples code points uniformly from a selection of {@link Character.UnicodeBlock}s. Each draw is a
+ * single bounded random int followed by a binary search over the cumulative range sizes, so sparse
+ * selections cost the same as dense ones.
+ */
+final class CodePointSampler {
+  private final int[] starts;
+  private final int[] offsets;
+  private final int size;
+
+  private CodePointSampler(int[] starts, int[] offsets, int size) {
+    this.starts = starts;
+    this.offsets = offsets;
+    this.size = size;
+  }
+
+  /**
+   * Creates a sampler over the given block names, as accepted by {@link
+   * Character.UnicodeBlock#forName(String)}.
+   *
+   * @throws IllegalArgumentException if a name is unknown or no block is given
+   */
+  static CodePointSampler of(String... blockNames) {
+    Set<Character.UnicodeBlock> blocks = new LinkedHashSet<>();
+    for (String name : blockNames) {
+      blocks.add(Character.UnicodeBlock.forName(name));
+    }
+    if (blocks.isEmpty()) {
+      throw new IllegalArgumentException("At least one unicode block is required");
+    }
+    List<int[]> ranges = new ArrayList<>();
+    blocks.forEach(block -> ranges.addAll(Index.RANGES.get(block)));
+    return of(ranges);
+  }
+
+  /** Creates a sampler over non-empty, disjoint {@code [start, end)} code point ranges. */
+  static CodePointSampler of(List<int[]> ranges) {
+    int[] starts = new int[ranges.size()];
+    int[] offsets = new int[ranges.size()];
+    int size = 0;
+    for (int i = 0; i < ranges.size(); i++) {
+      starts[i] = ranges.get(i)[0];
+      offsets[i] = size;
+      size += ranges.get(i)[1] - ranges.get(i)[0];
+    }
+    return new CodePointSampler(starts, offsets, size);
+  }
+
+  /** Returns the next code point drawn from {@code random}. */
+  int next(RandomGenerator random) {
+    return get(random.nextInt(size));
+  }
+
+  /** The number of distinct code points. */
+  int size() {
+    return size;
+  }
+
+  /** Returns the code point at {@code offset} in {@code [0, size())}. */
+  int get(int offset) {
+    int index = Arrays.binarySearch(offsets, offset);
+    if (index < 0) {
+      index = -index - 2;
+    }
+    return starts[index] + offset - offsets[index];
+  }
+
+  /** Lazily built, immutable {@code [start, end)} code point ranges of every Unicode block. */
+  private static final class Index {
+    static final Map<Character.UnicodeBlock, List<int[]>> RANGES = build();
+
+    private static Map<Character.UnicodeBlock, List<int[]>> build() {
+      Map<Character.UnicodeBlock, List<int[]>> ranges = new HashMap<>();
+      Character.UnicodeBlock current = null;
+      int start = Character.MIN_CODE_POINT;
+      for (int codePoint = Character.MIN_CODE_POINT;
+          codePoint <= Character.MAX_CODE_POINT;
+          codePoint++) {
+        Character.UnicodeBlock block =
+            codePoint < Character.MAX_CODE_POINT ? Character.UnicodeBlock.of(codePoint) : null;
+        if (block != current) {
+          if (current != null) {
+            ranges
+                .computeIfAbsent(current, b -> new ArrayList<>())
+                .add(new int[] {start, codePoint});
+          }
+          current = block;
+          start = codePoint;
+        }
+      }
+      ranges.replaceAll((block, list) -> List.copyOf(list));
+      return Map.copyOf(ranges);
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+/**
+ * Factories of the {@link RandomValueGenerator} implementations discovered with {@link
+ * ServiceLoader} or named with {@link RandomParametersExtension.RandomizeWith}.
+ *
+ * <p>The generated type of each implementation and the candidates for each parameter class,
+ * ordered by their supertype distance, are computed once and memoised in {@link ClassValue}s, so
+ * looking up a non-generic type costs one {@link ClassValue#get}. Type arguments are matched
+ * against the candidates' after resolving them along the supertype walk. Service providers are
+ * loaded and checked on the first lookup rather than when this class initialises, so an invalid
+ * provider fails the lookups that reach discovered generators, naming the provider, without
+ * breaking the built-in types.
+ */
+final class CustomGenerators {
+  private static final ClassValue<Type> GENERATED_TYPES =
+      new ClassValue<>() {
+        @Override
+        protected Type computeValue(Class<?> type) {
+          Type generated = arguments(type, RandomValueGenerator.class)[0];
+          if (!isConcrete(generated)) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "%s must implement RandomValueGenerator with a concrete type argument",
+                    type.getName()));
+          }
+          return generated;
+        }
+      };
+  private static final ClassValue<RandomValueGenerator<?>> INSTANCES =
+      new ClassValue<>() {
+        @Override
+        protected RandomValueGenerator<?> computeValue(Class<?> type) {
+          return instantiate(type);
+        }
+      };
+  private static final ClassValue<List<RandomValueGenerator<?>>> CANDIDATES =
+      new ClassValue<>() {
+        @Override
+        protected List<RandomValueGenerator<?>> computeValue(Class<?> type) {
+          return candidates(type, discover());
+        }
+      };
+  private static volatile List<Class<?>> providers;
+
+  private CustomGenerators() {}
+
+  /**
+   * Returns the factory of the closest discovered generator of {@code type}, or {@code null} if
+   * none generates it.
+   */
+  static Function<Randomize, Generator> discovered(Type type) {
+    return discovered(type, CANDIDATES::get);
+  }
+
+  /**
+   * Returns the factory of the closest of the {@code candidates} of the class of {@code type}, or
+   * {@code null} if none generates it. If the candidates cannot be found, the factory fails when
+   * applied instead, so only parameters that reach discovered generators fail.
+   */
+  static Function<Randomize, Generator> discovered(
+      Type type, Function<Class<?>, List<RandomValueGenerator<?>>> candidates) {
+    List<RandomValueGenerator<?>> found;
+    try {
+      found = candidates.apply(raw(type));
+    } catch (IllegalArgumentException e) {
+      return annotation -> {
+        throw e;
+      };
+    }
+    for (RandomValueGenerator<?> generator : found) {
+      if (type instanceof Class<?> || matches(GENERATED_TYPES.get(generator.getClass()), type)) {
+        return factory(generator);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the factory of the generator of class {@code generatorType} for parameters of {@code
+   * type}, which rejects generators of other types when applied.
+   */
+  static Function<Randomize, Generator> named(Class<?> generatorType, Type type) {
+    return annotation -> {
+      RandomValueGenerator<?> generator = INSTANCES.get(generatorType);
+      Type generated = GENERATED_TYPES.get(generatorType);
+      if (!raw(type).isAssignableFrom(raw(generated)) || !matches(generated, type)) {
+        throw new IllegalArgumentException(
+            String.format(
+                "%s generates %s, not %s",
+                generatorType.getSimpleName(), generated.getTypeName(), type.getTypeName()));
+      }
+      return factory(generator).apply(annotation);
+    };
+  }
+
+  private static Function<Randomize, Generator> factory(RandomValueGenerator<?> generator) {
+    return annotation -> random -> generator.generate(random, annotation);
+  }
+
+  /**
+   * Returns the provider classes listed for {@link RandomValueGenerator}, loading them on first
+   * use. Failures are not remembered, so every later lookup reports them again.
+   *
+   * @throws IllegalArgumentException if a provider cannot be loaded
+   */
+  private static List<Class<?>> discover() {
+    List<Class<?>> types = providers;
+    if (types == null) {
+      types = load(ServiceLoader.load(RandomValueGenerator.class));
+      providers = types;
+    }
+    return types;
+  }
+
+  /**
+   * Returns the provider classes of {@code loader}, in the order they are listed.
+   *
+   * @throws IllegalArgumentException if a provider cannot be loaded
+   */
+  static List<Class<?>> load(ServiceLoader<?> loader) {
+    try {
+      return loader.stream().<Class<?>>map(ServiceLoader.Provider::type).toList();
+    } catch (ServiceConfigurationError e) {
+      throw new IllegalArgumentException(
+          "Cannot load discovered RandomValueGenerator: " + e.getMessage(), e);
+    }
+  }
+
+  private static RandomValueGenerator<?> instantiate(Class<?> type) {
+    if (!RandomValueGenerator.class.isAssignableFrom(type)) {
+      throw new IllegalArgumentException(type.getName() + " is not a RandomValueGenerator");
+    }
+    try {
+      Constructor<?> constructor = type.getDeclaredConstructor();
+      constructor.trySetAccessible();
+      return (RandomValueGenerator<?>) constructor.newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(
+          String.format("Cannot instantiate %s: %s", type.getName(), e), e);
+    }
+  }
+
+  /**
+   * Returns the {@code discovered} generators of {@code type} or its subtypes, the closest first,
+   * by walking each generated type's superclasses and interfaces.
+   *
+   * @throws IllegalArgumentException if a discovered generator is invalid
+   */
+  static List<RandomValueGenerator<?>> candidates(Class<?> type, List<Class<?>> discovered) {
+    Map<Class<?>, Integer> distances = new HashMap<>();
+    for (Class<?> generator : discovered) {
+      int distance = distance(raw(GENERATED_TYPES.get(generator)), type);
+      if (distance >= 0) {
+        distances.put(generator, distance);
+      }
+    }
+    return discovered.stream()
+        .filter(distances::containsKey)
+        .sorted(Comparator.comparing(distances::get))
+        .<RandomValueGenerator<?>>map(INSTANCES::get)
+        .toList();
+  }
+
+  /** The fewest supertype steps from {@code from} to {@code to}, or {@code -1} if there are none. */
+  private static int distance(Class<?> from, Class<?> to) {
+    Map<Class<?>, Integer> steps = new HashMap<>(Map.of(from, 0));
+    Queue<Class<?>> queue = new ArrayDeque<>(List.of(from));
+    while (!queue.isEmpty()) {
+      Class<?> type = queue.remove();
+      if (type == to) {
+        return steps.get(type);
+      }
+      List<Class<?>> supertypes = new ArrayList<>(List.of(type.getInterfaces()));
+      if (type.getSuperclass() != null) {
+        supertypes.add(0, type.getSuperclass());
+      }
+      for (Class<?> supertype : supertypes) {
+        if (steps.putIfAbsent(supertype, steps.get(type) + 1) == null) {
+          queue.add(supertype);
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns whether a value of {@code generated} is a {@code type}, comparing the type arguments of
+   * {@code type} with those {@code generated} resolves for its class. Type variables left unbound
+   * by {@code generated} match any argument.
+   */
+  private static boolean matches(Type generated, Type type) {
+    if (!(type instanceof ParameterizedType parameterized)) {
+      return true;
+    }
+    Type[] arguments = arguments(generated, raw(type));
+    Type[] required = parameterized.getActualTypeArguments();
+    for (int i = 0; i < required.length; i++) {
+      if (!matchesArgument(arguments[i], required[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean matchesArgument(Type argument, Type required) {
+    if (argument instanceof TypeVariable<?> || argument instanceof WildcardType) {
+      return true;
+    }
+    if (required instanceof WildcardType wildcard) {
+      for (Type bound : wildcard.getUpperBounds()) {
+        if (!raw(bound).isAssignableFrom(raw(argument)) || !matches(argument, bound)) {
+          return false;
+        }
+      }
+      for (Type bound : wildcard.getLowerBounds()) {
+        if (!raw(argument).isAssignableFrom(raw(bound))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return argument.equals(required);
+  }
+
+  /**
+   * Returns the type arguments of {@code target} as seen from {@code type}, a subtype of {@code
+   * target}, substituting the type variables bound along the supertype walk.
+   */
+  private static Type[] arguments(Type type, Class<?> target) {
+    Class<?> raw = raw(type);
+    Type[] actual =
+        type instanceof ParameterizedType parameterized
+            ? parameterized.getActualTypeArguments()
+            : raw.getTypeParameters();
+    if (raw == target) {
+      return actual;
+    }
+    List<Type> supertypes = new ArrayList<>(List.of(raw.getGenericInterfaces()));
+    if (raw.getGenericSuperclass() != null) {
+      supertypes.add(0, raw.getGenericSuperclass());
+    }
+    Type supertype =
+        supertypes.stream()
+            .filter(candidate -> target.isAssignableFrom(raw(candidate)))
+            .findFirst()
+            .orElseThrow();
+    TypeVariable<?>[] variables = raw.getTypeParameters();
+    Type[] resolved = arguments(supertype, target).clone();
+    for (int i = 0; i < resolved.length; i++) {
+      for (int j = 0; j < variables.length; j++) {
+        if (variables[j].equals(resolved[i])) {
+          resolved[i] = actual[j];
+        }
+      }
+    }
+    return resolved;
+  }
+
+  private static boolean isConcrete(Type type) {
+    return type instanceof Class<?>
+        || type instanceof ParameterizedType
+        || type instanceof GenericArrayType;
+  }
+
+  private static Class<?> raw(Type type) {
+    if (type instanceof Class<?> raw) {
+      return raw;
+    }
+    if (type instanceof ParameterizedType parameterized) {
+      return (Class<?>) parameterized.getRawType();
+    }
+    if (type instanceof GenericArrayType array) {
+      return raw(array.getGenericComponentType()).arrayType();
+    }
+    // wildcards are matched by their bounds, so only type variables are left
+    return raw(((TypeVariable<?>) type).getBounds()[0]);
+  }
+}
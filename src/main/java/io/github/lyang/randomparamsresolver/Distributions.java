@@ -0,0 +1,284 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Distribution;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Samplers for the non-uniform {@link Randomize#distribution()} of numbers and enum constants,
+ * shared by scalar, array and source generators.
+ *
+ * <p>{@link Distribution#ZIPF} and {@link Distribution#WEIGHTED} draw from an {@link AliasTable},
+ * so every draw takes two random numbers whatever the number of values. Tables are built once per
+ * spec in a run and shared through the {@link SpecCache}. {@link Distribution#GAUSSIAN} and {@link
+ * Distribution#EXPONENTIAL} are truncated to the bounds.
+ */
+final class Distributions {
+  /** The most values a {@link Distribution#ZIPF} table holds. */
+  static final int MAX_TABLE_SIZE = 1 << 22;
+
+  /** The span of the bounds in standard deviations of {@link Distribution#GAUSSIAN}. */
+  private static final double GAUSSIAN_WIDTH = 6;
+
+  /** The span of the bounds in means of {@link Distribution#EXPONENTIAL}. */
+  private static final double EXPONENTIAL_WIDTH = 8;
+
+  private static final double EXPONENTIAL_TAIL = -Math.expm1(-EXPONENTIAL_WIDTH);
+
+  private Distributions() {}
+
+  /** Draws a {@code long} within fixed bounds. */
+  @FunctionalInterface
+  interface LongSampler {
+    long next(RandomGenerator random);
+  }
+
+  /** Draws a {@code double} within fixed bounds. */
+  @FunctionalInterface
+  interface DoubleSampler {
+    double next(RandomGenerator random);
+  }
+
+  /**
+   * Returns the sampler of {@code [min, max)} for {@code annotation}'s distribution, or {@code
+   * null} for {@link Distribution#UNIFORM}, which generators draw directly.
+   *
+   * @throws IllegalArgumentException if the distribution attributes are invalid for the bounds
+   */
+  static LongSampler longs(Randomize annotation, long min, long max) {
+    Distribution distribution = requireDistribution(annotation);
+    double span = (double) max - (double) min;
+    return switch (distribution) {
+      case UNIFORM -> null;
+      case GAUSSIAN -> {
+        double mean = min / 2.0 + max / 2.0;
+        double deviation = span / GAUSSIAN_WIDTH;
+        yield random -> {
+          long rejected = 0;
+          double value;
+          while ((value = Math.floor(mean + deviation * random.nextGaussian())) < min
+              || value >= max) {
+            rejected++;
+          }
+          if (rejected > 0) {
+            ResolutionMetrics.reject(rejected);
+          }
+          return clamp(value, min, max);
+        };
+      }
+      case EXPONENTIAL -> random -> clamp(Math.floor(min + exponential(random) * span), min, max);
+      case ZIPF -> {
+        long size = max - min;
+        if (Long.compareUnsigned(size, MAX_TABLE_SIZE) > 0) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "distribution ZIPF supports at most %d values, not %s",
+                  MAX_TABLE_SIZE, Long.toUnsignedString(size)));
+        }
+        double exponent = annotation.exponent();
+        AliasTable table =
+            SpecCache.get("ZIPF " + size + " " + exponent, () -> zipf((int) size, exponent));
+        yield random -> min + table.next(random);
+      }
+      case WEIGHTED -> {
+        double[] weights = annotation.weights();
+        BigInteger width = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min));
+        if (width.compareTo(BigInteger.valueOf(weights.length)) < 0) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "weights (%d) must not outnumber the %s values within the bounds",
+                  weights.length, width));
+        }
+        long[] edges = new long[weights.length + 1];
+        for (int i = 0; i < edges.length; i++) {
+          edges[i] =
+              width
+                  .multiply(BigInteger.valueOf(i))
+                  .divide(BigInteger.valueOf(weights.length))
+                  .add(BigInteger.valueOf(min))
+                  .longValue();
+        }
+        AliasTable table = weighted(weights);
+        yield random -> {
+          int bucket = table.next(random);
+          return random.nextLong(edges[bucket], edges[bucket + 1]);
+        };
+      }
+    };
+  }
+
+  /**
+   * Returns the sampler of {@code [min, max)} for {@code annotation}'s distribution, or {@code
+   * null} for {@link Distribution#UNIFORM}.
+   *
+   * @throws IllegalArgumentException if the distribution is discrete or the bounds are not finite
+   */
+  static DoubleSampler doubles(Randomize annotation, double min, double max) {
+    Distribution distribution = requireDistribution(annotation);
+    double span = max - min;
+    if (distribution == Distribution.UNIFORM) {
+      return null;
+    }
+    if (distribution == Distribution.ZIPF) {
+      throw new IllegalArgumentException("distribution ZIPF requires integer values");
+    }
+    if (!Double.isFinite(span)) {
+      throw new IllegalArgumentException(
+          String.format("distribution %s requires finite bounds", distribution));
+    }
+    return switch (distribution) {
+      case GAUSSIAN -> {
+        double mean = min + span / 2;
+        double deviation = span / GAUSSIAN_WIDTH;
+        yield random -> {
+          long rejected = 0;
+          double value;
+          while ((value = mean + deviation * random.nextGaussian()) < min || value >= max) {
+            rejected++;
+          }
+          if (rejected > 0) {
+            ResolutionMetrics.reject(rejected);
+          }
+          return value;
+        };
+      }
+      case EXPONENTIAL -> random -> Math.min(min + exponential(random) * span, Math.nextDown(max));
+      default -> {
+        double[] weights = annotation.weights();
+        AliasTable table = weighted(weights);
+        yield random -> {
+          int bucket = table.next(random);
+          double low = min + span * bucket / weights.length;
+          double high = min + span * (bucket + 1) / weights.length;
+          return low < high ? random.nextDouble(low, high) : low;
+        };
+      }
+    };
+  }
+
+  /** Returns the generator of the constants of enum {@code type}, in declaration order. */
+  static Generator constants(Class<?> type, Randomize annotation) {
+    Object[] constants = type.getEnumConstants();
+    if (constants.length == 0) {
+      throw new IllegalArgumentException(type.getSimpleName() + " has no constants");
+    }
+    LongSampler sampler = longs(annotation, 0, constants.length);
+    if (sampler == null) {
+      return random -> constants[random.nextInt(constants.length)];
+    }
+    return random -> constants[(int) sampler.next(random)];
+  }
+
+  private static Distribution requireDistribution(Randomize annotation) {
+    Distribution distribution = annotation.distribution();
+    double[] weights = annotation.weights();
+    if ((distribution == Distribution.WEIGHTED) == (weights.length == 0)) {
+      throw new IllegalArgumentException(
+          weights.length == 0
+              ? "distribution WEIGHTED requires weights"
+              : "weights require distribution WEIGHTED, not " + distribution);
+    }
+    for (double weight : weights) {
+      if (!(weight >= 0) || Double.isInfinite(weight)) {
+        throw new IllegalArgumentException(
+            String.format("weights (%s) must be finite and not negative", weight));
+      }
+    }
+    if (weights.length > 0 && Arrays.stream(weights).sum() <= 0) {
+      throw new IllegalArgumentException("weights must not all be zero");
+    }
+    if (!(annotation.exponent() >= 0) || Double.isInfinite(annotation.exponent())) {
+      throw new IllegalArgumentException(
+          String.format("exponent (%s) must be finite and not negative", annotation.exponent()));
+    }
+    return distribution;
+  }
+
+  /** Draws from {@code [0, 1)} with a density decaying by {@link #EXPONENTIAL_WIDTH}. */
+  private static double exponential(RandomGenerator random) {
+    return -Math.log1p(-random.nextDouble() * EXPONENTIAL_TAIL) / EXPONENTIAL_WIDTH;
+  }
+
+  private static long clamp(double value, long min, long max) {
+    return Math.max(min, Math.min(max - 1, (long) value));
+  }
+
+  private static AliasTable weighted(double[] weights) {
+    return SpecCache.get("WEIGHTED " + Arrays.toString(weights), () -> new AliasTable(weights));
+  }
+
+  private static AliasTable zipf(int size, double exponent) {
+    double[] weights = new double[size];
+    for (int rank = 0; rank < size; rank++) {
+      weights[rank] = Math.pow(rank + 1, -exponent);
+    }
+    return new AliasTable(weights);
+  }
+
+  /**
+   * Vose's alias table: a column per index, holding the index with the probability of its
+   * threshold and its alias otherwise, so a draw picks a column and flips one biased coin.
+   */
+  static final class AliasTable {
+    private final int[] thresholds;
+    private final int[] aliases;
+
+    AliasTable(double[] weights) {
+      int size = weights.length;
+      double total = Arrays.stream(weights).sum();
+      double[] probabilities = new double[size];
+      int[] small = new int[size];
+      int[] large = new int[size];
+      int smalls = 0;
+      int larges = 0;
+      for (int i = 0; i < size; i++) {
+        probabilities[i] = weights[i] * size / total;
+        if (probabilities[i] < 1) {
+          small[smalls++] = i;
+        } else {
+          large[larges++] = i;
+        }
+      }
+      thresholds = new int[size];
+      aliases = new int[size];
+      while (smalls > 0 && larges > 0) {
+        int less = small[--smalls];
+        int more = large[--larges];
+        thresholds[less] = (int) (probabilities[less] * (1L << 31));
+        aliases[less] = more;
+        probabilities[more] += probabilities[less] - 1;
+        if (probabilities[more] < 1) {
+          small[smalls++] = more;
+        } else {
+          large[larges++] = more;
+        }
+      }
+      while (smalls > 0) {
+        fill(small[--smalls]);
+      }
+      while (larges > 0) {
+        fill(large[--larges]);
+      }
+    }
+
+    /** Makes a column always draw its own index, as rounding leaves some columns unpaired. */
+    private void fill(int column) {
+      thresholds[column] = Integer.MAX_VALUE;
+      aliases[column] = column;
+    }
+
+    /** The number of indexes. */
+    int size() {
+      return thresholds.length;
+    }
+
+    /** Draws an index with the probability of its weight. */
+    int next(RandomGenerator random) {
+      int column = random.nextInt(thresholds.length);
+      return (random.nextInt() >>> 1) < thresholds[column] ? column : aliases[column];
+    }
+  }
+}
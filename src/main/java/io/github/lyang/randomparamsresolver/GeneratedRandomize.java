@@ -0,0 +1,366 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Distribution;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Scope;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link Randomize} with constant attributes, as held by the resolvers generated by {@link
+ * RandomizeProcessor}, so resolving a compiled parameter neither parses annotations nor creates
+ * annotation proxies. Attributes that are not given take the defaults declared by {@link
+ * Randomize} itself, and instances compare equal to annotations with the same attributes.
+ *
+ * <p>This class is public for generated code only.
+ */
+public final class GeneratedRandomize implements Randomize {
+  /** The suffix of the name of the resolver generated for a test class. */
+  static final String SUFFIX = "_RandomParameters";
+
+  private static final ClassValue<Loaded> INDEXES =
+      new ClassValue<>() {
+        @Override
+        protected Loaded computeValue(Class<?> type) {
+          return load(type);
+        }
+      };
+
+  private static final Method[] METHODS = Randomize.class.getDeclaredMethods();
+  private static final Map<String, Object> DEFAULTS =
+      Arrays.stream(METHODS).collect(Collectors.toMap(Method::getName, Method::getDefaultValue));
+
+  private final Map<String, Object> attributes;
+
+  /**
+   * Creates a {@link Randomize} with the given attributes, by attribute name, and the defaults
+   * declared by the annotation for the rest.
+   */
+  public GeneratedRandomize(Map<String, Object> attributes) {
+    Map<String, Object> merged = new HashMap<>(DEFAULTS);
+    merged.putAll(attributes);
+    this.attributes = merged;
+  }
+
+  /** The generated resolver of a test class, listing the {@link Randomize} of its parameters. */
+  public interface Index {
+    /**
+     * Returns the {@link Randomize} of each parameter, or {@code null} for unannotated parameters,
+     * by {@code name(type, ...)} key of each method and constructor ({@code <init>}).
+     */
+    Map<String, Randomize[]> parameters();
+
+    /**
+     * Returns the {@link RandomParametersExtension.RandomizeWith} generator of each parameter, or
+     * {@code null} for parameters without one, by the keys of {@link #parameters()}. Executables
+     * without such parameters may be omitted.
+     */
+    Map<String, Class<?>[]> generators();
+  }
+
+  /**
+   * Returns the generated {@link Randomize} of each parameter of {@code executable}, or {@code
+   * null} if its class was not compiled with {@link RandomizeProcessor}.
+   */
+  static Randomize[] annotations(Executable executable) {
+    return INDEXES.get(executable.getDeclaringClass()).parameters().get(key(executable));
+  }
+
+  /**
+   * Returns the generated {@link RandomParametersExtension.RandomizeWith} generator of each
+   * parameter of {@code executable}, for executables whose {@link #annotations} are generated.
+   */
+  static Class<?>[] generators(Executable executable) {
+    Class<?>[] generators =
+        INDEXES.get(executable.getDeclaringClass()).generators().get(key(executable));
+    return generators != null ? generators : new Class<?>[executable.getParameterCount()];
+  }
+
+  /** Returns the attributes of {@code annotation}, with attribute {@code name} set to {@code value}. */
+  static Randomize with(Randomize annotation, String name, Object value) {
+    Map<String, Object> attributes = new HashMap<>();
+    for (Method method : METHODS) {
+      attributes.put(method.getName(), value(method, annotation));
+    }
+    attributes.put(name, value);
+    return new GeneratedRandomize(attributes);
+  }
+
+  /** The {@code name(type, ...)} key of an executable, with canonical parameter type names. */
+  static String key(Executable executable) {
+    return Arrays.stream(executable.getParameterTypes())
+        .map(Class::getCanonicalName)
+        .collect(
+            Collectors.joining(
+                ",",
+                (executable instanceof Constructor<?> ? "<init>" : executable.getName()) + "(",
+                ")"));
+  }
+
+  /** The name of the resolver generated for {@code type}, like {@code pkg.Outer_Inner_...}. */
+  static String resolverName(String packageName, String flatName) {
+    return (packageName.isEmpty() ? "" : packageName + ".") + flatName + SUFFIX;
+  }
+
+  private static Loaded load(Class<?> type) {
+    StringBuilder flatName = new StringBuilder(type.getSimpleName());
+    for (Class<?> outer = type.getEnclosingClass();
+        outer != null;
+        outer = outer.getEnclosingClass()) {
+      flatName.insert(0, outer.getSimpleName() + "_");
+    }
+    try {
+      Class<?> resolver =
+          Class.forName(
+              resolverName(type.getPackageName(), flatName.toString()),
+              true,
+              type.getClassLoader());
+      if (Index.class.isAssignableFrom(resolver)) {
+        Index index = (Index) resolver.getConstructor().newInstance();
+        return new Loaded(index.parameters(), index.generators());
+      }
+    } catch (ClassNotFoundException e) {
+      // not compiled with the processor, fall back to reflection
+    } catch (ReflectiveOperationException | LinkageError e) {
+      throw new IllegalStateException("Cannot load generated resolver of " + type.getName(), e);
+    }
+    return new Loaded(Map.of(), Map.of());
+  }
+
+  @Override
+  public Class<? extends Annotation> annotationType() {
+    return Randomize.class;
+  }
+
+  @Override
+  public int intMin() {
+    return attribute("intMin");
+  }
+
+  @Override
+  public int intMax() {
+    return attribute("intMax");
+  }
+
+  @Override
+  public long longMin() {
+    return attribute("longMin");
+  }
+
+  @Override
+  public long longMax() {
+    return attribute("longMax");
+  }
+
+  @Override
+  public byte byteMin() {
+    return attribute("byteMin");
+  }
+
+  @Override
+  public byte byteMax() {
+    return attribute("byteMax");
+  }
+
+  @Override
+  public short shortMin() {
+    return attribute("shortMin");
+  }
+
+  @Override
+  public short shortMax() {
+    return attribute("shortMax");
+  }
+
+  @Override
+  public char charMin() {
+    return attribute("charMin");
+  }
+
+  @Override
+  public char charMax() {
+    return attribute("charMax");
+  }
+
+  @Override
+  public float floatMin() {
+    return attribute("floatMin");
+  }
+
+  @Override
+  public float floatMax() {
+    return attribute("floatMax");
+  }
+
+  @Override
+  public double doubleMin() {
+    return attribute("doubleMin");
+  }
+
+  @Override
+  public double doubleMax() {
+    return attribute("doubleMax");
+  }
+
+  @Override
+  public String bigMin() {
+    return attribute("bigMin");
+  }
+
+  @Override
+  public String bigMax() {
+    return attribute("bigMax");
+  }
+
+  @Override
+  public int bitLength() {
+    return attribute("bitLength");
+  }
+
+  @Override
+  public int precision() {
+    return attribute("precision");
+  }
+
+  @Override
+  public int scale() {
+    return attribute("scale");
+  }
+
+  @Override
+  public int length() {
+    return attribute("length");
+  }
+
+  @Override
+  public int elementLength() {
+    return attribute("elementLength");
+  }
+
+  @Override
+  public long size() {
+    return attribute("size");
+  }
+
+  @Override
+  public boolean direct() {
+    return attribute("direct");
+  }
+
+  @Override
+  public boolean text() {
+    return attribute("text");
+  }
+
+  @Override
+  public boolean unique() {
+    return attribute("unique");
+  }
+
+  @Override
+  public Distribution distribution() {
+    return attribute("distribution");
+  }
+
+  @Override
+  public double exponent() {
+    return attribute("exponent");
+  }
+
+  @Override
+  public double[] weights() {
+    return this.<double[]>attribute("weights").clone();
+  }
+
+  @Override
+  public Scope scope() {
+    return attribute("scope");
+  }
+
+  @Override
+  public long seed() {
+    return attribute("seed");
+  }
+
+  @Override
+  public String algorithm() {
+    return attribute("algorithm");
+  }
+
+  @Override
+  public String[] unicodeBlocks() {
+    return this.<String[]>attribute("unicodeBlocks").clone();
+  }
+
+  @Override
+  public String alphabet() {
+    return attribute("alphabet");
+  }
+
+  @Override
+  public String pattern() {
+    return attribute("pattern");
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T attribute(String name) {
+    return (T) attributes.get(name);
+  }
+
+  /** Compares the attributes with those of any {@link Randomize}, as {@link Annotation#equals}. */
+  @Override
+  public boolean equals(Object other) {
+    if (other == this) {
+      return true;
+    }
+    if (!(other instanceof Randomize annotation)) {
+      return false;
+    }
+    for (Method method : METHODS) {
+      if (!Objects.deepEquals(attributes.get(method.getName()), value(method, annotation))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Hashes the attributes as {@link Annotation#hashCode}. */
+  @Override
+  public int hashCode() {
+    int hash = 0;
+    for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+      Object value = attribute.getValue();
+      hash +=
+          (127 * attribute.getKey().hashCode())
+              ^ (value instanceof String[] values
+                  ? Arrays.hashCode(values)
+                  : value instanceof double[] weights
+                      ? Arrays.hashCode(weights)
+                      : value.hashCode());
+    }
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return ResolutionPlan.describe(this);
+  }
+
+  /** The maps of a loaded {@link Index}, built once per test class. */
+  private record Loaded(Map<String, Randomize[]> parameters, Map<String, Class<?>[]> generators) {}
+
+  private static Object value(Method method, Randomize annotation) {
+    try {
+      return method.invoke(annotation);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,228 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+/**
+ * Generators for records and classes with a single non-private constructor, built by generating
+ * every constructor parameter from the supported types, including nested records and classes.
+ *
+ * <p>The constructor of each type is looked up once and cached as a spreading {@link MethodHandle}
+ * in a {@link ClassValue}, so each generated object costs one direct constructor call. Components
+ * use their own {@link Randomize} annotation if present, else the annotation of the enclosing
+ * object, and their {@link RandomizeWith} generator if present.
+ */
+final class ObjectGenerators {
+  private static final MethodType CONSTRUCTOR_TYPE =
+      MethodType.methodType(Object.class, Object[].class);
+  private static final ClassValue<Optional<Shape>> SHAPES =
+      new ClassValue<>() {
+        @Override
+        protected Optional<Shape> computeValue(Class<?> type) {
+          return Shape.of(type);
+        }
+      };
+
+  private ObjectGenerators() {}
+
+  /**
+   * Returns the factory for an enum, a record or a single-constructor class, or {@code null} if
+   * {@code type} is not one. Unsupported components are reported when the factory is applied.
+   */
+  static Function<Randomize, Generator> object(
+      Class<?> type, Map<Class<?>, Function<Randomize, Generator>> generators) {
+    if (type.isEnum()) {
+      return annotation -> Distributions.constants(type, annotation);
+    }
+    return SHAPES.get(type).isEmpty()
+        ? null
+        : annotation -> generator(type, annotation, generators, new ArrayList<>());
+  }
+
+  /**
+   * Returns the element lookup for collections: the supported types, then discovered {@link
+   * RandomValueGenerator}s, enums, records and single-constructor classes.
+   */
+  static Function<Class<?>, Function<Randomize, Generator>> elements(
+      Map<Class<?>, Function<Randomize, Generator>> generators) {
+    return element -> element(element, generators, new ArrayList<>());
+  }
+
+  private static Generator generator(
+      Class<?> type,
+      Randomize annotation,
+      Map<Class<?>, Function<Randomize, Generator>> generators,
+      List<Class<?>> path) {
+    if (path.contains(type)) {
+      path.add(type);
+      throw new IllegalArgumentException(
+          path.stream()
+              .map(Class::getSimpleName)
+              .collect(Collectors.joining(" -> ", "", " is recursive")));
+    }
+    path.add(type);
+    Shape shape = SHAPES.get(type).orElseThrow();
+    Generator[] components = new Generator[shape.components().length];
+    for (int i = 0; i < components.length; i++) {
+      Parameter component = shape.components()[i];
+      Randomize own = component.getAnnotation(Randomize.class);
+      components[i] =
+          component(
+              type, shape.names()[i], component, own == null ? annotation : own, generators, path);
+    }
+    path.remove(path.size() - 1);
+    MethodHandle constructor = shape.constructor();
+    return random -> {
+      Object[] arguments = new Object[components.length];
+      for (int i = 0; i < components.length; i++) {
+        arguments[i] = components[i].generate(random);
+      }
+      try {
+        return constructor.invokeExact(arguments);
+      } catch (Throwable e) {
+        throw new ParameterResolutionException(
+            String.format("Cannot construct %s: %s", type.getSimpleName(), e.getMessage()), e);
+      }
+    };
+  }
+
+  private static Generator component(
+      Class<?> owner,
+      String name,
+      Parameter component,
+      Randomize annotation,
+      Map<Class<?>, Function<Randomize, Generator>> generators,
+      List<Class<?>> path) {
+    RandomizeWith with = component.getAnnotation(RandomizeWith.class);
+    if (with != null) {
+      return CustomGenerators.named(with.value(), component.getParameterizedType())
+          .apply(annotation);
+    }
+    Class<?> type = component.getType();
+    if (type != Path.class && !RandomGenerator.class.isAssignableFrom(type)) {
+      Function<Randomize, Generator> factory = generators.get(type);
+      if (factory == null) {
+        factory =
+            BulkGenerators.collection(
+                component.getParameterizedType(), element -> element(element, generators, path));
+      }
+      if (factory == null) {
+        factory = CustomGenerators.discovered(component.getParameterizedType());
+      }
+      if (factory != null) {
+        Generator generator = factory.apply(annotation);
+        if (generator instanceof UniqueGenerators.Space) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "unique is not supported for component %s of %s", name, owner.getSimpleName()));
+        }
+        return generator;
+      }
+      if (type.isEnum()) {
+        return Distributions.constants(type, annotation);
+      }
+      if (SHAPES.get(type).isPresent()) {
+        return generator(type, annotation, generators, path);
+      }
+    }
+    throw new IllegalArgumentException(
+        String.format(
+            "Cannot generate %s component %s of %s",
+            component.getParameterizedType().getTypeName(), name, owner.getSimpleName()));
+  }
+
+  /** Like {@link #elements(Map)}, continuing the recursion check along {@code path}. */
+  private static Function<Randomize, Generator> element(
+      Class<?> element,
+      Map<Class<?>, Function<Randomize, Generator>> generators,
+      List<Class<?>> path) {
+    Function<Randomize, Generator> factory = generators.get(element);
+    if (factory == null) {
+      factory = CustomGenerators.discovered(element);
+    }
+    if (factory == null && element.isEnum()) {
+      return annotation -> Distributions.constants(element, annotation);
+    }
+    if (factory != null || SHAPES.get(element).isEmpty()) {
+      return factory;
+    }
+    return annotation -> generator(element, annotation, generators, path);
+  }
+
+  /**
+   * The constructor of a type, spread over an argument array, and its parameters.
+   *
+   * @param constructor takes an {@code Object[]} of the arguments and returns the new object
+   * @param components the constructor parameters, carrying their {@link Randomize} annotations
+   * @param names the record component or parameter names
+   */
+  private record Shape(MethodHandle constructor, Parameter[] components, String[] names) {
+    static Optional<Shape> of(Class<?> type) {
+      // primitive, array and interface types are abstract too, and enum constructors private
+      if (Modifier.isAbstract(type.getModifiers())) {
+        return Optional.empty();
+      }
+      Constructor<?> constructor = type.isRecord() ? canonical(type) : single(type);
+      if (constructor == null) {
+        return Optional.empty();
+      }
+      try {
+        constructor.setAccessible(true);
+        MethodHandle handle =
+            MethodHandles.lookup()
+                .unreflectConstructor(constructor)
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(CONSTRUCTOR_TYPE);
+        Parameter[] components = constructor.getParameters();
+        String[] names =
+            type.isRecord()
+                ? Arrays.stream(type.getRecordComponents())
+                    .map(RecordComponent::getName)
+                    .toArray(String[]::new)
+                : Arrays.stream(components).map(Parameter::getName).toArray(String[]::new);
+        return Optional.of(new Shape(handle, components, names));
+      } catch (IllegalAccessException | InaccessibleObjectException e) {
+        // the package is not open to this library
+        return Optional.empty();
+      }
+    }
+
+    private static Constructor<?> canonical(Class<?> type) {
+      Class<?>[] types =
+          Arrays.stream(type.getRecordComponents())
+              .map(RecordComponent::getType)
+              .toArray(Class<?>[]::new);
+      return Arrays.stream(type.getDeclaredConstructors())
+          .filter(constructor -> Arrays.equals(constructor.getParameterTypes(), types))
+          .findFirst()
+          .orElseThrow();
+    }
+
+    private static Constructor<?> single(Class<?> type) {
+      boolean inner = type.getEnclosingClass() != null && !Modifier.isStatic(type.getModifiers());
+      Constructor<?>[] constructors = type.getDeclaredConstructors();
+      return inner || constructors.length != 1 || Modifier.isPrivate(constructors[0].getModifiers())
+          ? null
+          : constructors[0];
+    }
+  }
+}
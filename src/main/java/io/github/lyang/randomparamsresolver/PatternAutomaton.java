@@ -0,0 +1,489 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.regex.Pattern;
+
+/**
+ * Generates strings matching a regular expression, for {@link
+ * RandomParametersExtension.Randomize#pattern()}, by walking its Glushkov automaton.
+ *
+ * <p>The automaton has one state per character class occurrence, and every transition emits one
+ * code point, so a walk takes one bounded random int to choose a transition, or to stop in an
+ * accepting state, and one to draw the code point. Automata are compiled with the plan of each
+ * parameter, which holds them.
+ *
+ * <p>The supported subset is literals, escapes, {@code .}, character classes with ranges and
+ * negation, {@code \d \w \s} and their negations, groups, alternation, the {@code ? * + {n} {n,}
+ * {n,m}} quantifiers and {@code ^ $} anchors at the ends. {@code .} and negations draw from
+ * printable ASCII. Backreferences, lookaround and flags are rejected.
+ */
+final class PatternAutomaton {
+  /** The most character class occurrences of a pattern, after expanding counted repetitions. */
+  static final int MAX_STATES = 1 << 16;
+
+  private static final int PRINTABLE_MIN = ' ';
+  private static final int PRINTABLE_MAX = '~' + 1;
+  private static final List<int[]> WORD =
+      List.of(
+          new int[] {'0', '9' + 1},
+          new int[] {'A', 'Z' + 1},
+          new int[] {'_', '_' + 1},
+          new int[] {'a', 'z' + 1});
+  private static final List<int[]> SPACE =
+      List.of(new int[] {'\t', '\r' + 1}, new int[] {' ', ' ' + 1});
+
+  private final int[][] transitions;
+  private final boolean[] accepting;
+  private final CodePointSampler[] symbols;
+
+  private PatternAutomaton(int[][] transitions, boolean[] accepting, CodePointSampler[] symbols) {
+    this.transitions = transitions;
+    this.accepting = accepting;
+    this.symbols = symbols;
+  }
+
+  /**
+   * Returns the automaton of {@code pattern}, compiled once per run through the {@link SpecCache}.
+   *
+   * @throws IllegalArgumentException if the pattern is invalid or uses unsupported constructs
+   */
+  static PatternAutomaton cached(String pattern) {
+    return SpecCache.get("pattern " + pattern, () -> of(pattern));
+  }
+
+  /**
+   * Compiles the automaton of {@code pattern}.
+   *
+   * @throws IllegalArgumentException if the pattern is invalid or uses unsupported constructs
+   */
+  static PatternAutomaton of(String pattern) {
+    Pattern.compile(pattern);
+    Node root = new Parser(pattern).parse();
+    Builder builder = new Builder(pattern);
+    Fragment fragment = builder.fragment(root);
+    int states = builder.symbols.size() + 1;
+    int[][] transitions = new int[states][];
+    boolean[] accepting = new boolean[states];
+    transitions[0] = sorted(fragment.first());
+    accepting[0] = fragment.nullable();
+    for (int state = 1; state < states; state++) {
+      transitions[state] = sorted(builder.follow.get(state - 1));
+      accepting[state] = fragment.last().contains(state);
+    }
+    CodePointSampler[] symbols = new CodePointSampler[states];
+    for (int state = 1; state < states; state++) {
+      symbols[state] = builder.symbols.get(state - 1);
+    }
+    return new PatternAutomaton(transitions, accepting, symbols);
+  }
+
+  private static int[] sorted(Set<Integer> states) {
+    return states.stream().mapToInt(Integer::intValue).sorted().toArray();
+  }
+
+  /** Generates a matching string. */
+  String generate(RandomGenerator random) {
+    StringBuilder builder = new StringBuilder();
+    int state = 0;
+    while (true) {
+      int[] next = transitions[state];
+      int choices = accepting[state] ? next.length + 1 : next.length;
+      int choice = choices == 1 ? 0 : random.nextInt(choices);
+      if (choice == next.length) {
+        return builder.toString();
+      }
+      state = next[choice];
+      builder.appendCodePoint(symbols[state].next(random));
+    }
+  }
+
+  /** A parsed regular expression. */
+  private sealed interface Node {}
+
+  /** One code point of a class. */
+  private record Symbol(CodePointSampler sampler) implements Node {}
+
+  private record Sequence(List<Node> nodes) implements Node {}
+
+  private record Choice(List<Node> nodes) implements Node {}
+
+  /**
+   * {@code node} repeated between {@code min} and {@code max} times, or at least {@code min} times
+   * if {@code max} is {@code -1}.
+   */
+  private record Repeat(Node node, int min, int max) implements Node {}
+
+  /**
+   * The Glushkov sets of a compiled node: whether it matches the empty string, and the states that
+   * may start and end its matches. The sets are sparse, since a node's states are far from 0 in
+   * long patterns, and are not modified once the fragment is built.
+   */
+  private record Fragment(boolean nullable, Set<Integer> first, Set<Integer> last) {}
+
+  /** Assigns a state to every symbol occurrence and collects the states that may follow each. */
+  private static final class Builder {
+    private final String pattern;
+    private final List<CodePointSampler> symbols = new ArrayList<>();
+    private final List<Set<Integer>> follow = new ArrayList<>();
+
+    Builder(String pattern) {
+      this.pattern = pattern;
+    }
+
+    Fragment fragment(Node node) {
+      if (node instanceof Symbol symbol) {
+        if (symbols.size() >= MAX_STATES) {
+          throw new IllegalArgumentException(
+              String.format("pattern (%s) has more than %d states", pattern, MAX_STATES));
+        }
+        symbols.add(symbol.sampler());
+        follow.add(new HashSet<>());
+        Set<Integer> state = Set.of(symbols.size());
+        return new Fragment(false, state, state);
+      }
+      if (node instanceof Sequence sequence) {
+        Fragment result = empty();
+        for (Node element : sequence.nodes()) {
+          result = concat(result, fragment(element));
+        }
+        return result;
+      }
+      if (node instanceof Choice choice) {
+        boolean nullable = false;
+        Set<Integer> first = new HashSet<>();
+        Set<Integer> last = new HashSet<>();
+        for (Node alternative : choice.nodes()) {
+          Fragment fragment = fragment(alternative);
+          nullable |= fragment.nullable();
+          first.addAll(fragment.first());
+          last.addAll(fragment.last());
+        }
+        return new Fragment(nullable, first, last);
+      }
+      Repeat repeat = (Repeat) node;
+      Fragment result = empty();
+      for (int i = 0; i < repeat.min(); i++) {
+        result = concat(result, fragment(repeat.node()));
+      }
+      if (repeat.max() < 0) {
+        Fragment loop = fragment(repeat.node());
+        link(loop.last(), loop.first());
+        return concat(result, new Fragment(true, loop.first(), loop.last()));
+      }
+      return concat(result, optional(repeat.node(), repeat.max() - repeat.min()));
+    }
+
+    /**
+     * Chains {@code copies} optional copies of {@code node}, each only after the previous one, as
+     * {@code (node(node(...)?)?)?}. The copies are linked front to back and their last states
+     * gathered into one set, so the chain compiles in time linear in its states.
+     */
+    private Fragment optional(Node node, int copies) {
+      Set<Integer> first = new HashSet<>();
+      Set<Integer> last = new HashSet<>();
+      Set<Integer> tail = Set.of();
+      boolean leading = true;
+      for (int i = 0; i < copies; i++) {
+        Fragment copy = fragment(node);
+        link(tail, copy.first());
+        if (leading) {
+          first.addAll(copy.first());
+        }
+        last.addAll(copy.last());
+        tail = copy.nullable() ? union(tail, copy.last()) : copy.last();
+        leading &= copy.nullable();
+      }
+      return new Fragment(true, first, last);
+    }
+
+    private Fragment concat(Fragment left, Fragment right) {
+      link(left.last(), right.first());
+      Set<Integer> first = left.nullable() ? union(left.first(), right.first()) : left.first();
+      Set<Integer> last = right.nullable() ? union(right.last(), left.last()) : right.last();
+      return new Fragment(left.nullable() && right.nullable(), first, last);
+    }
+
+    private void link(Set<Integer> from, Set<Integer> to) {
+      from.forEach(state -> follow.get(state - 1).addAll(to));
+    }
+
+    private static Set<Integer> union(Set<Integer> left, Set<Integer> right) {
+      Set<Integer> union = new HashSet<>(left);
+      union.addAll(right);
+      return union;
+    }
+
+    private static Fragment empty() {
+      return new Fragment(true, Set.of(), Set.of());
+    }
+  }
+
+  /**
+   * A recursive descent parser of the supported subset, over code points. Patterns are compiled by
+   * {@link Pattern} first, so only unsupported constructs are reported here, not syntax errors.
+   */
+  private static final class Parser {
+    private final String pattern;
+    private int index;
+
+    Parser(String pattern) {
+      this.pattern = pattern;
+    }
+
+    Node parse() {
+      return choice();
+    }
+
+    private Node choice() {
+      List<Node> alternatives = new ArrayList<>();
+      alternatives.add(sequence());
+      while (accept('|')) {
+        alternatives.add(sequence());
+      }
+      return alternatives.size() == 1 ? alternatives.get(0) : new Choice(alternatives);
+    }
+
+    private Node sequence() {
+      List<Node> nodes = new ArrayList<>();
+      while (index < pattern.length() && peek() != '|' && peek() != ')') {
+        Node atom = atom();
+        if (atom != null) {
+          nodes.add(quantified(atom));
+        }
+      }
+      return new Sequence(nodes);
+    }
+
+    private Node quantified(Node atom) {
+      Node node = atom;
+      while (index < pattern.length()) {
+        int min;
+        int max;
+        if (accept('?')) {
+          min = 0;
+          max = 1;
+        } else if (accept('*')) {
+          min = 0;
+          max = -1;
+        } else if (accept('+')) {
+          min = 1;
+          max = -1;
+        } else if (peek() == '{') {
+          index++;
+          min = number();
+          max = min;
+          if (accept(',')) {
+            max = peek() == '}' ? -1 : number();
+          }
+          index++;
+        } else {
+          return node;
+        }
+        if (!accept('?')) {
+          accept('+');
+        }
+        node = new Repeat(node, min, max);
+      }
+      return node;
+    }
+
+    /** Returns the next atom, or {@code null} for an anchor. */
+    private Node atom() {
+      int start = index;
+      int codePoint = next();
+      switch (codePoint) {
+        case '(' -> {
+          if (accept('?')) {
+            if (accept(':')) {
+              // non-capturing group
+            } else if (peek() == '<' && Character.isLetter(pattern.charAt(index + 1))) {
+              index = pattern.indexOf('>', index) + 1;
+            } else {
+              index = start;
+              throw unsupported("lookaround or flags");
+            }
+          }
+          Node group = choice();
+          index++;
+          return group;
+        }
+        case '[' -> {
+          return new Symbol(CodePointSampler.of(characterClass()));
+        }
+        case '.' -> {
+          return new Symbol(CodePointSampler.of(printable()));
+        }
+        case '^', '$' -> {
+          if (codePoint == '^' ? start != 0 : index != pattern.length()) {
+            index = start;
+            throw unsupported("anchor inside the pattern");
+          }
+          return null;
+        }
+        case '\\' -> {
+          List<int[]> ranges = escape(false);
+          return new Symbol(CodePointSampler.of(ranges));
+        }
+        default -> {
+          return new Symbol(CodePointSampler.of(List.of(new int[] {codePoint, codePoint + 1})));
+        }
+      }
+    }
+
+    /** Parses a class after its {@code [}, returning its sorted, disjoint ranges. */
+    private List<int[]> characterClass() {
+      int start = index - 1;
+      boolean negated = accept('^');
+      List<int[]> ranges = new ArrayList<>();
+      boolean first = true;
+      while (first || peek() != ']') {
+        first = false;
+        if (peek() == '[' || pattern.startsWith("&&", index)) {
+          throw unsupported("nested class");
+        }
+        List<int[]> item;
+        if (accept('\\')) {
+          item = escape(true);
+        } else {
+          int low = next();
+          item = List.of(new int[] {low, low + 1});
+        }
+        if (item.size() == 1
+            && item.get(0)[1] == item.get(0)[0] + 1
+            && peek() == '-'
+            && pattern.charAt(index + 1) != ']') {
+          index++;
+          // a class escape as the upper bound is a syntax error, so an escape here is one code
+          // point
+          int high = accept('\\') ? escape(true).get(0)[0] : next();
+          item = List.of(new int[] {item.get(0)[0], high + 1});
+        }
+        ranges.addAll(item);
+      }
+      index++;
+      List<int[]> merged = merge(ranges);
+      if (!negated) {
+        return merged;
+      }
+      List<int[]> complement = complement(merged);
+      if (complement.isEmpty()) {
+        index = start;
+        throw unsupported("empty class");
+      }
+      return complement;
+    }
+
+    /** Parses an escape after its backslash. */
+    private List<int[]> escape(boolean inClass) {
+      int start = index - 1;
+      int codePoint = next();
+      return switch (codePoint) {
+        case 'd' -> List.of(new int[] {'0', '9' + 1});
+        case 'D' -> complement(List.of(new int[] {'0', '9' + 1}));
+        case 'w' -> WORD;
+        case 'W' -> complement(WORD);
+        case 's' -> SPACE;
+        case 'S' -> complement(SPACE);
+        case 't' -> single('\t');
+        case 'n' -> single('\n');
+        case 'r' -> single('\r');
+        case 'f' -> single('\f');
+        case 'e' -> single(0x1b);
+        case 'a' -> single(0x07);
+        case 'x' -> single(hex(accept('{') ? -1 : 2));
+        case 'u' -> single(hex(4));
+        default -> {
+          if (Character.isLetterOrDigit(codePoint)) {
+            index = start;
+            throw unsupported("escape \\" + Character.toString(codePoint));
+          }
+          yield single(codePoint);
+        }
+      };
+    }
+
+    private int hex(int digits) {
+      int end = digits < 0 ? pattern.indexOf('}', index) : index + digits;
+      int value = Integer.parseInt(pattern.substring(index, end), 16);
+      index = digits < 0 ? end + 1 : end;
+      return value;
+    }
+
+    private int number() {
+      int start = index;
+      while (Character.isDigit(peek())) {
+        index++;
+      }
+      return Integer.parseInt(pattern.substring(start, index));
+    }
+
+    private int peek() {
+      return index < pattern.length() ? pattern.codePointAt(index) : -1;
+    }
+
+    private int next() {
+      int codePoint = pattern.codePointAt(index);
+      index += Character.charCount(codePoint);
+      return codePoint;
+    }
+
+    private boolean accept(int codePoint) {
+      if (peek() == codePoint) {
+        index += Character.charCount(codePoint);
+        return true;
+      }
+      return false;
+    }
+
+    private List<int[]> complement(List<int[]> ranges) {
+      List<int[]> complement = new ArrayList<>();
+      int from = PRINTABLE_MIN;
+      for (int[] range : merge(ranges)) {
+        if (range[0] > from) {
+          complement.add(new int[] {from, Math.min(range[0], PRINTABLE_MAX)});
+        }
+        from = Math.max(from, range[1]);
+        if (from >= PRINTABLE_MAX) {
+          break;
+        }
+      }
+      if (from < PRINTABLE_MAX) {
+        complement.add(new int[] {from, PRINTABLE_MAX});
+      }
+      return complement;
+    }
+
+    private IllegalArgumentException unsupported(String construct) {
+      return new IllegalArgumentException(
+          String.format("pattern (%s) uses unsupported %s at index %d", pattern, construct, index));
+    }
+  }
+
+  private static List<int[]> single(int codePoint) {
+    return List.of(new int[] {codePoint, codePoint + 1});
+  }
+
+  private static List<int[]> printable() {
+    return List.of(new int[] {PRINTABLE_MIN, PRINTABLE_MAX});
+  }
+
+  /** Sorts and merges overlapping or adjacent non-empty ranges. */
+  private static List<int[]> merge(List<int[]> ranges) {
+    List<int[]> sorted = new ArrayList<>(ranges);
+    sorted.sort((a, b) -> Integer.compare(a[0], b[0]));
+    List<int[]> merged = new ArrayList<>();
+    for (int[] range : sorted) {
+      int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && range[0] <= last[1]) {
+        last[1] = Math.max(last[1], range[1]);
+      } else {
+        merged.add(new int[] {range[0], range[1]});
+      }
+    }
+    return merged;
+  }
+}
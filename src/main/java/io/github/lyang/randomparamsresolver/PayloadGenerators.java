@@ -0,0 +1,197 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generators for byte payloads that should not live in a single heap array: heap and direct {@link
+ * ByteBuffer}s, {@code java.lang.foreign.MemorySegment}s on JDKs that provide them, and temporary
+ * files.
+ *
+ * <p>Payloads are produced in {@link #CHUNK_SIZE} chunks through a reused buffer, so the heap stays
+ * flat regardless of the payload size. Since the chunk size is a multiple of 8, the content matches
+ * a {@code byte[]} of the same length and seed.
+ */
+final class PayloadGenerators {
+  static final int CHUNK_SIZE = 1 << 20;
+  private static final String MEMORY_SEGMENT = "java.lang.foreign.MemorySegment";
+
+  private PayloadGenerators() {}
+
+  /**
+   * Returns {@code generators} with a {@code MemorySegment} generator added when the running JDK
+   * supports the foreign memory API.
+   */
+  static Map<Class<?>, Function<Randomize, Generator>> withMemorySegment(
+      Map<Class<?>, Function<Randomize, Generator>> generators) {
+    return MemorySegments.with(generators);
+  }
+
+  /** The number of bytes of a file, stream or memory segment: {@code size}, else {@code length}. */
+  static long size(Randomize annotation) {
+    long size = annotation.size() == -1L ? annotation.length() : annotation.size();
+    ResolutionPlan.requireNonNegative("size", size);
+    return size;
+  }
+
+  static Generator byteBuffer(Randomize annotation) {
+    int length = annotation.length();
+    ResolutionPlan.requireNonNegative("length", length);
+    if (!annotation.direct()) {
+      return random -> {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return ByteBuffer.wrap(bytes);
+      };
+    }
+    return random -> {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+      fill(random, buffer, new byte[Math.min(length, CHUNK_SIZE)]);
+      return buffer.flip();
+    };
+  }
+
+  static Generator path(Randomize annotation) {
+    return path(annotation, () -> Files.createTempFile("randomize-", ".bin"));
+  }
+
+  /** Returns the generator of files made by {@code files}, deleting those it fails to write. */
+  static Generator path(Randomize annotation, FileFactory files) {
+    long size = size(annotation);
+    return random -> {
+      Path path;
+      try {
+        path = files.create();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Cannot create random file", e);
+      }
+      try {
+        write(random, path, size);
+        return path;
+      } catch (IOException | RuntimeException e) {
+        // the file is only deleted with its test once it is resolved
+        try {
+          Files.deleteIfExists(path);
+        } catch (IOException suppressed) {
+          e.addSuppressed(suppressed);
+        }
+        if (e instanceof IOException io) {
+          throw new UncheckedIOException("Cannot write random file", io);
+        }
+        throw (RuntimeException) e;
+      }
+    };
+  }
+
+  /** Writes {@code size} random bytes to the file at {@code path}, in chunks. */
+  private static void write(RandomGenerator random, Path path, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      byte[] chunk = new byte[(int) Math.min(size, CHUNK_SIZE)];
+      for (long written = 0; written < size; written += chunk.length) {
+        if (size - written < chunk.length) {
+          chunk = new byte[(int) (size - written)];
+        }
+        random.nextBytes(chunk);
+        ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    }
+  }
+
+  /** Fills the remaining bytes of {@code buffer} through the reusable {@code chunk}. */
+  private static void fill(RandomGenerator random, ByteBuffer buffer, byte[] chunk) {
+    while (buffer.hasRemaining()) {
+      if (buffer.remaining() < chunk.length) {
+        chunk = new byte[buffer.remaining()];
+      }
+      random.nextBytes(chunk);
+      buffer.put(chunk);
+    }
+  }
+
+  /** Creates the empty file that a generated {@link Path} is written to. */
+  @FunctionalInterface
+  interface FileFactory {
+    Path create() throws IOException;
+  }
+
+  /** A generated file, deleted when the extension context that resolved it is closed. */
+  record TemporaryFile(Path path) implements AutoCloseable {
+    @Override
+    public void close() throws IOException {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  /**
+   * Reflective access to the foreign memory API, which is not available on the compile target. The
+   * build runs on Java 17, where it cannot load, so this class is excluded from coverage.
+   */
+  private static final class MemorySegments {
+    private final MethodHandle allocate;
+    private final MethodHandle slice;
+    private final MethodHandle asByteBuffer;
+
+    /** Returns {@code generators}, with a generator added if the foreign memory API loads. */
+    static Map<Class<?>, Function<Randomize, Generator>> with(
+        Map<Class<?>, Function<Randomize, Generator>> generators) {
+      try {
+        Class<?> segment = Class.forName(MEMORY_SEGMENT);
+        MemorySegments segments = new MemorySegments(segment);
+        Map<Class<?>, Function<Randomize, Generator>> result = new HashMap<>(generators);
+        result.put(segment, segments::generator);
+        return Map.copyOf(result);
+      } catch (ReflectiveOperationException | LinkageError e) {
+        return generators;
+      }
+    }
+
+    MemorySegments(Class<?> segment) throws ReflectiveOperationException {
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      Class<?> arena = Class.forName("java.lang.foreign.Arena");
+      MethodHandle ofAuto = lookup.findStatic(arena, "ofAuto", MethodType.methodType(arena));
+      allocate =
+          MethodHandles.foldArguments(
+              lookup.findVirtual(arena, "allocate", MethodType.methodType(segment, long.class)),
+              ofAuto);
+      slice =
+          lookup.findVirtual(
+              segment, "asSlice", MethodType.methodType(segment, long.class, long.class));
+      asByteBuffer =
+          lookup.findVirtual(segment, "asByteBuffer", MethodType.methodType(ByteBuffer.class));
+    }
+
+    Generator generator(Randomize annotation) {
+      long size = size(annotation);
+      return random -> {
+        try {
+          Object segment = allocate.invoke(size);
+          byte[] chunk = new byte[(int) Math.min(size, CHUNK_SIZE)];
+          for (long offset = 0; offset < size; offset += CHUNK_SIZE) {
+            Object slice = this.slice.invoke(segment, offset, Math.min(size - offset, CHUNK_SIZE));
+            fill(random, (ByteBuffer) asByteBuffer.invoke(slice), chunk);
+          }
+          return segment;
+        } catch (Throwable e) {
+          throw new IllegalStateException("Cannot fill memory segment", e);
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,266 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Scope;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+/**
+ * Generates the {@link RandomParametersExtension.Randomize} parameters of the upcoming iterations
+ * of a {@link RandomizedTestExtension.RandomizedTest} in the background, when {@value
+ * RandomParametersExtension#PREFETCH_PROPERTY} is set.
+ *
+ * <p>Iteration seeds are drawn up front, so the seed of every parameter of a later iteration is
+ * known before it runs. While an iteration runs, the values of the next ones are generated from
+ * those seeds on a shared pool of virtual threads, or of daemon threads on JDKs without them. An
+ * iteration only uses a prefetched value if its resolved seed is the one the value was generated
+ * from, so replayed seeds and results match runs without prefetching. Values that are ready but
+ * not yet used are bounded by {@value RandomParametersExtension#PREFETCH_BYTES_PROPERTY}: each
+ * iteration reserves the size of the last prefetched one before it is generated, only one is in
+ * flight until that size is known, and values that still overrun the budget are dropped and
+ * generated when resolved. Unused values are discarded when the test closes, and only the values an
+ * iteration takes count towards the {@link ResolutionMetrics}.
+ */
+final class Prefetcher implements AutoCloseable {
+  private static final long DEFAULT_BYTES = 64L << 20;
+  private static final Executor EXECUTOR = executor("newVirtualThreadPerTaskExecutor");
+
+  private final ResolutionPlan[] plans;
+  private final Class<?>[] types;
+  private final long[] iterationSeeds;
+  private final int window;
+  private final long budget;
+  private final ResolutionMetrics.Recorder metrics;
+  private final Map<Integer, CompletableFuture<Values>> pending = new ConcurrentHashMap<>();
+  private final AtomicLong bytes = new AtomicLong();
+  private volatile long estimate = -1;
+  private int next;
+  private int scheduled;
+  private volatile boolean closed;
+
+  private Prefetcher(
+      ResolutionPlan[] plans,
+      Class<?>[] types,
+      long[] iterationSeeds,
+      int window,
+      long budget,
+      ResolutionMetrics.Recorder metrics) {
+    this.plans = plans;
+    this.types = types;
+    this.iterationSeeds = iterationSeeds;
+    this.window = window;
+    this.budget = budget;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Starts prefetching the iterations of the test template {@code context}, seeded with {@code
+   * iterationSeeds}, and returns the prefetcher, closed with {@code context}. Returns {@code null}
+   * if prefetching is disabled or no parameter can be prefetched.
+   */
+  static Prefetcher start(ExtensionContext context, long[] iterationSeeds) {
+    int window =
+        context
+            .getConfigurationParameter(
+                RandomParametersExtension.PREFETCH_PROPERTY, Integer::valueOf)
+            .orElse(0);
+    if (window <= 0) {
+      return null;
+    }
+    long budget =
+        context
+            .getConfigurationParameter(
+                RandomParametersExtension.PREFETCH_BYTES_PROPERTY, Long::valueOf)
+            .orElse(DEFAULT_BYTES);
+    Method method = context.getRequiredTestMethod();
+    ResolutionPlan[] plans;
+    try {
+      plans = RandomParametersExtension.getPlans(method, context).clone();
+    } catch (ParameterResolutionException e) {
+      return null;
+    }
+    boolean prefetchable = false;
+    for (int i = 0; i < plans.length; i++) {
+      if (plans[i] != null && !isPrefetchable(plans[i], method.getParameterTypes()[i])) {
+        plans[i] = null;
+      }
+      prefetchable |= plans[i] != null;
+    }
+    if (!prefetchable) {
+      return null;
+    }
+    Prefetcher prefetcher =
+        new Prefetcher(
+            plans,
+            method.getParameterTypes(),
+            iterationSeeds,
+            window,
+            budget,
+            RandomParametersExtension.getMetrics(
+                RandomParametersExtension.getJournal(context), context));
+    context.getStore(RandomParametersExtension.NAMESPACE).put(Prefetcher.class, prefetcher);
+    prefetcher.schedule();
+    return prefetcher;
+  }
+
+  /**
+   * Rejects values that are shared, unique or need cleaning up after each invocation, which are
+   * generated when resolved.
+   */
+  private static boolean isPrefetchable(ResolutionPlan plan, Class<?> type) {
+    return plan.scope() == Scope.INVOCATION
+        && !(plan.generator() instanceof UniqueGenerators.Space)
+        && type != Path.class;
+  }
+
+  /**
+   * Hands the values of {@code iteration} to it, or {@code null} if they were not prefetched, and
+   * schedules the iterations after it.
+   */
+  Values claim(int iteration) {
+    CompletableFuture<Values> future = pending.remove(iteration);
+    Values values = null;
+    if (future != null) {
+      try {
+        values = future.join();
+      } catch (CompletionException e) {
+        // left to fail again when resolved; futures are only cancelled once removed by close
+        values = null;
+      }
+      if (values != null) {
+        bytes.addAndGet(-values.bytes());
+      }
+    }
+    synchronized (this) {
+      next = Math.max(next, iteration + 1);
+      schedule();
+    }
+    return values;
+  }
+
+  /**
+   * Schedules the iterations within the window after the last claimed one, while their estimated
+   * size fits the budget.
+   */
+  private synchronized void schedule() {
+    scheduled = Math.max(scheduled, next);
+    int end = (int) Math.min(iterationSeeds.length, (long) next + window);
+    while (!closed && scheduled < end) {
+      long reserved = estimate;
+      if (reserved < 0 ? !pending.isEmpty() : bytes.get() + reserved > budget) {
+        return;
+      }
+      bytes.addAndGet(Math.max(reserved, 0));
+      int iteration = scheduled++;
+      pending.put(
+          iteration,
+          CompletableFuture.supplyAsync(
+              () -> generate(iterationSeeds[iteration], Math.max(reserved, 0)), EXECUTOR));
+    }
+  }
+
+  /**
+   * Generates the values of one iteration in place of the {@code reserved} bytes, or returns {@code
+   * null} if they overrun the budget.
+   */
+  private Values generate(long iterationSeed, long reserved) {
+    Object[] values = new Object[plans.length];
+    long[] seeds = new long[plans.length];
+    Runnable[] measured = metrics == null ? null : new Runnable[plans.length];
+    long size = 0;
+    for (int i = 0; i < plans.length && !closed; i++) {
+      if (plans[i] != null) {
+        seeds[i] =
+            plans[i].seed() != ResolutionPlan.UNSEEDED
+                ? plans[i].seed()
+                : Seeds.derive(iterationSeed, plans[i].executable(), i);
+        int index = i;
+        try {
+          values[i] =
+              RandomParametersExtension.generate(
+                  plans[i],
+                  seeds[i],
+                  types[i],
+                  measured == null
+                      ? null
+                      : (parameter, type, nanos, valueBytes, rejected) ->
+                          measured[index] =
+                              () -> metrics.record(parameter, type, nanos, valueBytes, rejected));
+        } catch (RuntimeException e) {
+          // left to fail again when resolved, on the test thread
+          values[i] = null;
+        }
+        size += ResolutionMetrics.sizeOf(values[i]);
+      }
+    }
+    estimate = size;
+    Values prefetched = new Values(values, seeds, measured, size);
+    if (bytes.addAndGet(size - reserved) > budget) {
+      bytes.addAndGet(-size);
+      prefetched = null;
+    }
+    // the reservation may have been larger, or this iteration was the one measuring the size
+    schedule();
+    return prefetched;
+  }
+
+  /** Stops scheduling and discards the values no iteration has claimed. */
+  @Override
+  public void close() {
+    closed = true;
+    pending.values().forEach(values -> values.cancel(false));
+    pending.clear();
+  }
+
+  /**
+   * Returns the executor of the {@link Executors} factory method {@code name}, or a pool of daemon
+   * threads if the running JDK does not have it.
+   */
+  static Executor executor(String name) {
+    try {
+      return (Executor) Executors.class.getMethod(name).invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(
+          Runtime.getRuntime().availableProcessors(),
+          runnable -> {
+            Thread thread = new Thread(runnable, "randomize-prefetch");
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+  }
+
+  /**
+   * The prefetched values of one iteration.
+   *
+   * @param values the value of each prefetched parameter, or {@code null}
+   * @param seeds the seed each value was generated from
+   * @param measured records the metrics of each value, or {@code null} without metrics
+   * @param bytes the approximate size of the values
+   */
+  record Values(Object[] values, long[] seeds, Runnable[] measured, long bytes) {
+    /**
+     * Returns the value of parameter {@code index} if it was prefetched from {@code seed}, recording
+     * its metrics, else {@code null}.
+     */
+    Object take(int index, long seed) {
+      if (index >= values.length || values[index] == null || seeds[index] != seed) {
+        return null;
+      }
+      Object value = values[index];
+      values[index] = null;
+      if (measured != null) {
+        measured[index].run();
+      }
+      return value;
+    }
+  }
+}
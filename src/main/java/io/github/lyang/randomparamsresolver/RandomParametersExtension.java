@@ -1,21 +1,39 @@
 package io.github.lyang.randomparamsresolver;
 
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Scope;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.io.InputStream;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.lang.reflect.Executable;
+import java.lang.reflect.Parameter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.Random;
-import java.util.Set;
-import java.util.StringJoiner;
-import java.util.function.BiFunction;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.logging.Logger;
 import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.LeapableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGenerator.StreamableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.jupiter.api.extension.ParameterResolver;
@@ -26,167 +44,589 @@ import org.junit.jupiter.api.extension.ParameterResolver;
  * @see RandomParametersExtension.Randomize
  */
 public class RandomParametersExtension implements ParameterResolver {
+  /**
+   * Configuration parameter for the default {@link RandomGeneratorFactory} algorithm of parameters
+   * that do not set {@link Randomize#algorithm()}.
+   */
+  public static final String ALGORITHM_PROPERTY = "randomize.algorithm";
+
+  /**
+   * Configuration parameter for the root seed of the run. Every unpinned parameter seed is derived
+   * from it, so setting it to a logged root seed replays the whole run. The default is drawn once
+   * from {@link System#nanoTime()} and logged.
+   */
+  public static final String SEED_PROPERTY = "randomize.seed";
+
+  /**
+   * Configuration parameter for the path of the seed journal. When set, the unique ID, parameter
+   * index, type and seed of every resolved parameter are appended to this file, which is flushed
+   * when the run ends.
+   */
+  public static final String JOURNAL_PROPERTY = "randomize.journal";
+
+  /**
+   * Configuration parameter for the path of a seed journal to replay. Parameters recorded in the
+   * journal reuse their recorded seeds, and its root seed is used unless {@value #SEED_PROPERTY}
+   * is set.
+   */
+  public static final String REPLAY_PROPERTY = "randomize.replay";
+
+  /**
+   * Configuration parameter to log the seed of every resolved parameter. The default is {@code
+   * false}.
+   */
+  public static final String LOG_SEEDS_PROPERTY = "randomize.log.seeds";
+
+  /**
+   * Configuration parameter to collect resolution metrics. When {@code true}, the count, time,
+   * approximate bytes and rejected samples of every parameter and type are published as report
+   * entries of each test class. The default is {@code false}. Independently, every resolution is
+   * emitted as a {@code io.github.lyang.randomparamsresolver.ParameterResolution} JDK Flight
+   * Recorder event when a recording enables it.
+   */
+  public static final String METRICS_PROPERTY = "randomize.metrics";
+
+  /**
+   * Configuration parameter for the number of upcoming {@link RandomizedTestExtension.RandomizedTest}
+   * iterations whose parameters are generated in the background while the current one runs. The
+   * values are generated from the same seeds, so results do not change. The default is {@code 0},
+   * which disables prefetching.
+   */
+  public static final String PREFETCH_PROPERTY = "randomize.prefetch";
+
+  /**
+   * Configuration parameter for the approximate bytes of prefetched values waiting for their
+   * iteration, per test. No more iterations are prefetched while it is exceeded. The default is
+   * 64 MiB.
+   */
+  public static final String PREFETCH_BYTES_PROPERTY = "randomize.prefetch.bytes";
+
+  static final String DEFAULT_ALGORITHM = "Random";
   private static final Logger LOGGER = Logger.getLogger(RandomParametersExtension.class.getName());
-  static final Map<Class<?>, BiFunction<ParameterContext, ExtensionContext, Object>> GENERATORS =
-      Map.ofEntries(
-          Map.entry(RandomGenerator.class, (pc, ec) -> getRandom(getAnnotation(pc), pc)),
-          Map.entry(byte.class, RandomParametersExtension::generateByte),
-          Map.entry(Byte.class, RandomParametersExtension::generateByte),
-          Map.entry(short.class, RandomParametersExtension::generateShort),
-          Map.entry(Short.class, RandomParametersExtension::generateShort),
-          Map.entry(char.class, RandomParametersExtension::generateChar),
-          Map.entry(Character.class, RandomParametersExtension::generateChar),
-          Map.entry(int.class, RandomParametersExtension::generateInt),
-          Map.entry(Integer.class, RandomParametersExtension::generateInt),
-          Map.entry(long.class, RandomParametersExtension::generateLong),
-          Map.entry(Long.class, RandomParametersExtension::generateLong),
-          Map.entry(float.class, RandomParametersExtension::generateFloat),
-          Map.entry(Float.class, RandomParametersExtension::generateFloat),
-          Map.entry(double.class, RandomParametersExtension::generateDouble),
-          Map.entry(Double.class, RandomParametersExtension::generateDouble),
-          Map.entry(BigInteger.class, RandomParametersExtension::generateBigInteger),
-          Map.entry(BigDecimal.class, RandomParametersExtension::generateBigDecimal),
-          Map.entry(byte[].class, RandomParametersExtension::generateBytes),
-          Map.entry(String.class, RandomParametersExtension::generateString));
-
-  private static Randomize getAnnotation(ParameterContext parameterContext) {
-    return parameterContext.getParameter().getAnnotation(Randomize.class);
-  }
-
-  private static RandomGenerator getRandom(
-      Randomize annotation, ParameterContext parameterContext) {
-    long seed = annotation.seed() == Long.MIN_VALUE ? System.nanoTime() : annotation.seed();
-    LOGGER.info(() -> String.format("Using seed %d for %s", seed, getContext(parameterContext)));
-    return new Random(seed);
-  }
-
-  private static String getContext(ParameterContext parameterContext) {
-    Executable executable = parameterContext.getParameter().getDeclaringExecutable();
-    return new StringJoiner("#")
-        .add(executable.getDeclaringClass().getSimpleName())
-        .add(executable.getName())
-        .add(parameterContext.getParameter().getName())
-        .toString();
-  }
-
-  private static int generateInt(
+  static final Namespace NAMESPACE = Namespace.create(RandomParametersExtension.class);
+  private static final Randomize DEFAULT_ANNOTATION = new GeneratedRandomize(Map.of());
+  static final Map<Class<?>, Function<Randomize, Generator>> GENERATORS =
+      PayloadGenerators.withMemorySegment(
+          Map.ofEntries(
+              Map.entry(RandomGenerator.class, annotation -> random -> random),
+              Map.entry(SplittableGenerator.class, annotation -> random -> random),
+              Map.entry(JumpableGenerator.class, annotation -> random -> random),
+              Map.entry(LeapableGenerator.class, annotation -> random -> random),
+              Map.entry(StreamableGenerator.class, annotation -> random -> random),
+              Map.entry(byte.class, RandomParametersExtension::byteGenerator),
+              Map.entry(Byte.class, RandomParametersExtension::byteGenerator),
+              Map.entry(short.class, RandomParametersExtension::shortGenerator),
+              Map.entry(Short.class, RandomParametersExtension::shortGenerator),
+              Map.entry(char.class, RandomParametersExtension::charGenerator),
+              Map.entry(Character.class, RandomParametersExtension::charGenerator),
+              Map.entry(int.class, RandomParametersExtension::intGenerator),
+              Map.entry(Integer.class, RandomParametersExtension::intGenerator),
+              Map.entry(long.class, RandomParametersExtension::longGenerator),
+              Map.entry(Long.class, RandomParametersExtension::longGenerator),
+              Map.entry(float.class, RandomParametersExtension::floatGenerator),
+              Map.entry(Float.class, RandomParametersExtension::floatGenerator),
+              Map.entry(double.class, RandomParametersExtension::doubleGenerator),
+              Map.entry(Double.class, RandomParametersExtension::doubleGenerator),
+              Map.entry(BigInteger.class, BigNumberGenerators::bigInteger),
+              Map.entry(BigDecimal.class, BigNumberGenerators::bigDecimal),
+              Map.entry(byte[].class, RandomParametersExtension::bytesGenerator),
+              Map.entry(short[].class, BulkGenerators::shorts),
+              Map.entry(char[].class, BulkGenerators::chars),
+              Map.entry(int[].class, BulkGenerators::ints),
+              Map.entry(long[].class, BulkGenerators::longs),
+              Map.entry(float[].class, BulkGenerators::floats),
+              Map.entry(double[].class, BulkGenerators::doubles),
+              Map.entry(ByteBuffer.class, PayloadGenerators::byteBuffer),
+              Map.entry(Path.class, PayloadGenerators::path),
+              Map.entry(InputStream.class, RandomStreams::inputStream),
+              Map.entry(ReadableByteChannel.class, RandomStreams::channel),
+              Map.entry(SeekableByteChannel.class, RandomStreams::channel),
+              Map.entry(IntStream.class, SourceGenerators::intStream),
+              Map.entry(LongStream.class, SourceGenerators::longStream),
+              Map.entry(DoubleStream.class, SourceGenerators::doubleStream),
+              Map.entry(IntSupplier.class, SourceGenerators::intSupplier),
+              Map.entry(LongSupplier.class, SourceGenerators::longSupplier),
+              Map.entry(DoubleSupplier.class, SourceGenerators::doubleSupplier),
+              Map.entry(String.class, RandomParametersExtension::stringGenerator)));
+
+  private static ResolutionPlan getPlan(
       ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    return random.nextInt(annotation.intMin(), annotation.intMax());
+    return getPlans(parameterContext.getParameter().getDeclaringExecutable(), extensionContext)[
+        parameterContext.getIndex()];
   }
 
-  private static long generateLong(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    return random.nextLong(annotation.longMin(), annotation.longMax());
+  /**
+   * Returns the plan of each parameter of {@code executable}, or {@code null} for unsupported
+   * parameters, compiling them once per run with the run's {@link SpecCache}.
+   */
+  static ResolutionPlan[] getPlans(Executable executable, ExtensionContext extensionContext) {
+    ExtensionContext.Store store = extensionContext.getRoot().getStore(NAMESPACE);
+    ResolutionPlan[] plans = store.get(executable, ResolutionPlan[].class);
+    if (plans != null) {
+      return plans;
+    }
+    SpecCache cache =
+        store.computeIfAbsent(SpecCache.class, key -> new SpecCache(), SpecCache.class);
+    return store.computeIfAbsent(
+        executable, e -> cache.bind(() -> compile(e, extensionContext)), ResolutionPlan[].class);
   }
 
-  private static byte generateByte(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    return (byte) random.nextInt(annotation.byteMin(), annotation.byteMax());
+  private static ResolutionPlan[] compile(
+      Executable executable, ExtensionContext extensionContext) {
+    String algorithm =
+        extensionContext.getConfigurationParameter(ALGORITHM_PROPERTY).orElse(DEFAULT_ALGORITHM);
+    Parameter[] parameters = executable.getParameters();
+    Randomize[] annotations = GeneratedRandomize.annotations(executable);
+    Class<?>[] generators = annotations != null ? GeneratedRandomize.generators(executable) : null;
+    ResolutionPlan[] plans = new ResolutionPlan[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      Randomize annotation =
+          annotations != null ? annotations[i] : parameters[i].getAnnotation(Randomize.class);
+      Class<?> with = generators != null ? generators[i] : getGenerator(parameters[i]);
+      if (annotation == null && with != null) {
+        annotation = DEFAULT_ANNOTATION;
+      }
+      Function<Randomize, Generator> factory =
+          annotation == null
+              ? null
+              : with != null
+                  ? CustomGenerators.named(with, parameters[i].getParameterizedType())
+                  : getFactory(parameters[i]);
+      if (factory != null) {
+        plans[i] = ResolutionPlan.of(parameters[i], annotation, factory, algorithm);
+      }
+    }
+    return plans;
   }
 
-  private static short generateShort(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    return (short) random.nextInt(annotation.shortMin(), annotation.shortMax());
+  private static Class<?> getGenerator(Parameter parameter) {
+    RandomizeWith with = parameter.getAnnotation(RandomizeWith.class);
+    return with != null ? with.value() : null;
   }
 
-  private static char generateChar(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    return (char) random.nextInt(annotation.charMin(), annotation.charMax());
+  private static Function<Randomize, Generator> getFactory(Parameter parameter) {
+    Function<Randomize, Generator> factory = GENERATORS.get(parameter.getType());
+    if (factory == null) {
+      factory =
+          BulkGenerators.collection(
+              parameter.getParameterizedType(), ObjectGenerators.elements(GENERATORS));
+    }
+    if (factory == null) {
+      factory =
+          SourceGenerators.source(
+              parameter.getParameterizedType(), ObjectGenerators.elements(GENERATORS));
+    }
+    if (factory == null) {
+      factory = CustomGenerators.discovered(parameter.getParameterizedType());
+    }
+    return factory != null ? factory : ObjectGenerators.object(parameter.getType(), GENERATORS);
   }
 
-  private static float generateFloat(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    if (!Float.isFinite(annotation.floatMax() - annotation.floatMin())) {
-      return random.nextFloat();
+  static SeedJournal getJournal(ExtensionContext extensionContext) {
+    ExtensionContext root = extensionContext.getRoot();
+    return root.getStore(NAMESPACE)
+        .computeIfAbsent(SeedJournal.class, key -> openJournal(root), SeedJournal.class);
+  }
+
+  private static SeedJournal openJournal(ExtensionContext root) {
+    Optional<Path> replay = root.getConfigurationParameter(REPLAY_PROPERTY, Path::of);
+    long seed =
+        root.getConfigurationParameter(SEED_PROPERTY, Long::valueOf)
+            .or(() -> replay.flatMap(SeedJournal::readRootSeed))
+            .orElseGet(System::nanoTime);
+    LOGGER.info(
+        () -> String.format("Using root seed %d, replay with -D%s=%d", seed, SEED_PROPERTY, seed));
+    Map<String, Long> seeds = replay.map(SeedJournal::readSeeds).orElse(Map.of());
+    return new SeedJournal(
+        seed,
+        root.getConfigurationParameter(LOG_SEEDS_PROPERTY, Boolean::parseBoolean).orElse(false),
+        root.getConfigurationParameter(METRICS_PROPERTY, Boolean::parseBoolean).orElse(false),
+        root.getConfigurationParameter(JOURNAL_PROPERTY, Path::of)
+            .map(SeedJournal::open)
+            .orElse(null),
+        seeds);
+  }
+
+  private static long getSeed(
+      ResolutionPlan plan,
+      SeedJournal journal,
+      ParameterContext parameterContext,
+      ExtensionContext extensionContext) {
+    String uniqueId = extensionContext.getUniqueId();
+    int index = parameterContext.getIndex();
+    Long iterationSeed =
+        extensionContext.getStore(NAMESPACE).get(RandomizedTestExtension.class, Long.class);
+    long seed;
+    if (plan.seed() != ResolutionPlan.UNSEEDED) {
+      seed = plan.seed();
+    } else if (iterationSeed != null) {
+      seed = journal.seed(uniqueId, plan.executable(), index, iterationSeed);
+    } else {
+      seed = journal.seed(uniqueId, plan.executable(), index);
+    }
+    journal.record(
+        uniqueId, plan.executable(), index, parameterContext.getParameter().getType(), seed);
+    if (journal.logSeeds()) {
+      LOGGER.info(() -> String.format("Using seed %d for %s", seed, plan.context()));
     }
-    return random.nextFloat(annotation.floatMin(), annotation.floatMax());
+    return seed;
   }
 
-  private static double generateDouble(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    if (!Double.isFinite(annotation.doubleMax() - annotation.doubleMin())) {
-      return random.nextDouble();
+  /**
+   * Returns the metrics of the test class or other container the test runs in, or {@code null} if
+   * {@value #METRICS_PROPERTY} is not set for the run of {@code journal}. The metrics are keyed by
+   * the container's unique ID so that nested classes do not share the metrics of their enclosing
+   * class.
+   */
+  static ResolutionMetrics.Recorder getMetrics(
+      SeedJournal journal, ExtensionContext extensionContext) {
+    if (!journal.metrics()) {
+      return null;
     }
-    return random.nextDouble(annotation.doubleMin(), annotation.doubleMax());
+    ExtensionContext container = getScope(Scope.CLASS, extensionContext);
+    ResolutionMetrics metrics =
+        container
+            .getStore(NAMESPACE)
+            .computeIfAbsent(
+                container.getUniqueId(),
+                key -> new ResolutionMetrics(container),
+                ResolutionMetrics.class);
+    return metrics::record;
   }
 
-  private static BigInteger generateBigInteger(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    return BigInteger.valueOf(generateLong(parameterContext, extensionContext));
+  /**
+   * Returns the context that {@code scope} shares values in: the test method, the test class or
+   * other container, or the engine. Constructor and {@code @BeforeAll} parameters resolved in a
+   * class context use that class context for {@link Scope#METHOD}, as for any narrower scope.
+   */
+  private static ExtensionContext getScope(Scope scope, ExtensionContext extensionContext) {
+    ExtensionContext context = extensionContext;
+    switch (scope) {
+      case ENGINE -> context = extensionContext.getRoot();
+      case CLASS -> {
+        while (context.getTestMethod().isPresent()) {
+          context = context.getParent().orElseThrow();
+        }
+      }
+      default -> {
+        while (context.getParent().flatMap(ExtensionContext::getTestMethod).isPresent()) {
+          context = context.getParent().get();
+        }
+      }
+    }
+    return context;
   }
 
-  private static BigDecimal generateBigDecimal(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    return BigDecimal.valueOf(generateDouble(parameterContext, extensionContext));
+  /**
+   * Returns the value shared by {@code plan}'s scope, generating it on first use. The value is
+   * keyed by the plan's spec and seed, so identical parameters resolved in the scope reuse it.
+   */
+  private static Object getShared(
+      ResolutionPlan plan, ParameterContext parameterContext, ExtensionContext extensionContext) {
+    ExtensionContext scope = getScope(plan.scope(), extensionContext);
+    long seed = getSharedSeed(plan, plan.scope(), scope);
+    Object value =
+        scope
+            .getStore(NAMESPACE)
+            .computeIfAbsent(
+                new SharedValue(plan.spec(), seed),
+                key -> {
+                  Object generated =
+                      generate(
+                          plan,
+                          seed,
+                          parameterContext.getParameter().getType(),
+                          getMetrics(getJournal(scope), extensionContext));
+                  return generated instanceof Path path
+                      ? new PayloadGenerators.TemporaryFile(path)
+                      : generated;
+                },
+                Object.class);
+    if (value instanceof PayloadGenerators.TemporaryFile file) {
+      return file.path();
+    }
+    return value instanceof ByteBuffer buffer ? buffer.duplicate() : value;
   }
 
-  private static byte[] generateBytes(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    byte[] bytes = new byte[annotation.length()];
-    random.nextBytes(bytes);
-    return bytes;
+  /**
+   * Returns the next value of the {@link Randomize#unique()} sequence of {@code plan}'s scope, or
+   * of the test method for {@link Scope#INVOCATION}, starting it on first use. Like a shared value,
+   * the sequence is keyed by the plan's spec and seed.
+   *
+   * <p>A value depends on its position in the sequence rather than on the seed of the invocation,
+   * so a {@link RandomizedTestExtension.RandomizedTest} iteration replayed from its reported seed
+   * could not draw it again. Such parameters are rejected in iterations.
+   */
+  private static Object getUnique(
+      ResolutionPlan plan, UniqueGenerators.Space space, ExtensionContext extensionContext) {
+    if (extensionContext.getStore(NAMESPACE).get(RandomizedTestExtension.class, Long.class)
+        != null) {
+      throw new ParameterResolutionException(
+          String.format(
+              "Cannot resolve %s: unique values are drawn in sequence, so @RandomizedTest"
+                  + " iterations cannot replay them from their seed",
+              plan.context()));
+    }
+    Scope shared = plan.scope() == Scope.INVOCATION ? Scope.METHOD : plan.scope();
+    ExtensionContext scope = getScope(shared, extensionContext);
+    long seed = getSharedSeed(plan, shared, scope);
+    UniqueGenerators.Sequence sequence =
+        scope
+            .getStore(NAMESPACE)
+            .computeIfAbsent(
+                new SharedValue(plan.spec(), seed),
+                key -> new UniqueGenerators.Sequence(space, seed),
+                UniqueGenerators.Sequence.class);
+    try {
+      return sequence.next();
+    } catch (NoSuchElementException e) {
+      throw new ParameterResolutionException(
+          String.format("Cannot resolve %s: %s", plan.context(), e.getMessage()), e);
+    }
   }
 
-  private static String generateString(
-      ParameterContext parameterContext, ExtensionContext extensionContext) {
-    Randomize annotation = getAnnotation(parameterContext);
-    RandomGenerator random = getRandom(annotation, parameterContext);
-    Set<String> blocks = Set.of(annotation.unicodeBlocks());
-    StringBuilder builder = new StringBuilder(annotation.length());
-    random
-        .ints(Character.MIN_CODE_POINT, Character.MAX_CODE_POINT)
-        .filter(codepoint -> validCodePoint(codepoint, blocks))
-        .limit(annotation.length())
-        .forEach(builder::appendCodePoint);
-    return builder.toString();
+  /** Returns the seed of a value or sequence shared by {@code scope}, logging it if enabled. */
+  private static long getSharedSeed(ResolutionPlan plan, Scope shared, ExtensionContext scope) {
+    SeedJournal journal = getJournal(scope);
+    long seed =
+        plan.seed() != ResolutionPlan.UNSEEDED
+            ? plan.seed()
+            : Seeds.derive(Seeds.derive(journal.rootSeed(), scope.getUniqueId()), plan.spec());
+    if (journal.logSeeds()) {
+      LOGGER.info(
+          () -> String.format("Using seed %d for %s shared by %s", seed, plan.context(), shared));
+    }
+    return seed;
   }
 
-  private static boolean validCodePoint(int codepoint, Set<String> blocks) {
-    return Optional.ofNullable(Character.UnicodeBlock.of(codepoint))
-        .map(Character.Subset::toString)
-        .filter(blocks::contains)
-        .isPresent();
+  private static Generator intGenerator(Randomize annotation) {
+    int min = annotation.intMin();
+    int max = annotation.intMax();
+    ResolutionPlan.requireLess("intMin", min, "intMax", max);
+    if (annotation.unique()) {
+      return UniqueGenerators.ints(min, max);
+    }
+    Distributions.LongSampler sampler = Distributions.longs(annotation, min, max);
+    if (sampler != null) {
+      return random -> (int) sampler.next(random);
+    }
+    return random -> random.nextInt(min, max);
+  }
+
+  private static Generator longGenerator(Randomize annotation) {
+    long min = annotation.longMin();
+    long max = annotation.longMax();
+    ResolutionPlan.requireLess("longMin", min, "longMax", max);
+    if (annotation.unique()) {
+      return UniqueGenerators.longs(min, max);
+    }
+    Distributions.LongSampler sampler = Distributions.longs(annotation, min, max);
+    if (sampler != null) {
+      return sampler::next;
+    }
+    return random -> random.nextLong(min, max);
+  }
+
+  private static Generator byteGenerator(Randomize annotation) {
+    byte min = annotation.byteMin();
+    byte max = annotation.byteMax();
+    ResolutionPlan.requireLess("byteMin", min, "byteMax", max);
+    return random -> (byte) random.nextInt(min, max);
+  }
+
+  private static Generator shortGenerator(Randomize annotation) {
+    short min = annotation.shortMin();
+    short max = annotation.shortMax();
+    ResolutionPlan.requireLess("shortMin", min, "shortMax", max);
+    return random -> (short) random.nextInt(min, max);
+  }
+
+  private static Generator charGenerator(Randomize annotation) {
+    char min = annotation.charMin();
+    char max = annotation.charMax();
+    ResolutionPlan.requireLess("charMin", min, "charMax", max);
+    return random -> (char) random.nextInt(min, max);
+  }
+
+  private static Generator floatGenerator(Randomize annotation) {
+    float min = annotation.floatMin();
+    float max = annotation.floatMax();
+    ResolutionPlan.requireLess("floatMin", min, "floatMax", max);
+    Distributions.DoubleSampler sampler = Distributions.doubles(annotation, min, max);
+    if (sampler != null) {
+      return random -> Math.min((float) sampler.next(random), Math.nextDown(max));
+    }
+    if (!Float.isFinite(max - min)) {
+      return RandomGenerator::nextFloat;
+    }
+    return random -> random.nextFloat(min, max);
+  }
+
+  private static Generator doubleGenerator(Randomize annotation) {
+    double min = annotation.doubleMin();
+    double max = annotation.doubleMax();
+    ResolutionPlan.requireLess("doubleMin", min, "doubleMax", max);
+    Distributions.DoubleSampler sampler = Distributions.doubles(annotation, min, max);
+    if (sampler != null) {
+      return sampler::next;
+    }
+    if (!Double.isFinite(max - min)) {
+      return RandomGenerator::nextDouble;
+    }
+    return random -> random.nextDouble(min, max);
+  }
+
+  private static Generator bytesGenerator(Randomize annotation) {
+    int length = annotation.length();
+    ResolutionPlan.requireNonNegative("length", length);
+    if (!annotation.alphabet().isEmpty()) {
+      Alphabet alphabet = Alphabet.of(annotation.alphabet());
+      if (!alphabet.isLatin1()) {
+        throw new IllegalArgumentException(
+            "alphabet for byte[] must only contain Latin-1 characters");
+      }
+      return random -> {
+        byte[] bytes = new byte[length];
+        BulkGenerators.fill(random, length, (r, from, to) -> alphabet.fill(r, bytes, from, to));
+        return bytes;
+      };
+    }
+    return random -> {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      return bytes;
+    };
+  }
+
+  private static Generator stringGenerator(Randomize annotation) {
+    int length = annotation.length();
+    ResolutionPlan.requireNonNegative("length", length);
+    if (!annotation.pattern().isEmpty()) {
+      if (annotation.unique()) {
+        throw new IllegalArgumentException("unique cannot be combined with pattern");
+      }
+      if (!annotation.alphabet().isEmpty()) {
+        throw new IllegalArgumentException("alphabet cannot be combined with pattern");
+      }
+      PatternAutomaton automaton = PatternAutomaton.cached(annotation.pattern());
+      return automaton::generate;
+    }
+    if (!annotation.alphabet().isEmpty()) {
+      Alphabet alphabet = Alphabet.of(annotation.alphabet());
+      if (annotation.unique()) {
+        return UniqueGenerators.strings(alphabet.sampler(), length);
+      }
+      return random -> alphabet.string(random, length);
+    }
+    CodePointSampler alphabet = CodePointSampler.of(annotation.unicodeBlocks());
+    if (annotation.unique()) {
+      return UniqueGenerators.strings(alphabet, length);
+    }
+    return random -> {
+      StringBuilder builder = new StringBuilder(length);
+      for (int i = 0; i < length; i++) {
+        builder.appendCodePoint(alphabet.next(random));
+      }
+      return builder.toString();
+    };
   }
 
   @Override
   public boolean supportsParameter(
       ParameterContext parameterContext, ExtensionContext extensionContext)
       throws ParameterResolutionException {
-    return parameterContext.isAnnotated(Randomize.class)
-        && GENERATORS.containsKey(parameterContext.getParameter().getType());
+    return getPlan(parameterContext, extensionContext) != null;
   }
 
   @Override
   public Object resolveParameter(
       ParameterContext parameterContext, ExtensionContext extensionContext)
       throws ParameterResolutionException {
-    return GENERATORS
-        .get(parameterContext.getParameter().getType())
-        .apply(parameterContext, extensionContext);
+    ResolutionPlan plan = getPlan(parameterContext, extensionContext);
+    if (plan.generator() instanceof UniqueGenerators.Space space) {
+      return getUnique(plan, space, extensionContext);
+    }
+    if (plan.scope() != Scope.INVOCATION) {
+      return getShared(plan, parameterContext, extensionContext);
+    }
+    SeedJournal journal = getJournal(extensionContext);
+    long seed = getSeed(plan, journal, parameterContext, extensionContext);
+    Prefetcher.Values prefetched =
+        extensionContext.getStore(NAMESPACE).get(Prefetcher.Values.class, Prefetcher.Values.class);
+    Object value = prefetched == null ? null : prefetched.take(parameterContext.getIndex(), seed);
+    if (value == null) {
+      value =
+          generate(
+              plan,
+              seed,
+              parameterContext.getParameter().getType(),
+              getMetrics(journal, extensionContext));
+    }
+    if (value instanceof Path path) {
+      extensionContext.getStore(NAMESPACE).put(path, new PayloadGenerators.TemporaryFile(path));
+    }
+    return value;
+  }
+
+  /**
+   * Generates a {@code type} value for {@code plan} from {@code seed}, measuring it if {@code
+   * metrics} is given or the {@link ResolutionEvent} is recorded.
+   */
+  static Object generate(
+      ResolutionPlan plan, long seed, Class<?> type, ResolutionMetrics.Recorder metrics) {
+    RandomGenerator random = plan.algorithm().create(seed);
+    if (metrics == null && !ResolutionEvent.isRecorded()) {
+      return plan.generator().generate(random);
+    }
+    ResolutionEvent event = new ResolutionEvent();
+    event.begin();
+    ResolutionMetrics.begin();
+    long start = System.nanoTime();
+    Object value;
+    long rejected;
+    try {
+      value = plan.generator().generate(random);
+    } finally {
+      event.end();
+      rejected = ResolutionMetrics.end();
+    }
+    long nanos = System.nanoTime() - start;
+    long bytes = ResolutionMetrics.sizeOf(value);
+    if (metrics != null) {
+      metrics.record(plan.context(), type, nanos, bytes, rejected);
+    }
+    if (event.shouldCommit()) {
+      event.parameter = plan.context();
+      event.type = type;
+      event.seed = seed;
+      event.bytes = bytes;
+      event.rejected = rejected;
+      event.commit();
+    }
+    return value;
   }
 
+  /** The key of a shared value in its scope's store. */
+  private record SharedValue(String spec, long seed) {}
+
   /**
    * Annotation to generate random values for parameters. The supported parameter types are {@link
-   * RandomGenerator}, {@link Byte}, {@link Short}, {@link Character}, {@link Integer}, {@link
-   * Long}, {@link Float}, {@link Double}, {@link BigInteger}, {@link BigDecimal}, {@link String},
-   * {@code byte}, {@code short}, {@code char}, {@code int}, {@code long}, {@code float}, {@code
-   * double} and {@code byte[]}.
+   * RandomGenerator} and its {@link SplittableGenerator}, {@link JumpableGenerator}, {@link
+   * LeapableGenerator} and {@link StreamableGenerator} subtypes, {@link Byte}, {@link Short},
+   * {@link Character}, {@link Integer}, {@link Long}, {@link Float}, {@link Double}, {@link
+   * BigInteger}, {@link BigDecimal}, {@link String}, {@code byte}, {@code short}, {@code char},
+   * {@code int}, {@code long}, {@code float}, {@code double}, arrays of these primitives, {@link
+   * ByteBuffer}, {@code java.lang.foreign.MemorySegment} on JDKs that provide it, {@link Path} to a
+   * temporary file deleted after the test, lazily generated {@link InputStream}, {@link
+   * ReadableByteChannel} and {@link SeekableByteChannel}, and {@link java.util.List}, {@link
+   * java.util.Set} and {@link java.util.Map} of the supported non-generator types. Endless {@link
+   * IntStream}, {@link LongStream} and {@link DoubleStream} sources, {@link IntSupplier}, {@link
+   * LongSupplier} and {@link DoubleSupplier}, and {@link java.util.function.Supplier} and {@link
+   * java.util.Iterator} of the supported non-generator types draw their values on demand. Enums
+   * resolve to one of their constants. Records and classes with a single non-private constructor
+   * are built from generated components, which use their own {@link Randomize} if present, else the
+   * enclosing one. Other types resolve through a {@link RandomValueGenerator} discovered with
+   * {@link java.util.ServiceLoader} or named with {@link RandomizeWith}.
    */
   @Retention(RetentionPolicy.RUNTIME)
   @Target(ElementType.PARAMETER)
@@ -197,10 +637,16 @@ public class RandomParametersExtension implements ParameterResolver {
     /** The maximum value for the generated integer. */
     int intMax() default Integer.MAX_VALUE;
 
-    /** The minimum value for the generated long. Also used for {@link BigInteger}. */
+    /**
+     * The minimum value for the generated long. Also used for {@link BigInteger} without other
+     * bounds.
+     */
     long longMin() default Long.MIN_VALUE;
 
-    /** The maximum value for the generated long. Also used for {@link BigInteger}. */
+    /**
+     * The maximum value for the generated long. Also used for {@link BigInteger} without other
+     * bounds.
+     */
     long longMax() default Long.MAX_VALUE;
 
     /** The minimum value for the generated byte. */
@@ -227,25 +673,222 @@ public class RandomParametersExtension implements ParameterResolver {
     /** The maximum value for the generated float. */
     float floatMax() default Float.MAX_VALUE;
 
-    /** The minimum value for the generated double. Also used for {@link BigDecimal}. */
+    /**
+     * The minimum value for the generated double. Also used for {@link BigDecimal} without other
+     * bounds.
+     */
     double doubleMin() default -Double.MAX_VALUE;
 
-    /** The maximum value for the generated double. Also used for {@link BigDecimal}. */
+    /**
+     * The maximum value for the generated double. Also used for {@link BigDecimal} without other
+     * bounds.
+     */
     double doubleMax() default Double.MAX_VALUE;
 
-    /** The length of the generated byte array or string. The default is {@code 5}. */
+    /**
+     * The inclusive minimum of a generated {@link BigInteger} or {@link BigDecimal}, as accepted by
+     * their string constructors. Must be set together with {@link #bigMax()}.
+     */
+    String bigMin() default "";
+
+    /** The exclusive maximum of a generated {@link BigInteger} or {@link BigDecimal}. */
+    String bigMax() default "";
+
+    /**
+     * Generates a {@link BigInteger} in {@code [0, 2^bitLength)}, or a {@link BigDecimal} with such
+     * an unscaled value. Cannot be combined with {@link #bigMin()} or {@link #precision()}.
+     */
+    int bitLength() default -1;
+
+    /**
+     * Generates a {@link BigInteger}, or the unscaled value of a {@link BigDecimal}, with at most
+     * this many decimal digits, like SQL {@code DECIMAL(precision, scale)}. Cannot be combined with
+     * {@link #bigMin()} or {@link #bitLength()}.
+     */
+    int precision() default -1;
+
+    /**
+     * The scale of a generated {@link BigDecimal}. The default is the larger scale of {@link
+     * #bigMin()} and {@link #bigMax()}, {@code 0} with {@link #bitLength()} or {@link
+     * #precision()}, and {@code 16} otherwise.
+     */
+    int scale() default Integer.MIN_VALUE;
+
+    /**
+     * The length of the generated string, array or collection. Collection elements such as strings
+     * take {@link #elementLength()} instead. The default is {@code 5}.
+     */
     int length() default 5;
 
     /**
-     * The seed for the random number generator. The default is {@link System#nanoTime()}. The seed
-     * value for each resolved parameter is logged for reproducibility.
+     * The length of each element of a generated {@link java.util.List}, {@link java.util.Set} or
+     * {@link java.util.Map}, such as its strings or arrays. The default is {@code 5}.
+     */
+    int elementLength() default 5;
+
+    /**
+     * The size in bytes of generated files, memory segments, streams and channels, for payloads
+     * beyond {@link #length()}. The default is {@link #length()}.
+     */
+    long size() default -1L;
+
+    /** Whether a generated {@link ByteBuffer} is direct. The default is {@code false}. */
+    boolean direct() default false;
+
+    /**
+     * Whether a generated stream or channel holds UTF-8 text of {@link #unicodeBlocks()} code points
+     * instead of arbitrary bytes. Text ends on a whole code point, so it may be up to 3 bytes
+     * shorter than {@link #size()}. The default is {@code false}.
+     */
+    boolean text() default false;
+
+    /**
+     * Whether generated values are distinct. A {@code int}, {@code long} or {@link String}
+     * parameter gets a different value in every invocation within its {@link #scope()}, where
+     * {@link Scope#INVOCATION} counts as {@link Scope#METHOD}, until every value within the bounds
+     * has been used. Arrays of {@code int} and {@code long}, {@link java.util.List} and {@link
+     * java.util.Set} of those types and the keys of a {@link java.util.Map} hold distinct elements,
+     * and {@link IntStream}, {@link LongStream}, {@link IntSupplier}, {@link LongSupplier}, {@link
+     * java.util.function.Supplier} and {@link java.util.Iterator} sources yield distinct values
+     * until they run out. Values are drawn from a seeded permutation of the bounds, so they need
+     * neither retries nor memory of earlier values. The default is {@code false}.
+     */
+    boolean unique() default false;
+
+    /**
+     * The distribution of generated {@code int}, {@code long}, {@code float} and {@code double}
+     * values, of the elements of their arrays, collections and sources, and of enum constants by
+     * declaration order. Values stay within their bounds. The default is {@link
+     * Distribution#UNIFORM}.
+     */
+    Distribution distribution() default Distribution.UNIFORM;
+
+    /**
+     * The exponent {@code s} of {@link Distribution#ZIPF}, where the value at rank {@code k} is
+     * drawn with a probability proportional to {@code 1 / k^s}. The default is {@code 1}.
+     */
+    double exponent() default 1;
+
+    /**
+     * The relative weights of {@link Distribution#WEIGHTED}, one per constant of an enum, or per
+     * equal slice of the bounds of a number, in order.
+     */
+    double[] weights() default {};
+
+    /**
+     * How long a generated value is shared. The default, {@link Scope#INVOCATION}, generates a new
+     * value for every parameter.
+     */
+    Scope scope() default Scope.INVOCATION;
+
+    /**
+     * The seed for the random number generator. The default is derived from the root seed of the
+     * run (see {@link RandomParametersExtension#SEED_PROPERTY}), the test's unique ID and the
+     * parameter index. The seed of each resolved parameter can be recorded in a journal (see {@link
+     * RandomParametersExtension#JOURNAL_PROPERTY}) or logged (see {@link
+     * RandomParametersExtension#LOG_SEEDS_PROPERTY}) for reproducibility.
      */
     long seed() default Long.MIN_VALUE;
 
     /**
-     * The Unicode blocks to use for generating random strings. The default is {@link
+     * The {@link RandomGeneratorFactory} algorithm for the random number generator, such as {@code
+     * L64X128MixRandom}, {@code Xoshiro256PlusPlus} or {@code SplittableRandom}. The default is the
+     * {@value RandomParametersExtension#ALGORITHM_PROPERTY} configuration parameter, or {@code
+     * Random} if it is not set. Resolving a {@link SplittableGenerator} or {@link
+     * JumpableGenerator} requires an algorithm that supports it, and gives each thread a cheap,
+     * reproducible substream through {@link SplittableGenerator#split()} or {@link
+     * JumpableGenerator#jump()}.
+     */
+    String algorithm() default "";
+
+    /**
+     * The Unicode blocks to use for generating random strings and text. The default is {@link
      * Character.UnicodeBlock#BASIC_LATIN}.
      */
     String[] unicodeBlocks() default {"BASIC_LATIN"};
+
+    /**
+     * The characters to generate strings, {@code char} arrays and {@code byte} arrays from, such as
+     * {@code "0123456789abcdef"}, instead of {@link #unicodeBlocks()} or the {@code char} and
+     * {@code byte} bounds. Characters must not repeat, must not be supplementary for {@code char}
+     * arrays and must be Latin-1 for {@code byte} arrays. Latin-1 alphabets take the fastest path.
+     */
+    String alphabet() default "";
+
+    /**
+     * A regular expression that generated strings match, instead of {@link #length()} code points
+     * of {@link #unicodeBlocks()}. It supports literals, escapes, {@code .}, character classes,
+     * {@code \d \w \s}, groups, alternation, quantifiers and anchors at the ends, but not
+     * backreferences, lookaround or flags. {@code .} and negated classes draw printable ASCII.
+     * Unbounded quantifiers repeat a random, usually small, number of times. Cannot be combined
+     * with {@link #unique()}.
+     */
+    String pattern() default "";
+
+    /**
+     * How long a generated value is shared. A shared value is generated once per scope and reused
+     * by every parameter of the same type and {@link Randomize} attributes resolved within it,
+     * including constructor and {@code @BeforeAll} parameters. Its seed is derived from the root
+     * seed of the run, the scope's unique ID and those attributes, unless {@link #seed()} is set. A
+     * shared {@link Path} is deleted and a shared {@link AutoCloseable} is closed when the scope
+     * ends, and each parameter gets its own view of a shared {@link ByteBuffer}. Other shared
+     * values, such as arrays, must not be modified. Generators, streams and channels cannot be
+     * shared.
+     */
+    enum Scope {
+      /** A new value for every parameter. */
+      INVOCATION,
+      /**
+       * One value per test method, shared by all invocations of a {@code @RepeatedTest}, {@code
+       * ParameterizedTest} or {@link RandomizedTestExtension.RandomizedTest}.
+       */
+      METHOD,
+      /** One value per test class, shared by its constructor, lifecycle methods and tests. */
+      CLASS,
+      /** One value for the whole run. */
+      ENGINE
+    }
+
+    /**
+     * How generated values are spread within their bounds. Discrete distributions are drawn from
+     * alias tables built once per distinct range or weights, so each value takes constant time.
+     */
+    enum Distribution {
+      /** Every value is equally likely. */
+      UNIFORM,
+      /**
+       * A normal distribution centred on the middle of the bounds, with a standard deviation of a
+       * sixth of their span, redrawn when outside them.
+       */
+      GAUSSIAN,
+      /**
+       * An exponential distribution decaying from the minimum, with a mean of an eighth of the
+       * span of the bounds, truncated at the maximum.
+       */
+      EXPONENTIAL,
+      /**
+       * A Zipf distribution of {@link #exponent()} over the integers in the bounds, ranked from the
+       * minimum, for skewed hot keys. The bounds may span at most {@value
+       * Distributions#MAX_TABLE_SIZE} values.
+       */
+      ZIPF,
+      /** Draws each enum constant or slice of the bounds with the probability of its {@link #weights()}. */
+      WEIGHTED
+    }
+  }
+
+  /**
+   * Annotation to generate a parameter with a {@link RandomValueGenerator}, instead of the built-in
+   * or discovered generators of its type. The generator receives the {@link Randomize} of the
+   * parameter, or the defaults of its attributes if the parameter has none.
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.PARAMETER)
+  public @interface RandomizeWith {
+    /**
+     * The generator, created once per run with its no-argument constructor. It must generate the
+     * parameter type, including its type arguments.
+     */
+    Class<? extends RandomValueGenerator<?>> value();
   }
 }
@@ -0,0 +1,294 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Generators for {@link InputStream}s and {@link SeekableByteChannel}s that produce their bytes on
+ * demand in {@link #BLOCK_SIZE} blocks, so memory use stays constant however large the stream is.
+ *
+ * <p>Each stream only keeps the seed it was resolved with. Binary blocks are drawn from a seed
+ * derived from the stream seed and the block index, so seeking to any offset costs one block. Text
+ * is a single sequence of UTF-8 encoded code points, so seeking backwards restarts it from the seed.
+ * Either way, re-reading an offset yields the same bytes.
+ */
+final class RandomStreams {
+  static final int BLOCK_SIZE = 1 << 16;
+
+  private RandomStreams() {}
+
+  static Generator inputStream(Randomize annotation) {
+    Generator channel = channel(annotation);
+    return random -> new ChannelInputStream((RandomChannel) channel.generate(random));
+  }
+
+  static Generator channel(Randomize annotation) {
+    long size = PayloadGenerators.size(annotation);
+    if (!annotation.text()) {
+      return random -> new BinaryChannel(size, random.nextLong());
+    }
+    for (String name : annotation.unicodeBlocks()) {
+      Character.UnicodeBlock block = Character.UnicodeBlock.forName(name);
+      if (block == Character.UnicodeBlock.HIGH_SURROGATES
+          || block == Character.UnicodeBlock.HIGH_PRIVATE_USE_SURROGATES
+          || block == Character.UnicodeBlock.LOW_SURROGATES) {
+        throw new IllegalArgumentException(
+            String.format("text cannot encode the lone surrogates of unicodeBlocks %s", name));
+      }
+    }
+    CodePointSampler alphabet = CodePointSampler.of(annotation.unicodeBlocks());
+    return random -> new TextChannel(size, random.nextLong(), alphabet);
+  }
+
+  /** A read-only channel over a lazily generated stream of at most {@code size} bytes. */
+  abstract static class RandomChannel implements SeekableByteChannel {
+    final long size;
+    final long seed;
+    final byte[] block = new byte[BLOCK_SIZE];
+    long blockStart;
+    int blockLength;
+    private long position;
+    private boolean open = true;
+
+    RandomChannel(long size, long seed) {
+      this.size = size;
+      this.seed = seed;
+    }
+
+    /**
+     * Loads the block containing {@code offset}, returning {@code false} if it is past the end of
+     * the stream.
+     */
+    abstract boolean load(long offset);
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      requireOpen();
+      int read = 0;
+      while (dst.hasRemaining()) {
+        if ((position < blockStart || position >= blockStart + blockLength) && !load(position)) {
+          break;
+        }
+        int offset = (int) (position - blockStart);
+        int length = Math.min(blockLength - offset, dst.remaining());
+        dst.put(block, offset, length);
+        position += length;
+        read += length;
+      }
+      return read == 0 && dst.hasRemaining() ? -1 : read;
+    }
+
+    /** Reads the byte at the position straight from its block, or returns {@code -1} at the end. */
+    int read() throws IOException {
+      requireOpen();
+      if ((position < blockStart || position >= blockStart + blockLength) && !load(position)) {
+        return -1;
+      }
+      return block[(int) (position++ - blockStart)] & 0xff;
+    }
+
+    @Override
+    public long position() throws IOException {
+      requireOpen();
+      return position;
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+      requireOpen();
+      ResolutionPlan.requireNonNegative("position", newPosition);
+      position = newPosition;
+      return this;
+    }
+
+    /** The configured size, an upper bound for text that ends on a whole code point. */
+    @Override
+    public long size() throws IOException {
+      requireOpen();
+      return size;
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+      throw new NonWritableChannelException();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+      throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+
+    private void requireOpen() throws ClosedChannelException {
+      if (!open) {
+        throw new ClosedChannelException();
+      }
+    }
+  }
+
+  /** Uniformly random bytes, each block drawn from its own derived seed. */
+  private static final class BinaryChannel extends RandomChannel {
+    BinaryChannel(long size, long seed) {
+      super(size, seed);
+    }
+
+    @Override
+    boolean load(long offset) {
+      if (offset >= size) {
+        return false;
+      }
+      long index = offset / BLOCK_SIZE;
+      new SplittableRandom(Seeds.mix(seed + index)).nextBytes(block);
+      blockStart = index * BLOCK_SIZE;
+      blockLength = (int) Math.min(BLOCK_SIZE, size - blockStart);
+      return true;
+    }
+  }
+
+  /**
+   * UTF-8 text of code points drawn from an alphabet. Blocks hold whole code points, and the stream
+   * ends before the first code point that does not fit in {@code size} bytes.
+   */
+  private static final class TextChannel extends RandomChannel {
+    private final CodePointSampler alphabet;
+    private SplittableRandom random;
+    private long next;
+    private int pending;
+
+    TextChannel(long size, long seed, CodePointSampler alphabet) {
+      super(size, seed);
+      this.alphabet = alphabet;
+      restart();
+    }
+
+    private void restart() {
+      random = new SplittableRandom(seed);
+      next = 0;
+      pending = -1;
+      blockStart = 0;
+      blockLength = 0;
+    }
+
+    @Override
+    boolean load(long offset) {
+      if (offset < blockStart) {
+        restart();
+      }
+      while (offset >= blockStart + blockLength) {
+        if (!nextBlock()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean nextBlock() {
+      int limit = (int) Math.min(BLOCK_SIZE, size - next);
+      int length = 0;
+      while (true) {
+        if (pending < 0) {
+          pending = alphabet.next(random);
+        }
+        int width = width(pending);
+        if (length + width > limit) {
+          break;
+        }
+        encode(pending, width, length);
+        length += width;
+        pending = -1;
+      }
+      if (length == 0) {
+        return false;
+      }
+      blockStart = next;
+      blockLength = length;
+      next += length;
+      return true;
+    }
+
+    private static int width(int codePoint) {
+      return codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+    }
+
+    private void encode(int codePoint, int width, int offset) {
+      if (width == 1) {
+        block[offset] = (byte) codePoint;
+        return;
+      }
+      for (int i = width - 1; i > 0; i--) {
+        block[offset + i] = (byte) (0x80 | (codePoint & 0x3f));
+        codePoint >>>= 6;
+      }
+      block[offset] = (byte) ((0xff00 >>> width) | codePoint);
+    }
+  }
+
+  /**
+   * An {@link InputStream} view of a {@link RandomChannel}. {@link #skip(long)} seeks without
+   * generating the skipped bytes, and {@link #reset()} without a mark re-reads from the start.
+   */
+  private static final class ChannelInputStream extends InputStream {
+    private final RandomChannel channel;
+    private long mark;
+
+    ChannelInputStream(RandomChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return channel.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      Objects.checkFromIndexSize(off, len, b.length);
+      return len == 0 ? 0 : channel.read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long position = channel.position();
+      long skipped = Math.max(0, Math.min(n, channel.size() - position));
+      channel.position(position + skipped);
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+      mark = channel.position;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+      channel.position(mark);
+    }
+
+    @Override
+    public void close() {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates values of a type that {@link RandomParametersExtension} does not support out of the
+ * box. Implementations are discovered with {@link java.util.ServiceLoader}, by listing them in
+ * {@code META-INF/services/io.github.lyang.randomparamsresolver.RandomValueGenerator}, or named on
+ * a parameter with {@link RandomParametersExtension.RandomizeWith}.
+ *
+ * <p>The generated type is the type argument of the implementation, such as {@code UUID} for
+ * {@code implements RandomValueGenerator<UUID>}, including its own type arguments. A discovered
+ * generator resolves {@link Randomize} parameters, collection and source elements and record
+ * components of that type and of its supertypes and interfaces, unless a built-in type matches
+ * first. When several match, the one generating the closest subtype wins, then the first
+ * discovered. Implementations must have a no-argument constructor, are created once per run and
+ * must be thread-safe.
+ *
+ * @param <T> the generated type
+ */
+@FunctionalInterface
+public interface RandomValueGenerator<T> {
+  /**
+   * Generates a value drawing only from {@code random}, so that the seed of the parameter
+   * reproduces it.
+   *
+   * @param random the seeded random generator of the parameter
+   * @param annotation the attributes of the parameter, or their defaults without {@link Randomize}
+   * @return the generated value
+   */
+  T generate(RandomGenerator random, Randomize annotation);
+}
@@ -0,0 +1,302 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * An optional annotation processor that checks {@link Randomize} parameters at compile time and
+ * generates a resolver for each class that declares them. Run it by naming it with {@code
+ * -processor io.github.lyang.randomparamsresolver.RandomizeProcessor}.
+ *
+ * <p>Attributes of the built-in types, and of the elements of collections and sources of them, are
+ * checked by the same code that checks them at run time, so invalid bounds become compile errors.
+ * The generated {@code Outer_Inner_RandomParameters} class holds every {@link Randomize} as a
+ * {@link GeneratedRandomize} of constants, including the defaults of unset attributes, and every
+ * {@link RandomizeWith} generator class, which {@link RandomParametersExtension} uses instead of
+ * reading the annotations reflectively. Classes compiled without the processor still resolve
+ * through reflection.
+ */
+@SupportedAnnotationTypes({RandomizeProcessor.RANDOMIZE, RandomizeProcessor.RANDOMIZE_WITH})
+public final class RandomizeProcessor extends AbstractProcessor {
+  static final String RANDOMIZE =
+      "io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize";
+  static final String RANDOMIZE_WITH =
+      "io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith";
+  private static final Map<String, Class<?>> SUPPORTED =
+      RandomParametersExtension.GENERATORS.keySet().stream()
+          .collect(Collectors.toMap(Class::getCanonicalName, type -> type));
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+    Map<TypeElement, Set<ExecutableElement>> executables = new LinkedHashMap<>();
+    Set<Element> elements = new LinkedHashSet<>(round.getElementsAnnotatedWith(Randomize.class));
+    elements.addAll(round.getElementsAnnotatedWith(RandomizeWith.class));
+    for (Element element : elements) {
+      if (element.getAnnotation(Randomize.class) != null) {
+        check((VariableElement) element);
+      }
+      ExecutableElement executable = (ExecutableElement) element.getEnclosingElement();
+      // rounds only include top level and member types, which resolvers can be named after
+      TypeElement type = (TypeElement) executable.getEnclosingElement();
+      if (executable.getParameters().stream().allMatch(RandomizeProcessor::isAccessible)) {
+        executables.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(executable);
+      }
+    }
+    executables.forEach(this::generate);
+    return false;
+  }
+
+  /** Reports invalid attributes of a built-in type, or of its elements, as compile errors. */
+  private void check(VariableElement parameter) {
+    Randomize annotation = parameter.getAnnotation(Randomize.class);
+    TypeMirror type = parameter.asType();
+    Class<?> raw = load(type);
+    Function<Randomize, Generator> factory =
+        raw == null ? null : RandomParametersExtension.GENERATORS.get(raw);
+    if (raw == null
+        && type instanceof DeclaredType declared
+        && declared.asElement().getKind() == ElementKind.ENUM) {
+      raw = Enum.class;
+    }
+    try {
+      ResolutionPlan.validate(
+          raw == null ? Object.class : raw, annotation, factory == null ? unused -> null : factory);
+      if (factory == null && type instanceof DeclaredType declared) {
+        for (TypeMirror argument : declared.getTypeArguments()) {
+          Class<?> elementType = load(argument);
+          Function<Randomize, Generator> element =
+              elementType == null ? null : RandomParametersExtension.GENERATORS.get(elementType);
+          if (element != null) {
+            element.apply(annotation);
+          }
+        }
+      }
+    } catch (IllegalArgumentException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR,
+              "Invalid @Randomize: " + e.getMessage(),
+              parameter,
+              mirror(parameter));
+    }
+  }
+
+  /** Returns the class of a built-in type or other JDK type, or {@code null} for other types. */
+  private Class<?> load(TypeMirror type) {
+    String name = canonicalName(type);
+    Class<?> supported = SUPPORTED.get(name);
+    if (supported != null || !name.startsWith("java.") || !(type instanceof DeclaredType)) {
+      return supported;
+    }
+    TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+    try {
+      return Class.forName(
+          processingEnv.getElementUtils().getBinaryName(element).toString(),
+          false,
+          RandomizeProcessor.class.getClassLoader());
+    } catch (ClassNotFoundException | LinkageError e) {
+      return null;
+    }
+  }
+
+  /** The canonical name of the erasure of {@code type}, as {@link Class#getCanonicalName()}. */
+  private static String canonicalName(TypeMirror type) {
+    if (type instanceof ArrayType array) {
+      return canonicalName(array.getComponentType()) + "[]";
+    }
+    if (type instanceof DeclaredType declared) {
+      return ((TypeElement) declared.asElement()).getQualifiedName().toString();
+    }
+    if (type.getKind().isPrimitive()) {
+      return type.getKind().name().toLowerCase(Locale.ROOT);
+    }
+    return type.toString();
+  }
+
+  private static AnnotationMirror mirror(Element element) {
+    return mirror(element, RANDOMIZE);
+  }
+
+  private static AnnotationMirror mirror(Element element, String annotation) {
+    return element.getAnnotationMirrors().stream()
+        .filter(
+            mirror ->
+                ((TypeElement) mirror.getAnnotationType().asElement())
+                    .getQualifiedName()
+                    .contentEquals(annotation))
+        .findFirst()
+        .orElse(null);
+  }
+
+  /** The {@link RandomizeWith} generator of {@code parameter}, or {@code null}. */
+  private static TypeElement generator(VariableElement parameter) {
+    AnnotationMirror mirror = mirror(parameter, RANDOMIZE_WITH);
+    if (mirror == null) {
+      return null;
+    }
+    return mirror.getElementValues().values().stream()
+        .map(value -> (TypeElement) ((DeclaredType) value.getValue()).asElement())
+        .findFirst()
+        .orElse(null);
+  }
+
+  /**
+   * Whether the generated resolver can name the {@link RandomizeWith} generator of {@code
+   * parameter}. Executables with private generators are left to reflection.
+   */
+  private static boolean isAccessible(VariableElement parameter) {
+    for (Element element = generator(parameter);
+        element instanceof TypeElement;
+        element = element.getEnclosingElement()) {
+      if (element.getModifiers().contains(Modifier.PRIVATE)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void generate(TypeElement type, Set<ExecutableElement> executables) {
+    String packageName =
+        processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    StringBuilder flatName = new StringBuilder(type.getSimpleName());
+    for (Element outer = type.getEnclosingElement();
+        outer instanceof TypeElement enclosing;
+        outer = outer.getEnclosingElement()) {
+      flatName.insert(0, enclosing.getSimpleName() + "_");
+    }
+    String name = GeneratedRandomize.resolverName(packageName, flatName.toString());
+    StringBuilder source = new StringBuilder();
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+    source
+        .append("@javax.annotation.processing.Generated(\"")
+        .append(RandomizeProcessor.class.getName())
+        .append("\")\n")
+        .append("public final class ")
+        .append(flatName)
+        .append(GeneratedRandomize.SUFFIX)
+        .append(
+            "\n    implements io.github.lyang.randomparamsresolver.GeneratedRandomize.Index {\n")
+        .append("  @Override\n")
+        .append("  public java.util.Map<String, ")
+        .append(RANDOMIZE)
+        .append("[]> parameters() {\n")
+        .append("    return java.util.Map.ofEntries(");
+    String separator = "\n";
+    for (ExecutableElement executable : executables) {
+      source.append(separator).append("        java.util.Map.entry(\"").append(key(executable));
+      source.append("\", new ").append(RANDOMIZE).append("[] {");
+      String parameterSeparator = "";
+      for (VariableElement parameter : executable.getParameters()) {
+        source.append(parameterSeparator).append(constant(mirror(parameter)));
+        parameterSeparator = ", ";
+      }
+      source.append("})");
+      separator = ",\n";
+    }
+    source
+        .append(");\n  }\n\n")
+        .append("  @Override\n")
+        .append("  public java.util.Map<String, Class<?>[]> generators() {\n")
+        .append("    return java.util.Map.ofEntries(");
+    separator = "\n";
+    for (ExecutableElement executable : executables) {
+      if (executable.getParameters().stream().allMatch(parameter -> generator(parameter) == null)) {
+        continue;
+      }
+      source.append(separator).append("        java.util.Map.entry(\"").append(key(executable));
+      source.append("\", new Class<?>[] {");
+      String parameterSeparator = "";
+      for (VariableElement parameter : executable.getParameters()) {
+        TypeElement generator = generator(parameter);
+        source
+            .append(parameterSeparator)
+            .append(generator == null ? "null" : generator.getQualifiedName() + ".class");
+        parameterSeparator = ", ";
+      }
+      source.append("})");
+      separator = ",\n";
+    }
+    source.append(");\n  }\n}\n");
+    try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+      writer.write(source.toString());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The {@code name(type, ...)} key of {@link GeneratedRandomize#key}. */
+  private static String key(ExecutableElement executable) {
+    return executable.getParameters().stream()
+        .map(parameter -> canonicalName(parameter.asType()))
+        .collect(Collectors.joining(",", executable.getSimpleName() + "(", ")"));
+  }
+
+  /**
+   * A {@link GeneratedRandomize} with every attribute of {@code mirror}, taking the ones it does
+   * not set from the defaults declared by {@link Randomize}.
+   */
+  private String constant(AnnotationMirror mirror) {
+    if (mirror == null) {
+      return "null";
+    }
+    String attributes =
+        processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet().stream()
+            .map(
+                entry ->
+                    String.format(
+                        "java.util.Map.entry(\"%s\", %s)",
+                        entry.getKey().getSimpleName(),
+                        expression(entry.getKey().getReturnType().toString(), entry.getValue())))
+            .collect(Collectors.joining(", ", "java.util.Map.ofEntries(", ")"));
+    return "new io.github.lyang.randomparamsresolver.GeneratedRandomize(" + attributes + ")";
+  }
+
+  private String expression(String type, AnnotationValue value) {
+    Object constant = value.getValue();
+    if (constant instanceof VariableElement enumConstant) {
+      return type + "." + enumConstant.getSimpleName();
+    }
+    if (constant instanceof List<?> values) {
+      return values.stream()
+          .map(element -> expression("", (AnnotationValue) element))
+          .collect(Collectors.joining(", ", "new " + type + " {", "}"));
+    }
+    return processingEnv.getElementUtils().getConstantExpression(constant);
+  }
+}
@@ -0,0 +1,140 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.Extension;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContext;
+import org.junit.jupiter.api.extension.TestTemplateInvocationContextProvider;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.TestAbortedException;
+
+/**
+ * A JUnit 5 extension that runs {@link RandomizedTest} methods once per iteration, with their
+ * {@link RandomParametersExtension.Randomize} parameters drawn from a new seed each time.
+ *
+ * <p>The iteration seeds are drawn up front from a single {@link SplittableRandom} seeded with the
+ * test seed, which is derived from the root seed of the run. Each parameter seed is derived from its
+ * iteration seed and index, and the resolution plans are shared by all iterations, so iterations
+ * cost little more than their random draws and can run in parallel. With {@value
+ * RandomParametersExtension#PREFETCH_PROPERTY} set, the parameters of upcoming iterations are
+ * generated in the background. Only the seed of a failing iteration is reported.
+ *
+ * @see RandomizedTest
+ */
+public class RandomizedTestExtension implements TestTemplateInvocationContextProvider {
+  /** The report entry key of the seed of a failing iteration. */
+  public static final String SEED_REPORT_KEY = "randomize.iteration.seed";
+
+  private static final Logger LOGGER = Logger.getLogger(RandomizedTestExtension.class.getName());
+
+  @Override
+  public boolean supportsTestTemplate(ExtensionContext context) {
+    return AnnotationSupport.isAnnotated(context.getTestMethod(), RandomizedTest.class);
+  }
+
+  @Override
+  public Stream<? extends TestTemplateInvocationContext> provideTestTemplateInvocationContexts(
+      ExtensionContext context) {
+    Method method = context.getRequiredTestMethod();
+    RandomizedTest annotation =
+        AnnotationSupport.findAnnotation(method, RandomizedTest.class).orElseThrow();
+    if (annotation.iterations() < 1) {
+      throw new ExtensionConfigurationException(
+          String.format(
+              "@RandomizedTest on %s: iterations (%d) must be positive",
+              method.getName(), annotation.iterations()));
+    }
+    long seed =
+        annotation.seed() != Long.MIN_VALUE
+            ? annotation.seed()
+            : Seeds.derive(
+                RandomParametersExtension.getJournal(context).rootSeed(), context.getUniqueId());
+    SplittableRandom random = new SplittableRandom(seed);
+    long[] seeds =
+        IntStream.range(0, annotation.iterations())
+            .mapToLong(i -> i == 0 ? seed : random.nextLong())
+            .toArray();
+    Prefetcher prefetcher = Prefetcher.start(context, seeds);
+    return IntStream.range(0, seeds.length).mapToObj(i -> new Iteration(seeds[i], i, prefetcher));
+  }
+
+  /**
+   * One iteration of a {@link RandomizedTest}, seeding its parameters and reporting its seed if it
+   * fails.
+   *
+   * @param seed the seed all parameter seeds of the iteration are derived from
+   * @param index the position of the iteration
+   * @param prefetcher generates the parameters of upcoming iterations, or {@code null}
+   */
+  private record Iteration(long seed, int index, Prefetcher prefetcher)
+      implements TestTemplateInvocationContext, TestExecutionExceptionHandler {
+    @Override
+    public List<Extension> getAdditionalExtensions() {
+      return List.of(this);
+    }
+
+    @Override
+    public void prepareInvocation(ExtensionContext context) {
+      context
+          .getStore(RandomParametersExtension.NAMESPACE)
+          .put(RandomizedTestExtension.class, seed);
+      Prefetcher.Values values = prefetcher == null ? null : prefetcher.claim(index);
+      if (values != null) {
+        context.getStore(RandomParametersExtension.NAMESPACE).put(Prefetcher.Values.class, values);
+      }
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable)
+        throws Throwable {
+      if (throwable instanceof TestAbortedException) {
+        // an assumption skipped the iteration, which is not a failure
+        throw throwable;
+      }
+      context.publishReportEntry(SEED_REPORT_KEY, String.valueOf(seed));
+      LOGGER.warning(
+          () ->
+              String.format(
+                  "%s failed with seed %d, replay with @RandomizedTest(iterations = 1, seed = %d)",
+                  context.getDisplayName(), seed, seed));
+      throw throwable;
+    }
+  }
+
+  /**
+   * Runs the annotated method as a test template, once per iteration. Its {@link
+   * RandomParametersExtension.Randomize} parameters are resolved from a new seed each iteration,
+   * and the seed of a failing iteration is logged and published as a report entry under {@value
+   * RandomizedTestExtension#SEED_REPORT_KEY}. Unique {@code int}, {@code long} and {@code String}
+   * parameters are drawn in sequence rather than from the seed, so they are rejected.
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target(ElementType.METHOD)
+  @TestTemplate
+  @ExtendWith({RandomParametersExtension.class, RandomizedTestExtension.class})
+  public @interface RandomizedTest {
+    /** The number of iterations. The default is {@code 100}. */
+    int iterations() default 100;
+
+    /**
+     * The seed of the first iteration, from which the seeds of the following iterations are drawn.
+     * Setting it to a reported seed with {@code iterations = 1} replays that iteration. The default
+     * is derived from the root seed of the run (see {@link
+     * RandomParametersExtension#SEED_PROPERTY}) and the test's unique ID.
+     */
+    long seed() default Long.MIN_VALUE;
+  }
+}
@@ -0,0 +1,72 @@
+package io.github.lyang.randomparamsresolver;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+/**
+ * A JDK Flight Recorder event for one {@link RandomParametersExtension.Randomize} parameter
+ * resolution.
+ *
+ * <p>Whether a recording enables the event is cached in {@link #isRecorded()} and refreshed when
+ * recordings change state, so resolutions without a recording neither allocate the event nor look
+ * up its state. The event type is not registered until the recorder is initialized.
+ */
+@Name("io.github.lyang.randomparamsresolver.ParameterResolution")
+@Label("Random Parameter Resolution")
+@Description("Resolution of a @Randomize parameter")
+@Category({"JUnit", "Random Params Resolver"})
+final class ResolutionEvent extends Event {
+  private static volatile boolean recorded;
+
+  // listeners are told at once if the recorder is already initialized, and never without JFR
+  static {
+    FlightRecorder.addListener(
+        new FlightRecorderListener() {
+          @Override
+          public void recorderInitialized(FlightRecorder recorder) {
+            refresh();
+          }
+
+          @Override
+          public void recordingStateChanged(Recording recording) {
+            refresh();
+          }
+        });
+  }
+
+  @Label("Parameter")
+  @Description("The Class#method#parameter that was resolved")
+  String parameter;
+
+  @Label("Type")
+  Class<?> type;
+
+  @Label("Seed")
+  long seed;
+
+  @Label("Size")
+  @Description("The approximate size of the generated value")
+  @DataAmount
+  long bytes;
+
+  @Label("Rejected Samples")
+  @Description("The random draws discarded, such as duplicate elements of a set")
+  long rejected;
+
+  /** Whether a running recording enables the event, as of the last recording state change. */
+  static boolean isRecorded() {
+    return recorded;
+  }
+
+  private static void refresh() {
+    recorded = EventType.getEventType(ResolutionEvent.class).isEnabled();
+  }
+}
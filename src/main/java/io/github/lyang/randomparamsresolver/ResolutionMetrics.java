@@ -0,0 +1,172 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Resolution counters of one test container, published as report entries of the container when
+ * its store is closed. Each parameter and each type tracks its resolutions, time spent, approximate
+ * bytes generated and rejected samples.
+ *
+ * <p>Generators report rejected samples through {@link #reject(long)}, which only counts while a
+ * resolution is being measured on the current thread. Work forked to other threads counts its own
+ * rejections through {@link #counting(Runnable)} and reports their sum on the measured thread.
+ */
+final class ResolutionMetrics implements AutoCloseable {
+  private static final ThreadLocal<long[]> REJECTED = new ThreadLocal<>();
+
+  private final ExtensionContext container;
+  private final Map<String, Counter> parameters = new ConcurrentSkipListMap<>();
+  private final Map<String, Counter> types = new ConcurrentSkipListMap<>();
+
+  ResolutionMetrics(ExtensionContext container) {
+    this.container = container;
+  }
+
+  /** Receives the measurements of one resolution. */
+  interface Recorder {
+    void record(String parameter, Class<?> type, long nanos, long bytes, long rejected);
+  }
+
+  /** Counts {@code count} rejected samples towards the resolution measured on this thread. */
+  static void reject(long count) {
+    long[] rejected = REJECTED.get();
+    if (rejected != null) {
+      rejected[0] += count;
+    }
+  }
+
+  /** Starts counting rejected samples on this thread. */
+  static void begin() {
+    REJECTED.set(new long[1]);
+  }
+
+  /** Stops counting rejected samples on this thread, returning their count. */
+  static long end() {
+    long[] rejected = REJECTED.get();
+    REJECTED.remove();
+    return rejected == null ? 0 : rejected[0];
+  }
+
+  /**
+   * Runs {@code task}, counting its rejected samples separately from any measured on this thread,
+   * and returns their count.
+   */
+  static long counting(Runnable task) {
+    long[] outer = REJECTED.get();
+    long[] rejected = new long[1];
+    REJECTED.set(rejected);
+    try {
+      task.run();
+      return rejected[0];
+    } finally {
+      REJECTED.set(outer);
+    }
+  }
+
+  /** The approximate size in bytes of the data of a generated value. */
+  static long sizeOf(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof byte[] || value instanceof Byte || value instanceof Boolean) {
+      return value instanceof byte[] bytes ? bytes.length : 1;
+    }
+    if (value instanceof Short || value instanceof Character) {
+      return 2;
+    }
+    if (value instanceof Integer || value instanceof Float) {
+      return 4;
+    }
+    if (value instanceof Long || value instanceof Double) {
+      return 8;
+    }
+    if (value instanceof CharSequence text) {
+      return 2L * text.length();
+    }
+    if (value instanceof BigInteger integer) {
+      return integer.bitLength() / 8 + 1;
+    }
+    if (value instanceof BigDecimal decimal) {
+      return decimal.unscaledValue().bitLength() / 8 + 5;
+    }
+    if (value instanceof ByteBuffer buffer) {
+      return buffer.remaining();
+    }
+    Class<?> component = value.getClass().getComponentType();
+    if (component != null && component.isPrimitive()) {
+      return (long) Array.getLength(value) * sizeOf(component);
+    }
+    if (value instanceof Collection<?> collection) {
+      return collection.stream().mapToLong(ResolutionMetrics::sizeOf).sum();
+    }
+    if (value instanceof Map<?, ?> map) {
+      return map.entrySet().stream()
+          .mapToLong(entry -> sizeOf(entry.getKey()) + sizeOf(entry.getValue()))
+          .sum();
+    }
+    return 0;
+  }
+
+  private static long sizeOf(Class<?> primitive) {
+    if (primitive == long.class || primitive == double.class) {
+      return 8;
+    }
+    if (primitive == int.class || primitive == float.class) {
+      return 4;
+    }
+    return primitive == short.class || primitive == char.class ? 2 : 1;
+  }
+
+  void record(String parameter, Class<?> type, long nanos, long bytes, long rejected) {
+    parameters.computeIfAbsent(parameter, key -> new Counter()).add(nanos, bytes, rejected);
+    types.computeIfAbsent(type.getTypeName(), key -> new Counter()).add(nanos, bytes, rejected);
+  }
+
+  /** The report entries of every parameter and type, in name order. */
+  Map<String, String> summary() {
+    Map<String, String> summary = new LinkedHashMap<>();
+    parameters.forEach(
+        (name, counter) -> summary.put("randomize.parameter " + name, counter.toString()));
+    types.forEach((name, counter) -> summary.put("randomize.type " + name, counter.toString()));
+    return summary;
+  }
+
+  @Override
+  public void close() {
+    Map<String, String> summary = summary();
+    if (!summary.isEmpty()) {
+      container.publishReportEntry(summary);
+    }
+  }
+
+  /** The totals of one parameter or type. */
+  private static final class Counter {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    void add(long nanos, long bytes, long rejected) {
+      this.count.increment();
+      this.nanos.add(nanos);
+      this.bytes.add(bytes);
+      this.rejected.add(rejected);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "count=%d time=%.3fms bytes=%d rejected=%d",
+          count.sum(), nanos.sum() / 1e6, bytes.sum(), rejected.sum());
+    }
+  }
+}
@@ -0,0 +1,291 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Distribution;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Scope;
+import java.io.InputStream;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.channels.Channel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.BaseStream;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+/**
+ * An immutable recipe for resolving one {@link Randomize} parameter. Plans are compiled once per
+ * parameter, with bounds validated and lookups such as the string alphabet precomputed, so that
+ * each resolution only draws random numbers.
+ *
+ * @param generator draws the parameter value from a seeded random generator
+ * @param algorithm creates the seeded random generator
+ * @param seed the pinned seed, or {@link #UNSEEDED} to derive it from the root seed
+ * @param context the {@code Class#method#parameter} name used when logging the seed
+ * @param executable the {@link java.lang.reflect.Executable#toGenericString()} declaring the
+ *     parameter, which keeps its derived seed apart from parameters of other executables
+ * @param scope how long a generated value is shared
+ * @param spec the parameter type and {@link Randomize} attributes identifying a shared value or
+ *     unique sequence, or {@code null} if the value is neither
+ */
+record ResolutionPlan(
+    Generator generator,
+    RandomGeneratorFactory<RandomGenerator> algorithm,
+    long seed,
+    String context,
+    String executable,
+    Scope scope,
+    String spec) {
+  static final long UNSEEDED = Long.MIN_VALUE;
+  private static final List<Class<?>> UNSHAREABLE =
+      List.of(
+          RandomGenerator.class,
+          InputStream.class,
+          Channel.class,
+          BaseStream.class,
+          Iterator.class,
+          Supplier.class,
+          IntSupplier.class,
+          LongSupplier.class,
+          DoubleSupplier.class);
+  private static final List<Class<?>> UNIQUE =
+      List.of(
+          int.class,
+          Integer.class,
+          long.class,
+          Long.class,
+          String.class,
+          int[].class,
+          long[].class,
+          List.class,
+          Set.class,
+          Map.class,
+          IntStream.class,
+          LongStream.class,
+          IntSupplier.class,
+          LongSupplier.class,
+          Supplier.class,
+          Iterator.class);
+  private static final List<Class<?>> DISTRIBUTED =
+      List.of(
+          int.class,
+          Integer.class,
+          long.class,
+          Long.class,
+          float.class,
+          Float.class,
+          double.class,
+          Double.class,
+          int[].class,
+          long[].class,
+          float[].class,
+          double[].class,
+          List.class,
+          Set.class,
+          Map.class,
+          IntStream.class,
+          LongStream.class,
+          DoubleStream.class,
+          IntSupplier.class,
+          LongSupplier.class,
+          DoubleSupplier.class,
+          Supplier.class,
+          Iterator.class);
+  private static final Method[] ATTRIBUTES =
+      Arrays.stream(Randomize.class.getDeclaredMethods())
+          .sorted(Comparator.comparing(Method::getName))
+          .toArray(Method[]::new);
+
+  /**
+   * Compiles the plan for {@code parameter}, annotated with {@code annotation}.
+   *
+   * @throws ParameterResolutionException if the {@link Randomize} attributes are invalid
+   */
+  static ResolutionPlan of(
+      Parameter parameter,
+      Randomize annotation,
+      Function<Randomize, Generator> factory,
+      String defaultAlgorithm) {
+    String context = getContext(parameter);
+    try {
+      String name = annotation.algorithm().isEmpty() ? defaultAlgorithm : annotation.algorithm();
+      RandomGeneratorFactory<RandomGenerator> algorithm = RandomGeneratorFactory.of(name);
+      requireInstance(parameter.getType(), name, algorithm);
+      requireShareable(parameter.getType(), annotation.scope());
+      requireUnique(parameter.getType(), annotation);
+      requireDistributed(parameter.getParameterizedType(), annotation);
+      return new ResolutionPlan(
+          factory.apply(annotation),
+          algorithm,
+          annotation.seed(),
+          context,
+          parameter.getDeclaringExecutable().toGenericString(),
+          annotation.scope(),
+          annotation.scope() == Scope.INVOCATION && !annotation.unique()
+              ? null
+              : parameter.getParameterizedType().getTypeName() + " " + describe(annotation));
+    } catch (IllegalArgumentException e) {
+      throw new ParameterResolutionException(
+          String.format("Invalid @Randomize on %s: %s", context, e.getMessage()), e);
+    }
+  }
+
+  /**
+   * Checks {@code annotation} for a parameter of {@code type} without a test context, as {@link
+   * RandomizeProcessor} does at compile time. The default algorithm is only known at run time, so
+   * it is not checked.
+   *
+   * @throws IllegalArgumentException if the {@link Randomize} attributes are invalid
+   */
+  static void validate(
+      Class<?> type, Randomize annotation, Function<Randomize, Generator> factory) {
+    if (!annotation.algorithm().isEmpty()) {
+      requireInstance(
+          type, annotation.algorithm(), RandomGeneratorFactory.of(annotation.algorithm()));
+    }
+    requireShareable(type, annotation.scope());
+    requireUnique(type, annotation);
+    requireDistributed(type, annotation);
+    factory.apply(annotation);
+  }
+
+  /**
+   * Describes every attribute of {@code annotation} in name order, so that annotations and {@link
+   * GeneratedRandomize} values with the same attributes have the same description.
+   */
+  static String describe(Randomize annotation) {
+    StringJoiner description = new StringJoiner(", ", "@Randomize(", ")");
+    for (Method attribute : ATTRIBUTES) {
+      try {
+        Object value = attribute.invoke(annotation);
+        description.add(
+            attribute.getName()
+                + "="
+                + (value instanceof String[] values
+                    ? Arrays.toString(values)
+                    : value instanceof double[] weights ? Arrays.toString(weights) : value));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    return description.toString();
+  }
+
+  private static String getContext(Parameter parameter) {
+    Executable executable = parameter.getDeclaringExecutable();
+    return new StringJoiner("#")
+        .add(executable.getDeclaringClass().getSimpleName())
+        .add(executable.getName())
+        .add(parameter.getName())
+        .toString();
+  }
+
+  private static void requireInstance(
+      Class<?> type, String name, RandomGeneratorFactory<RandomGenerator> algorithm) {
+    if (RandomGenerator.class.isAssignableFrom(type) && !type.isInstance(algorithm.create(0L))) {
+      throw new IllegalArgumentException(
+          String.format("algorithm %s is not a %s", name, type.getSimpleName()));
+    }
+  }
+
+  /**
+   * Rejects sharing generators, streams, channels and other sources, whose state each test would
+   * consume.
+   */
+  private static void requireShareable(Class<?> type, Scope scope) {
+    if (scope != Scope.INVOCATION
+        && UNSHAREABLE.stream().anyMatch(unshareable -> unshareable.isAssignableFrom(type))) {
+      throw new IllegalArgumentException(
+          String.format("scope %s cannot share a %s", scope, type.getSimpleName()));
+    }
+  }
+
+  /** Rejects {@link Randomize#unique()} for types that cannot hold distinct values. */
+  private static void requireUnique(Class<?> type, Randomize annotation) {
+    if (annotation.unique() && !UNIQUE.contains(type)) {
+      throw new IllegalArgumentException(
+          String.format("unique is not supported for %s", type.getSimpleName()));
+    }
+    if (annotation.unique() && annotation.distribution() != Distribution.UNIFORM) {
+      throw new IllegalArgumentException(
+          "unique cannot be combined with distribution " + annotation.distribution());
+    }
+  }
+
+  /**
+   * Rejects a {@link Randomize#distribution()} or {@link Randomize#weights()} for types, or element
+   * types, other than numbers and enums.
+   */
+  private static void requireDistributed(Type type, Randomize annotation) {
+    if (annotation.distribution() == Distribution.UNIFORM && annotation.weights().length == 0) {
+      return;
+    }
+    List<Type> types = new ArrayList<>(List.of(type));
+    if (type instanceof ParameterizedType parameterized) {
+      types.set(0, parameterized.getRawType());
+      types.addAll(Arrays.asList(parameterized.getActualTypeArguments()));
+    }
+    for (Type candidate : types) {
+      if (!(candidate instanceof Class<?> raw
+          && (Enum.class.isAssignableFrom(raw) || DISTRIBUTED.contains(raw)))) {
+        throw new IllegalArgumentException(
+            String.format(
+                "distribution %s is not supported for %s",
+                annotation.distribution(),
+                type instanceof Class<?> raw ? raw.getSimpleName() : type.getTypeName()));
+      }
+    }
+  }
+
+  static void requireLess(String minName, long min, String maxName, long max) {
+    if (min >= max) {
+      throw new IllegalArgumentException(
+          String.format("%s (%d) must be less than %s (%d)", minName, min, maxName, max));
+    }
+  }
+
+  static void requireLess(String minName, double min, String maxName, double max) {
+    if (!(min < max)) {
+      throw new IllegalArgumentException(
+          String.format("%s (%s) must be less than %s (%s)", minName, min, maxName, max));
+    }
+  }
+
+  static <T extends Comparable<T>> void requireLess(String minName, T min, String maxName, T max) {
+    if (min.compareTo(max) >= 0) {
+      throw new IllegalArgumentException(
+          String.format("%s (%s) must be less than %s (%s)", minName, min, maxName, max));
+    }
+  }
+
+  static void requireNonNegative(String name, long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException(
+          String.format("%s (%d) must not be negative", name, value));
+    }
+  }
+
+  /** Draws a parameter value. */
+  @FunctionalInterface
+  interface Generator {
+    Object generate(RandomGenerator random);
+  }
+}
@@ -0,0 +1,187 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The seeds of one run: the root seed, an optional append-only journal of every resolved seed and
+ * an optional replay source read from a previous journal. It also holds the run's logging and
+ * metrics switches, so resolving a parameter reads them without another store lookup.
+ *
+ * <p>Journal lines are tab separated {@code seed, index, type, executable, uniqueId} records,
+ * preceded by a {@code # root seed <seed>} header, where {@code executable} is the {@link
+ * java.lang.reflect.Executable#toGenericString()} declaring the parameter. Backslashes, tabs and
+ * line breaks in executables and unique IDs are escaped.
+ */
+final class SeedJournal implements AutoCloseable {
+  private static final String ROOT_SEED_HEADER = "# root seed ";
+
+  private final long rootSeed;
+  private final boolean logSeeds;
+  private final boolean metrics;
+  private final Writer writer;
+  private final Map<String, Long> replay;
+
+  SeedJournal(
+      long rootSeed, boolean logSeeds, boolean metrics, Writer writer, Map<String, Long> replay) {
+    this.rootSeed = rootSeed;
+    this.logSeeds = logSeeds;
+    this.metrics = metrics;
+    this.writer = writer;
+    this.replay = Map.copyOf(replay);
+    if (writer != null) {
+      write(ROOT_SEED_HEADER + rootSeed + "\n");
+    }
+  }
+
+  /**
+   * Opens a journal writing to {@code path}, replacing any previous content.
+   *
+   * @throws UncheckedIOException if the file cannot be opened
+   */
+  static Writer open(Path path) {
+    try {
+      Path parent = path.toAbsolutePath().getParent();
+      Files.createDirectories(parent);
+      return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot open seed journal " + path, e);
+    }
+  }
+
+  /**
+   * Reads the root seed header of a journal, if any.
+   *
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  static Optional<Long> readRootSeed(Path path) {
+    return readLines(path).stream()
+        .filter(line -> line.startsWith(ROOT_SEED_HEADER))
+        .map(line -> Long.valueOf(line.substring(ROOT_SEED_HEADER.length())))
+        .findFirst();
+  }
+
+  /**
+   * Reads the recorded seeds of a journal, keyed by unique ID, executable and parameter index.
+   *
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  static Map<String, Long> readSeeds(Path path) {
+    Map<String, Long> seeds = new HashMap<>();
+    for (String line : readLines(path)) {
+      if (!line.isEmpty() && !line.startsWith("#")) {
+        String[] fields = line.split("\t", 5);
+        seeds.put(
+            key(unescape(fields[4]), unescape(fields[3]), Integer.parseInt(fields[1])),
+            Long.valueOf(fields[0]));
+      }
+    }
+    return seeds;
+  }
+
+  private static List<String> readLines(Path path) {
+    try {
+      return Files.readAllLines(path, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot read seed journal " + path, e);
+    }
+  }
+
+  private static String key(String uniqueId, String executable, int index) {
+    return index + "@" + executable + "@" + uniqueId;
+  }
+
+  private static String escape(String value) {
+    return value
+        .replace("\\", "\\\\")
+        .replace("\t", "\\t")
+        .replace("\n", "\\n")
+        .replace("\r", "\\r");
+  }
+
+  private static String unescape(String value) {
+    StringBuilder builder = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        char next = value.charAt(++i);
+        builder.append(next == 't' ? '\t' : next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.toString();
+  }
+
+  long rootSeed() {
+    return rootSeed;
+  }
+
+  boolean logSeeds() {
+    return logSeeds;
+  }
+
+  /** Whether {@link ResolutionMetrics} are collected. */
+  boolean metrics() {
+    return metrics;
+  }
+
+  /** Returns the replayed seed of the parameter, or derives it from the root seed. */
+  long seed(String uniqueId, String executable, int index) {
+    return seed(uniqueId, executable, index, Seeds.derive(rootSeed, uniqueId));
+  }
+
+  /** Returns the replayed seed of the parameter, or derives it from {@code testSeed}. */
+  long seed(String uniqueId, String executable, int index, long testSeed) {
+    if (!replay.isEmpty()) {
+      Long seed = replay.get(key(uniqueId, executable, index));
+      if (seed != null) {
+        return seed;
+      }
+    }
+    return Seeds.derive(testSeed, executable, index);
+  }
+
+  /** Appends a record to the journal, if one is open. */
+  void record(String uniqueId, String executable, int index, Class<?> type, long seed) {
+    if (writer != null) {
+      write(
+          seed
+              + "\t"
+              + index
+              + "\t"
+              + type.getTypeName()
+              + "\t"
+              + escape(executable)
+              + "\t"
+              + escape(uniqueId)
+              + "\n");
+    }
+  }
+
+  private void write(String record) {
+    try {
+      synchronized (writer) {
+        writer.write(record);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Cannot write seed journal", e);
+    }
+  }
+
+  /** Flushes and closes the journal. */
+  @Override
+  public void close() throws IOException {
+    if (writer != null) {
+      writer.close();
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package io.github.lyang.randomparamsresolver;
+
+/**
+ * Derives per-parameter seeds from a single root seed, so every value of a run is a pure function of
+ * the root seed, the test's unique ID, the declaring executable and the parameter index, independent
+ * of scheduling or order. The executable keeps the parameters of a test method apart from those of
+ * its constructor and lifecycle methods, which are resolved in the same context.
+ */
+final class Seeds {
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private Seeds() {}
+
+  /**
+   * Returns the seed for parameter {@code index} of {@code executable}, resolved for the test
+   * identified by {@code uniqueId}.
+   */
+  static long derive(long rootSeed, String uniqueId, String executable, int index) {
+    return derive(derive(rootSeed, uniqueId), executable, index);
+  }
+
+  /**
+   * Returns the seed for parameter {@code index} of {@code executable}, resolved for a test or
+   * iteration seeded with {@code seed}.
+   */
+  static long derive(long seed, String executable, int index) {
+    return derive(derive(seed, executable), index);
+  }
+
+  /** Returns the seed of {@code seed} narrowed to {@code key}, such as a test's unique ID. */
+  static long derive(long seed, String key) {
+    return mix(seed ^ hash(key));
+  }
+
+  /** Returns the seed for parameter {@code index} of a test or iteration seeded with {@code seed}. */
+  static long derive(long seed, int index) {
+    return mix(seed + GOLDEN_GAMMA * (index + 1));
+  }
+
+  /** A 64-bit FNV-1a hash of {@code value}'s UTF-16 code units. */
+  static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  /** The SplitMix64 finalizer, a fast bijective mix of all 64 bits. */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,239 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.Distributions.DoubleSampler;
+import io.github.lyang.randomparamsresolver.Distributions.LongSampler;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Permutation;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Sequence;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Space;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generators for endless sources of values: {@link IntStream}, {@link LongStream} and {@link
+ * DoubleStream}, their {@link IntSupplier}, {@link LongSupplier} and {@link DoubleSupplier}
+ * counterparts, and {@link Supplier} and {@link Iterator} of the supported element types. Values
+ * are drawn on demand, so nothing is allocated up front.
+ *
+ * <p>Suppliers and iterators draw from the parameter's own generator. Streams are made of {@link
+ * #BLOCK_SIZE} blocks, each drawn from a seed derived from the stream seed and the block index, so
+ * a parallel stream splits on block boundaries and yields the same ordered values as a sequential
+ * one, however many threads run it.
+ *
+ * <p>With {@link Randomize#unique()}, {@code int} and {@code long} streams yield every value of
+ * their bounds once, in permuted order, and end; suppliers throw {@link
+ * java.util.NoSuchElementException} and iterators end once every value has been drawn.
+ */
+final class SourceGenerators {
+  static final int BLOCK_SIZE = 1 << 10;
+  private static final long BLOCKS = Long.MAX_VALUE / BLOCK_SIZE;
+
+  private SourceGenerators() {}
+
+  static Generator intStream(Randomize annotation) {
+    int min = annotation.intMin();
+    int max = annotation.intMax();
+    ResolutionPlan.requireLess("intMin", min, "intMax", max);
+    if (annotation.unique()) {
+      long size = (long) max - min;
+      return random -> {
+        Permutation permutation = new Permutation(size, random.nextLong());
+        return LongStream.range(0, size).mapToInt(i -> (int) (min + permutation.apply(i)));
+      };
+    }
+    LongSampler sampler = Distributions.longs(annotation, min, max);
+    return random -> {
+      long seed = random.nextLong();
+      return blocks()
+          .mapToObj(
+              index -> {
+                SplittableRandom block = block(seed, index);
+                return sampler == null
+                    ? block.ints(BLOCK_SIZE, min, max)
+                    : IntStream.generate(() -> (int) sampler.next(block)).limit(BLOCK_SIZE);
+              })
+          .flatMapToInt(block -> block);
+    };
+  }
+
+  static Generator longStream(Randomize annotation) {
+    long min = annotation.longMin();
+    long max = annotation.longMax();
+    ResolutionPlan.requireLess("longMin", min, "longMax", max);
+    if (annotation.unique()) {
+      long size = max - min;
+      return random -> {
+        Permutation permutation = new Permutation(size, random.nextLong());
+        return LongStream.range(0, size < 0 ? Long.MAX_VALUE : size)
+            .map(i -> min + permutation.apply(i));
+      };
+    }
+    LongSampler sampler = Distributions.longs(annotation, min, max);
+    return random -> {
+      long seed = random.nextLong();
+      return blocks()
+          .mapToObj(
+              index -> {
+                SplittableRandom block = block(seed, index);
+                return sampler == null
+                    ? block.longs(BLOCK_SIZE, min, max)
+                    : LongStream.generate(() -> sampler.next(block)).limit(BLOCK_SIZE);
+              })
+          .flatMapToLong(block -> block);
+    };
+  }
+
+  static Generator doubleStream(Randomize annotation) {
+    double min = annotation.doubleMin();
+    double max = annotation.doubleMax();
+    ResolutionPlan.requireLess("doubleMin", min, "doubleMax", max);
+    boolean bounded = Double.isFinite(max - min);
+    DoubleSampler sampler = Distributions.doubles(annotation, min, max);
+    return random -> {
+      long seed = random.nextLong();
+      return blocks()
+          .mapToObj(
+              index -> {
+                SplittableRandom block = block(seed, index);
+                if (sampler != null) {
+                  return DoubleStream.generate(() -> sampler.next(block)).limit(BLOCK_SIZE);
+                }
+                return bounded ? block.doubles(BLOCK_SIZE, min, max) : block.doubles(BLOCK_SIZE);
+              })
+          .flatMapToDouble(block -> block);
+    };
+  }
+
+  static Generator intSupplier(Randomize annotation) {
+    int min = annotation.intMin();
+    int max = annotation.intMax();
+    ResolutionPlan.requireLess("intMin", min, "intMax", max);
+    if (annotation.unique()) {
+      Space space = UniqueGenerators.ints(min, max);
+      return random -> {
+        Sequence sequence = new Sequence(space, random.nextLong());
+        return (IntSupplier) () -> (int) sequence.next();
+      };
+    }
+    LongSampler sampler = Distributions.longs(annotation, min, max);
+    if (sampler != null) {
+      return random -> (IntSupplier) () -> (int) sampler.next(random);
+    }
+    return random -> (IntSupplier) () -> random.nextInt(min, max);
+  }
+
+  static Generator longSupplier(Randomize annotation) {
+    long min = annotation.longMin();
+    long max = annotation.longMax();
+    ResolutionPlan.requireLess("longMin", min, "longMax", max);
+    if (annotation.unique()) {
+      Space space = UniqueGenerators.longs(min, max);
+      return random -> {
+        Sequence sequence = new Sequence(space, random.nextLong());
+        return (LongSupplier) () -> (long) sequence.next();
+      };
+    }
+    LongSampler sampler = Distributions.longs(annotation, min, max);
+    if (sampler != null) {
+      return random -> (LongSupplier) () -> sampler.next(random);
+    }
+    return random -> (LongSupplier) () -> random.nextLong(min, max);
+  }
+
+  static Generator doubleSupplier(Randomize annotation) {
+    double min = annotation.doubleMin();
+    double max = annotation.doubleMax();
+    ResolutionPlan.requireLess("doubleMin", min, "doubleMax", max);
+    DoubleSampler sampler = Distributions.doubles(annotation, min, max);
+    if (sampler != null) {
+      return random -> (DoubleSupplier) () -> sampler.next(random);
+    }
+    if (!Double.isFinite(max - min)) {
+      return random -> (DoubleSupplier) random::nextDouble;
+    }
+    return random -> (DoubleSupplier) () -> random.nextDouble(min, max);
+  }
+
+  /**
+   * Returns the factory for a {@link Supplier} or {@link Iterator} of an element type supported by
+   * {@code elements}, or {@code null} if {@code type} is not one.
+   */
+  static Function<Randomize, Generator> source(
+      Type type, Function<Class<?>, Function<Randomize, Generator>> elements) {
+    if (!(type instanceof ParameterizedType parameterized)
+        || !(parameterized.getActualTypeArguments()[0] instanceof Class<?> element)
+        || RandomGenerator.class.isAssignableFrom(element)) {
+      return null;
+    }
+    Type raw = parameterized.getRawType();
+    Function<Randomize, Generator> factory =
+        raw == Supplier.class || raw == Iterator.class ? elements.apply(element) : null;
+    if (factory == null) {
+      return null;
+    }
+    if (raw == Supplier.class) {
+      return annotation -> supplier(factory.apply(annotation), annotation.unique());
+    }
+    return annotation -> iterator(factory.apply(annotation), annotation.unique());
+  }
+
+  private static Generator supplier(Generator element, boolean unique) {
+    if (unique) {
+      Space space = requireSpace(element);
+      return random -> {
+        Sequence sequence = new Sequence(space, random.nextLong());
+        return (Supplier<Object>) sequence::next;
+      };
+    }
+    return random -> (Supplier<Object>) () -> element.generate(random);
+  }
+
+  private static Generator iterator(Generator element, boolean unique) {
+    if (unique) {
+      Space space = requireSpace(element);
+      return random -> {
+        Sequence sequence = new Sequence(space, random.nextLong());
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return !sequence.exhausted();
+          }
+
+          @Override
+          public Object next() {
+            return sequence.next();
+          }
+        };
+      };
+    }
+    return random -> Stream.generate(() -> element.generate(random)).iterator();
+  }
+
+  private static Space requireSpace(Generator element) {
+    if (!(element instanceof Space space)) {
+      throw new IllegalArgumentException("unique requires int, long or String elements");
+    }
+    return space;
+  }
+
+  private static LongStream blocks() {
+    return LongStream.range(0, BLOCKS);
+  }
+
+  private static SplittableRandom block(long seed, long index) {
+    return new SplittableRandom(Seeds.mix(seed + index));
+  }
+}
@@ -0,0 +1,56 @@
+package io.github.lyang.randomparamsresolver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The costly parts of plans that identical {@link RandomParametersExtension.Randomize} specs share,
+ * such as alias tables and pattern automata, so they are built once per run rather than once per
+ * executable.
+ *
+ * <p>One cache lives in the root store of a run, so its entries are released with the run. It is
+ * bound to the thread compiling plans, which lets generator factories reach it without a test
+ * context. It holds the {@value #MAX_ENTRIES} most recently used entries; without a bound cache,
+ * such as when the processor checks annotations, entries are built afresh.
+ */
+final class SpecCache {
+  /** The most entries a cache holds. */
+  static final int MAX_ENTRIES = 64;
+
+  private static final ThreadLocal<SpecCache> BOUND = new ThreadLocal<>();
+
+  private final Map<Object, Object> entries =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  /**
+   * Returns the entry of {@code key} in the cache bound to this thread, building it on first use,
+   * or builds it afresh if no cache is bound. Failures are not cached.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T get(Object key, Supplier<T> build) {
+    SpecCache cache = BOUND.get();
+    if (cache == null) {
+      return build.get();
+    }
+    synchronized (cache) {
+      return (T) cache.entries.computeIfAbsent(key, k -> build.get());
+    }
+  }
+
+  /** Returns the result of {@code compile}, run with this cache bound to the current thread. */
+  <T> T bind(Supplier<T> compile) {
+    SpecCache previous = BOUND.get();
+    BOUND.set(this);
+    try {
+      return compile.get();
+    } finally {
+      BOUND.set(previous);
+    }
+  }
+}
@@ -0,0 +1,213 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distinct values for {@link RandomParametersExtension.Randomize#unique()}, drawn without
+ * collisions or memory of the values already drawn.
+ *
+ * <p>The values of a parameter type within its bounds form a {@link Space} of indexed values. A
+ * {@link Permutation} maps the positions {@code 0, 1, 2, ...} to distinct indexes in a seeded,
+ * shuffled order, so the first {@code n} positions give {@code n} distinct values in {@code O(1)}
+ * memory, without the rejection loop of sampling and checking for duplicates.
+ */
+final class UniqueGenerators {
+  private UniqueGenerators() {}
+
+  /** The {@code [min, max)} space of an {@code int}. */
+  static Space ints(int min, int max) {
+    return new Space((long) max - min) {
+      @Override
+      Object get(long index, long seed) {
+        return (int) (min + index);
+      }
+    };
+  }
+
+  /** The {@code [min, max)} space of a {@code long}, whose size may exceed {@link Long#MAX_VALUE}. */
+  static Space longs(long min, long max) {
+    return new Space(max - min) {
+      @Override
+      Object get(long index, long seed) {
+        return min + index;
+      }
+    };
+  }
+
+  /**
+   * The space of strings of {@code length} code points of {@code alphabet}. The index picks the
+   * last code points, as many as {@code 2^62} indexes can tell apart, and the remaining leading code
+   * points are drawn from a generator seeded with the index, so long strings stay distinct.
+   */
+  static Space strings(CodePointSampler alphabet, int length) {
+    int base = alphabet.size();
+    long size = 1;
+    int digits = 0;
+    while (digits < length && size <= (1L << 62) / base) {
+      size *= base;
+      digits++;
+    }
+    int unique = digits;
+    int free = length - digits;
+    return new Space(size) {
+      @Override
+      Object get(long index, long seed) {
+        StringBuilder builder = new StringBuilder(length);
+        if (free > 0) {
+          SplittableRandom random = new SplittableRandom(Seeds.mix(seed + index));
+          for (int i = 0; i < free; i++) {
+            builder.appendCodePoint(alphabet.next(random));
+          }
+        }
+        int[] codePoints = new int[unique];
+        for (int i = unique - 1; i >= 0; i--) {
+          codePoints[i] = alphabet.get((int) (index % base));
+          index /= base;
+        }
+        for (int codePoint : codePoints) {
+          builder.appendCodePoint(codePoint);
+        }
+        return builder.toString();
+      }
+    };
+  }
+
+  /**
+   * Rejects drawing {@code length} distinct values from {@code space}.
+   *
+   * @throws IllegalArgumentException if {@code space} has fewer than {@code length} values
+   */
+  static void requireCapacity(Space space, int length) {
+    if (Long.compareUnsigned(length, space.size()) > 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "length (%d) exceeds the %s distinct values within the configured bounds",
+              length, Long.toUnsignedString(space.size())));
+    }
+  }
+
+  /**
+   * A finite space of distinct values, indexed from {@code 0} to {@link #size()}. As a plain
+   * {@link Generator}, such as for map values, it draws any value of the space.
+   */
+  abstract static class Space implements Generator {
+    private final long size;
+
+    /** @param size the unsigned number of values */
+    Space(long size) {
+      this.size = size;
+    }
+
+    /** The unsigned number of values. */
+    long size() {
+      return size;
+    }
+
+    /**
+     * Returns the value at the unsigned {@code index}, drawing any part not covered by the index
+     * from {@code seed}.
+     */
+    abstract Object get(long index, long seed);
+
+    @Override
+    public Object generate(RandomGenerator random) {
+      long index;
+      if (size > 0) {
+        index = random.nextLong(size);
+      } else {
+        do {
+          index = random.nextLong();
+        } while (Long.compareUnsigned(index, size) >= 0);
+      }
+      return get(index, random.nextLong());
+    }
+  }
+
+  /**
+   * A seeded bijection of {@code [0, size)}: a balanced Feistel network over the smallest
+   * power-of-two domain that holds the range, cycle-walking until the result falls within it. The
+   * domain is less than four times the range, so a position takes few walks on average.
+   */
+  static final class Permutation {
+    private static final int ROUNDS = 4;
+
+    private final long size;
+    private final int half;
+    private final long mask;
+    private final long[] keys = new long[ROUNDS];
+
+    /** @param size the unsigned size of the range, at least {@code 1} */
+    Permutation(long size, long seed) {
+      this.size = size;
+      int bits = size == 1 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(size - 1);
+      this.half = (bits + 1) / 2;
+      this.mask = half == 0 ? 0 : -1L >>> (Long.SIZE - half);
+      SplittableRandom random = new SplittableRandom(seed);
+      for (int i = 0; i < ROUNDS; i++) {
+        keys[i] = random.nextLong();
+      }
+    }
+
+    /** Returns the unsigned index at the unsigned {@code position}, within {@code [0, size)}. */
+    long apply(long position) {
+      long index = position;
+      do {
+        index = encrypt(index);
+      } while (Long.compareUnsigned(index, size) >= 0);
+      return index;
+    }
+
+    private long encrypt(long value) {
+      long left = (value >>> half) & mask;
+      long right = value & mask;
+      for (long key : keys) {
+        long next = left ^ (Seeds.mix(right ^ key) & mask);
+        left = right;
+        right = next;
+      }
+      return (left << half) | right;
+    }
+  }
+
+  /**
+   * The distinct values of a space in permuted order, shared by the invocations of a scope or
+   * drawn by a source. It is safe for concurrent use.
+   */
+  static final class Sequence {
+    private final Space space;
+    private final Permutation permutation;
+    private final long seed;
+    private final AtomicLong position = new AtomicLong();
+
+    Sequence(Space space, long seed) {
+      this.space = space;
+      this.permutation = new Permutation(space.size(), seed);
+      this.seed = seed;
+    }
+
+    /** Whether every value has been drawn. */
+    boolean exhausted() {
+      return Long.compareUnsigned(position.get(), space.size()) >= 0;
+    }
+
+    /**
+     * Returns the next distinct value.
+     *
+     * @throws NoSuchElementException if every value has been drawn
+     */
+    Object next() {
+      long next = position.getAndIncrement();
+      if (Long.compareUnsigned(next, space.size()) >= 0) {
+        throw new NoSuchElementException(
+            String.format(
+                "Cannot generate more than %s unique values within the configured bounds",
+                Long.toUnsignedString(space.size())));
+      }
+      return space.get(permutation.apply(next), seed);
+    }
+  }
+}
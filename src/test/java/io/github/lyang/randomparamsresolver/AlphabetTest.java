@@ -0,0 +1,125 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.lang.reflect.Parameter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class AlphabetTest {
+  private static final String HEX = "0123456789abcdef";
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(AlphabetTest.class, name);
+  }
+
+  private static ResolutionPlan.Generator generator(String name) {
+    Parameter parameter = parameter(name);
+    Function<Randomize, ResolutionPlan.Generator> factory =
+        RandomParametersExtension.GENERATORS.get(parameter.getType());
+    return factory.apply(parameter.getAnnotation(Randomize.class));
+  }
+
+  private static Object generate(String name) {
+    return generator(name).generate(new SplittableRandom(0L));
+  }
+
+  @Test
+  void draws_every_character_equally() {
+    String alphabet = "abcdefghij";
+    int length = 1_000_000;
+    String value = Alphabet.of(alphabet).string(new SplittableRandom(0L), length);
+    assertThat(value).hasSize(length);
+    for (char c : alphabet.toCharArray()) {
+      assertThat(value.chars().filter(v -> v == c).count() / (double) length)
+          .isCloseTo(0.1, within(0.002));
+    }
+    assertThat(value.chars()).allMatch(c -> alphabet.indexOf(c) >= 0);
+  }
+
+  @Test
+  void fills_strings_and_arrays() {
+    String hex = (String) generate("hex");
+    assertThat(hex).hasSize(1 << 20).matches("[0-9a-f]+");
+    assertThat(generator("hex").generate(new SplittableRandom(0L))).isEqualTo(hex);
+
+    char[] chars = (char[]) generate("chars");
+    assertThat(chars).hasSize(100);
+    assertThat(new String(chars)).matches("[αβγ]+");
+
+    byte[] bytes = (byte[]) generate("bytes");
+    assertThat(bytes).hasSize(1 << 20);
+    assertThat(new String(bytes)).matches("[ACGT]+");
+
+    assertThat((String) generate("emoji")).matches("[a😀😃]{10}");
+    assertThat((String) generate("emojis")).matches("[a😀😃]{100}");
+    assertThat((String) generate("greek")).matches("[αβγ]{100}");
+    assertThat(Alphabet.of("x").string(new SplittableRandom(0L), 3)).isEqualTo("xxx");
+  }
+
+  @Test
+  void draws_unique_strings() {
+    ResolutionPlan.Generator generator = generator("ids");
+    UniqueGenerators.Sequence sequence =
+        new UniqueGenerators.Sequence((UniqueGenerators.Space) generator, 0L);
+    Set<Object> values = new HashSet<>();
+    IntStream.range(0, 256).forEach(i -> values.add(sequence.next()));
+    assertThat(values)
+        .hasSize(256)
+        .allSatisfy(value -> assertThat((String) value).matches("[0-9a-f]{2}"));
+    assertThat(sequence.exhausted()).isTrue();
+  }
+
+  @Test
+  void rejects_invalid_alphabets() {
+    assertThatThrownBy(() -> generate("repeated"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("alphabet (abca) must not repeat a");
+    assertThatThrownBy(() -> generate("wideBytes"))
+        .hasMessage("alphabet for byte[] must only contain Latin-1 characters");
+    assertThatThrownBy(() -> generate("supplementaryChars"))
+        .hasMessage("alphabet for char[] must not contain supplementary characters");
+    assertThatThrownBy(() -> generate("patterned"))
+        .hasMessage("alphabet cannot be combined with pattern");
+  }
+
+  @SuppressWarnings("unused")
+  private void hex(@Randomize(length = 1 << 20, alphabet = HEX) String value) {}
+
+  @SuppressWarnings("unused")
+  private void chars(@Randomize(length = 100, alphabet = "αβγ") char[] value) {}
+
+  @SuppressWarnings("unused")
+  private void bytes(@Randomize(length = 1 << 20, alphabet = "ACGT") byte[] value) {}
+
+  @SuppressWarnings("unused")
+  private void emoji(@Randomize(length = 10, alphabet = "a😀😃") String value) {}
+
+  @SuppressWarnings("unused")
+  private void emojis(@Randomize(length = 100, alphabet = "a😀😃") String value) {}
+
+  @SuppressWarnings("unused")
+  private void greek(@Randomize(length = 100, alphabet = "αβγ") String value) {}
+
+  @SuppressWarnings("unused")
+  private void ids(@Randomize(length = 2, alphabet = HEX, unique = true) String value) {}
+
+  @SuppressWarnings("unused")
+  private void repeated(@Randomize(alphabet = "abca") String value) {}
+
+  @SuppressWarnings("unused")
+  private void wideBytes(@Randomize(alphabet = "aβ") byte[] value) {}
+
+  @SuppressWarnings("unused")
+  private void supplementaryChars(@Randomize(alphabet = "a😀") char[] value) {}
+
+  @SuppressWarnings("unused")
+  private void patterned(@Randomize(alphabet = "ab", pattern = "[ab]+") String value) {}
+}
@@ -0,0 +1,171 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.LeapableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGenerator.StreamableGenerator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * The parameters measured by {@code RandomParametersExtensionBenchmark}, one per method. Each
+ * {@link RandomParametersExtension#GENERATORS} type is the parameter of at least one method, which
+ * {@link BenchmarkTargetsTest} checks against the benchmark's {@code target} values.
+ */
+@SuppressWarnings("unused")
+final class BenchmarkTargets {
+  private BenchmarkTargets() {}
+
+  void randomGenerator(@Randomize RandomGenerator value) {}
+
+  void splittableGenerator(@Randomize(algorithm = "L64X128MixRandom") SplittableGenerator value) {}
+
+  void jumpableGenerator(@Randomize(algorithm = "Xoshiro256PlusPlus") JumpableGenerator value) {}
+
+  void leapableGenerator(@Randomize(algorithm = "Xoshiro256PlusPlus") LeapableGenerator value) {}
+
+  void streamableGenerator(@Randomize(algorithm = "L64X128MixRandom") StreamableGenerator value) {}
+
+  void byteValue(@Randomize byte value) {}
+
+  void boxedByte(@Randomize Byte value) {}
+
+  void shortValue(@Randomize short value) {}
+
+  void boxedShort(@Randomize Short value) {}
+
+  void charValue(@Randomize char value) {}
+
+  void boxedCharacter(@Randomize Character value) {}
+
+  void intValue(@Randomize int value) {}
+
+  void boxedInteger(@Randomize Integer value) {}
+
+  void boundedInt(@Randomize(intMin = 0, intMax = 100) int value) {}
+
+  void longValue(@Randomize long value) {}
+
+  void boxedLong(@Randomize Long value) {}
+
+  void boundedLong(@Randomize(longMin = 0, longMax = 1L << 40) long value) {}
+
+  void floatValue(@Randomize float value) {}
+
+  void boxedFloat(@Randomize Float value) {}
+
+  void boundedFloat(@Randomize(floatMin = 0.0f, floatMax = 1.0f) float value) {}
+
+  void doubleValue(@Randomize double value) {}
+
+  void boxedDouble(@Randomize Double value) {}
+
+  void boundedDouble(@Randomize(doubleMin = 0.0, doubleMax = 1.0) double value) {}
+
+  void bigInteger(@Randomize BigInteger value) {}
+
+  void bigDecimal(@Randomize BigDecimal value) {}
+
+  void boundedBigDecimal(@Randomize(doubleMin = 0.0, doubleMax = 1.0) BigDecimal value) {}
+
+  void bigInteger4096(@Randomize(bitLength = 4096) BigInteger value) {}
+
+  void money(@Randomize(bigMin = "0.00", bigMax = "1000000.00") BigDecimal value) {}
+
+  void bytes16(@Randomize(length = 16) byte[] value) {}
+
+  void bytes1024(@Randomize(length = 1024) byte[] value) {}
+
+  void bytes65536(@Randomize(length = 65536) byte[] value) {}
+
+  void shorts1024(@Randomize(length = 1024) short[] value) {}
+
+  void chars1024(@Randomize(length = 1024) char[] value) {}
+
+  void ints1024(@Randomize(length = 1024) int[] value) {}
+
+  void ints4194304(@Randomize(length = 4194304) int[] value) {}
+
+  void longs1024(@Randomize(length = 1024) long[] value) {}
+
+  void floats1024(@Randomize(length = 1024, floatMin = 0.0f, floatMax = 1.0f) float[] value) {}
+
+  void doubles1024(@Randomize(length = 1024, doubleMin = 0.0, doubleMax = 1.0) double[] value) {}
+
+  void doubles4194304(
+      @Randomize(length = 4194304, doubleMin = 0.0, doubleMax = 1.0) double[] value) {}
+
+  void integerList(@Randomize(length = 1024) List<Integer> value) {}
+
+  void stringSet(@Randomize(length = 1024) Set<String> value) {}
+
+  void longStringMap(@Randomize(length = 1024) Map<Long, String> value) {}
+
+  void basicLatin(@Randomize(length = 64) String value) {}
+
+  void cjkUnifiedIdeographs(
+      @Randomize(length = 64, unicodeBlocks = "CJK_UNIFIED_IDEOGRAPHS") String value) {}
+
+  void emoticons(@Randomize(length = 64, unicodeBlocks = "EMOTICONS") String value) {}
+
+  void byteBuffer(@Randomize(length = 65536) ByteBuffer value) {}
+
+  void directByteBuffer(@Randomize(length = 65536, direct = true) ByteBuffer value) {}
+
+  void path(@Randomize(size = 65536) Path value) {}
+
+  void inputStream(@Randomize(size = 1L << 30) InputStream value) {}
+
+  void readableByteChannel(@Randomize(size = 1L << 30) ReadableByteChannel value) {}
+
+  void seekableByteChannel(@Randomize(size = 1L << 30) SeekableByteChannel value) {}
+
+  void intStream(@Randomize(intMin = 0, intMax = 100) IntStream value) {}
+
+  void longStream(@Randomize LongStream value) {}
+
+  void doubleStream(@Randomize(doubleMin = 0.0, doubleMax = 1.0) DoubleStream value) {}
+
+  void intSupplier(@Randomize(intMin = 0, intMax = 100) IntSupplier value) {}
+
+  void longSupplier(@Randomize LongSupplier value) {}
+
+  void doubleSupplier(@Randomize(doubleMin = 0.0, doubleMax = 1.0) DoubleSupplier value) {}
+
+  void hexKey(@Randomize(pattern = "[a-f0-9]{32}") String value) {}
+
+  void email(@Randomize(pattern = "[a-z]{3,12}@[a-z]{2,8}\\.(com|org|net)") String value) {}
+
+  void hexString1048576(@Randomize(length = 1 << 20, alphabet = "0123456789abcdef") String value) {}
+
+  void greekString1048576(@Randomize(length = 1 << 20, alphabet = "αβγδεζηθ") String value) {}
+
+  void hexBytes1048576(@Randomize(length = 1 << 20, alphabet = "0123456789abcdef") byte[] value) {}
+
+  void enumConstant(@Randomize Thread.State value) {}
+
+  void record(@Randomize Order value) {}
+
+  void recordList(@Randomize(length = 1024) List<Order> value) {}
+
+  record Customer(@Randomize(length = 8) String name, long id) {}
+
+  record Order(
+      @Randomize(intMin = 1, intMax = 100) int quantity, double price, Customer customer) {}
+}
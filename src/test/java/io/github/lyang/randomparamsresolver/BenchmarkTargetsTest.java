@@ -0,0 +1,52 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class BenchmarkTargetsTest {
+  private static final Path BENCHMARK =
+      Path.of(
+          "src/jmh/java/io/github/lyang/randomparamsresolver/RandomParametersExtensionBenchmark.java");
+
+  @Test
+  void covers_every_generator() {
+    Set<Class<?>> types =
+        Arrays.stream(BenchmarkTargets.class.getDeclaredMethods())
+            .map(method -> method.getParameterTypes()[0])
+            .collect(Collectors.toSet());
+    assertThat(types)
+        .containsAll(
+            RandomParametersExtension.GENERATORS.keySet().stream()
+                // not declarable in the Java 17 sources
+                .filter(type -> !type.getName().equals("java.lang.foreign.MemorySegment"))
+                .toList());
+  }
+
+  @Test
+  void benchmarks_every_target() throws IOException {
+    Matcher block = Pattern.compile("@Param\\(\\{([^}]*)}\\)").matcher(Files.readString(BENCHMARK));
+    assertThat(block.find()).isTrue();
+    Set<String> targets =
+        Pattern.compile("\"(\\w+)\"")
+            .matcher(block.group(1))
+            .results()
+            .map(result -> result.group(1))
+            .collect(Collectors.toSet());
+    assertThat(targets)
+        .containsExactlyInAnyOrderElementsOf(
+            Arrays.stream(BenchmarkTargets.class.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic())
+                .map(Method::getName)
+                .toList());
+  }
+}
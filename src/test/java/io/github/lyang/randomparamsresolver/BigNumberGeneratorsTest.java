@@ -0,0 +1,215 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class BigNumberGeneratorsTest {
+
+  private static Randomize annotation(String name) {
+    return TestParameters.annotation(BigNumberGeneratorsTest.class, name);
+  }
+
+  private static <T> List<T> generate(Generator generator, Class<T> type) {
+    SplittableRandom random = new SplittableRandom(0L);
+    return Stream.generate(() -> type.cast(generator.generate(random))).limit(1000).toList();
+  }
+
+  private static List<BigInteger> integers(String name) {
+    return generate(BigNumberGenerators.bigInteger(annotation(name)), BigInteger.class);
+  }
+
+  private static List<BigDecimal> decimals(String name) {
+    return generate(BigNumberGenerators.bigDecimal(annotation(name)), BigDecimal.class);
+  }
+
+  @Test
+  void long_bounds() {
+    assertThat(integers("longs"))
+        .allMatch(value -> value.compareTo(BigInteger.TEN) >= 0)
+        .allMatch(value -> value.compareTo(BigInteger.valueOf(20)) < 0);
+  }
+
+  @Test
+  void bit_length() {
+    List<BigInteger> values = integers("bits");
+    assertThat(values).allMatch(value -> value.signum() >= 0 && value.bitLength() <= 4096);
+    assertThat(values).anyMatch(value -> value.bitLength() == 4096).doesNotHaveDuplicates();
+    assertThat(integers("zeroBits")).containsOnly(BigInteger.ZERO);
+  }
+
+  @Test
+  void integer_precision() {
+    List<BigInteger> values = integers("digits");
+    assertThat(values).allMatch(value -> value.abs().toString().length() <= 3);
+    assertThat(values).anyMatch(value -> value.compareTo(BigInteger.valueOf(-900)) < 0);
+    assertThat(values).anyMatch(value -> value.compareTo(BigInteger.valueOf(900)) > 0);
+  }
+
+  @Test
+  void narrow_bounds_across_long_max() {
+    BigInteger min = BigInteger.valueOf(Long.MAX_VALUE - 4);
+    BigInteger max = min.add(BigInteger.TEN);
+    assertThat(generate(BigNumberGenerators.between(min, max), BigInteger.class))
+        .allMatch(value -> value.compareTo(min) >= 0 && value.compareTo(max) < 0)
+        .anyMatch(value -> value.bitLength() == Long.SIZE);
+  }
+
+  @Test
+  void integer_bounds() {
+    BigInteger min = new BigInteger("-100000000000000000000000000000");
+    BigInteger max = new BigInteger("-99999999999999999999999999990");
+    assertThat(integers("hugeIntegers"))
+        .allMatch(value -> value.compareTo(min) >= 0 && value.compareTo(max) < 0)
+        .contains(min, max.subtract(BigInteger.ONE));
+    assertThat(integers("wideIntegers"))
+        .allMatch(value -> value.compareTo(BigInteger.ZERO) >= 0)
+        .allMatch(value -> value.compareTo(BigInteger.ONE.shiftLeft(64)) < 0);
+  }
+
+  @Test
+  void decimal_bounds() {
+    List<BigDecimal> values = decimals("money");
+    assertThat(values)
+        .allMatch(value -> value.scale() == 2)
+        .allMatch(value -> value.compareTo(BigDecimal.ZERO) >= 0)
+        .allMatch(value -> value.compareTo(new BigDecimal("10.00")) < 0)
+        .contains(new BigDecimal("0.00"));
+    assertThat(decimals("rescaled"))
+        .allMatch(value -> value.scale() == 1)
+        .allMatch(value -> value.compareTo(new BigDecimal("0.1")) >= 0)
+        .allMatch(value -> value.compareTo(new BigDecimal("0.3")) < 0)
+        .containsOnly(new BigDecimal("0.1"), new BigDecimal("0.2"));
+  }
+
+  @Test
+  void decimal_precision() {
+    assertThat(decimals("decimal"))
+        .allMatch(value -> value.scale() == 2 && value.precision() <= 5)
+        .allMatch(value -> value.abs().compareTo(new BigDecimal("1000")) < 0);
+    assertThat(decimals("decimalBits"))
+        .allMatch(value -> value.scale() == 0 && value.signum() >= 0)
+        .allMatch(value -> value.compareTo(new BigDecimal(256)) < 0);
+  }
+
+  @Test
+  void decimal_defaults() {
+    assertThat(decimals("unbounded"))
+        .allMatch(value -> value.scale() == BigNumberGenerators.DEFAULT_SCALE)
+        .allMatch(value -> value.signum() >= 0 && value.compareTo(BigDecimal.ONE) < 0);
+    assertThat(decimals("coordinates"))
+        .allMatch(value -> value.scale() == BigNumberGenerators.DEFAULT_SCALE)
+        .allMatch(value -> value.compareTo(new BigDecimal(-180)) >= 0)
+        .allMatch(value -> value.compareTo(new BigDecimal(180)) < 0);
+  }
+
+  @Test
+  void uniform_below() {
+    BigInteger bound = BigInteger.ONE.shiftLeft(100).add(BigInteger.ONE);
+    SplittableRandom random = new SplittableRandom(0L);
+    long high =
+        Stream.generate(() -> BigNumberGenerators.below(random, bound))
+            .limit(10_000)
+            .filter(value -> value.testBit(99))
+            .count();
+    assertThat(high).isBetween(4_500L, 5_500L);
+  }
+
+  @Test
+  void invalid() {
+    assertThatThrownBy(() -> BigNumberGenerators.bigInteger(annotation("exclusive")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("only one of bigMin and bigMax, bitLength or precision can be set");
+    assertThatThrownBy(() -> BigNumberGenerators.bigInteger(annotation("notANumber")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bigMin (1.5) is not a number");
+    assertThatThrownBy(() -> BigNumberGenerators.bigDecimal(annotation("onlyMax")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bigMin () is not a number");
+    assertThatThrownBy(() -> BigNumberGenerators.bigInteger(annotation("reversed")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bigMin (5) must be less than bigMax (5)");
+    assertThatThrownBy(() -> BigNumberGenerators.bigDecimal(annotation("reversed")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bigMin (5) must be less than bigMax (5)");
+    assertThatThrownBy(() -> BigNumberGenerators.bigDecimal(annotation("tooCoarse")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("no value of scale 0 is in [0.1, 0.5)");
+    assertThatThrownBy(() -> BigNumberGenerators.bigInteger(annotation("noDigits")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("precision (0) must be positive");
+    assertThatThrownBy(() -> BigNumberGenerators.bigInteger(annotation("negativeBits")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("bitLength (-2) must not be negative");
+  }
+
+  @SuppressWarnings("unused")
+  private void longs(@Randomize(longMin = 10, longMax = 20) BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void bits(@Randomize(bitLength = 4096) BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void zeroBits(@Randomize(bitLength = 0) BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void digits(@Randomize(precision = 3) BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void hugeIntegers(
+      @Randomize(
+              bigMin = "-100000000000000000000000000000",
+              bigMax = "-99999999999999999999999999990")
+          BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void wideIntegers(
+      @Randomize(bigMin = "0", bigMax = "18446744073709551616") BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void money(@Randomize(bigMin = "0.00", bigMax = "10") BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void rescaled(@Randomize(bigMin = "0.05", bigMax = "0.25", scale = 1) BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void decimal(@Randomize(precision = 5, scale = 2) BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void decimalBits(@Randomize(bitLength = 8) BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void unbounded(@Randomize BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void coordinates(@Randomize(doubleMin = -180, doubleMax = 180) BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void exclusive(@Randomize(bitLength = 8, precision = 3) BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void notANumber(@Randomize(bigMin = "1.5", bigMax = "2") BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void onlyMax(@Randomize(bigMax = "2") BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void reversed(@Randomize(bigMin = "5", bigMax = "5") BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void tooCoarse(@Randomize(bigMin = "0.1", bigMax = "0.5", scale = 0) BigDecimal value) {}
+
+  @SuppressWarnings("unused")
+  private void noDigits(@Randomize(precision = 0) BigInteger value) {}
+
+  @SuppressWarnings("unused")
+  private void negativeBits(@Randomize(bitLength = -2) BigInteger value) {}
+}
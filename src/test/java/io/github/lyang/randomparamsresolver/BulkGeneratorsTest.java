@@ -0,0 +1,228 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.IntStream;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+class BulkGeneratorsTest {
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(BulkGeneratorsTest.class, name);
+  }
+
+  private static Randomize annotation(String name) {
+    return TestParameters.annotation(BulkGeneratorsTest.class, name);
+  }
+
+  private static Object collection(String name, RandomGenerator random) {
+    Parameter parameter = parameter(name);
+    return BulkGenerators.collection(
+            parameter.getParameterizedType(), RandomParametersExtension.GENERATORS::get)
+        .apply(parameter.getAnnotation(Randomize.class))
+        .generate(random);
+  }
+
+  private static List<Object> elements(Generator generator) {
+    Object array = generator.generate(new Random(0L));
+    return IntStream.range(0, Array.getLength(array)).mapToObj(i -> Array.get(array, i)).toList();
+  }
+
+  @Test
+  void bounded_arrays() {
+    Randomize annotation = annotation("small");
+    assertThat(elements(BulkGenerators.ints(annotation)))
+        .hasSize(100)
+        .allMatch(value -> (int) value >= 10 && (int) value < 20);
+    assertThat(elements(BulkGenerators.longs(annotation)))
+        .hasSize(100)
+        .allMatch(value -> (long) value >= 10 && (long) value < 20);
+    assertThat(elements(BulkGenerators.shorts(annotation)))
+        .hasSize(100)
+        .allMatch(value -> (short) value >= 10 && (short) value < 20);
+    assertThat(elements(BulkGenerators.chars(annotation)))
+        .hasSize(100)
+        .allMatch(value -> (char) value >= 'a' && (char) value < 'z');
+    assertThat(elements(BulkGenerators.floats(annotation)))
+        .hasSize(100)
+        .allMatch(value -> (float) value >= 1.0f && (float) value < 2.0f);
+    assertThat(elements(BulkGenerators.doubles(annotation)))
+        .hasSize(100)
+        .allMatch(value -> (double) value >= 1.0 && (double) value < 2.0);
+  }
+
+  @Test
+  void unbounded_floating_point_arrays() {
+    Randomize annotation = annotation("unbounded");
+    assertThat(elements(BulkGenerators.floats(annotation)))
+        .allMatch(value -> (float) value >= 0.0f && (float) value < 1.0f);
+    assertThat(elements(BulkGenerators.doubles(annotation)))
+        .allMatch(value -> (double) value >= 0.0 && (double) value < 1.0);
+  }
+
+  @Test
+  void large_arrays_are_reproducible() {
+    for (Function<Randomize, Generator> factory :
+        List.<Function<Randomize, Generator>>of(BulkGenerators::ints, BulkGenerators::doubles)) {
+      Generator generator = factory.apply(annotation("large"));
+      Object first = generator.generate(new Random(42L));
+      assertThat(generator.generate(new Random(42L))).isEqualTo(first);
+      assertThat(generator.generate(new Random(43L))).isNotEqualTo(first);
+
+      RandomGenerator splittable = RandomGeneratorFactory.of("L64X128MixRandom").create(42L);
+      Object split = generator.generate(splittable);
+      assertThat(generator.generate(RandomGeneratorFactory.of("L64X128MixRandom").create(42L)))
+          .isEqualTo(split);
+    }
+  }
+
+  @Test
+  void large_arrays_fill_every_chunk() {
+    int[] values =
+        (int[]) BulkGenerators.ints(annotation("large")).generate(new SplittableRandom());
+    assertThat(values).hasSize(BulkGenerators.PARALLEL_THRESHOLD + 1).contains(1);
+    assertThat(values[values.length - 1]).isBetween(1, 2);
+  }
+
+  @Test
+  void large_arrays_count_rejections_of_every_chunk() {
+    Generator generator = BulkGenerators.ints(annotation("gaussian"));
+    ResolutionMetrics.begin();
+    generator.generate(new SplittableRandom(0L));
+    // about 0.27% of gaussian samples fall outside 3 deviations and are drawn again
+    assertThat(ResolutionMetrics.end()).isGreaterThan(BulkGenerators.PARALLEL_THRESHOLD / 1000);
+  }
+
+  @Test
+  void collections() {
+    Random random = new Random(0L);
+    assertThat(collection("list", random))
+        .asInstanceOf(InstanceOfAssertFactories.LIST)
+        .hasSize(5)
+        .allSatisfy(value -> assertThat((Integer) value).isBetween(0, 9));
+    assertThat((Collection<?>) collection("set", random)).isInstanceOf(Set.class).hasSize(10);
+    assertThat((Map<?, ?>) collection("map", random))
+        .hasSize(3)
+        .allSatisfy(
+            (key, value) -> {
+              assertThat((Long) key).isBetween(0L, 9L);
+              assertThat((String) value).hasSize(5);
+            });
+  }
+
+  @Test
+  void elements_take_their_own_length() {
+    assertThat(collection("strings", new Random(0L)))
+        .asInstanceOf(InstanceOfAssertFactories.LIST)
+        .hasSize(1000)
+        .allSatisfy(value -> assertThat((String) value).hasSize(3));
+  }
+
+  @Test
+  void impossible_distinct_collections() {
+    Random random = new Random(0L);
+    assertThatThrownBy(() -> collection("impossibleSet", random))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessage("Cannot generate 11 distinct values within the configured bounds");
+    assertThatThrownBy(() -> collection("impossibleMap", random))
+        .isInstanceOf(ParameterResolutionException.class);
+  }
+
+  @Test
+  void unsupported_collections() {
+    for (String name :
+        List.of("raw", "wildcard", "generators", "unsupportedElement", "unsupportedCollection")) {
+      assertThat(
+              BulkGenerators.collection(
+                  parameter(name).getParameterizedType(),
+                  RandomParametersExtension.GENERATORS::get))
+          .withFailMessage(name)
+          .isNull();
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private void small(
+      @Randomize(
+              length = 100,
+              intMin = 10,
+              intMax = 20,
+              longMin = 10,
+              longMax = 20,
+              shortMin = 10,
+              shortMax = 20,
+              charMin = 'a',
+              charMax = 'z',
+              floatMin = 1.0f,
+              floatMax = 2.0f,
+              doubleMin = 1.0,
+              doubleMax = 2.0)
+          Object value) {}
+
+  @SuppressWarnings("unused")
+  private void unbounded(@Randomize Object value) {}
+
+  @SuppressWarnings("unused")
+  private void large(
+      @Randomize(length = BulkGenerators.PARALLEL_THRESHOLD + 1, intMin = 1, intMax = 3)
+          Object value) {}
+
+  @SuppressWarnings("unused")
+  private void gaussian(
+      @Randomize(
+              length = BulkGenerators.PARALLEL_THRESHOLD,
+              intMin = 0,
+              intMax = 1000,
+              distribution = Randomize.Distribution.GAUSSIAN)
+          Object value) {}
+
+  @SuppressWarnings("unused")
+  private void list(@Randomize(intMin = 0, intMax = 10) List<Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void set(@Randomize(length = 10, intMin = 0, intMax = 10) Set<Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void map(@Randomize(length = 3, longMin = 0, longMax = 10) Map<Long, String> value) {}
+
+  @SuppressWarnings("unused")
+  private void strings(@Randomize(length = 1000, elementLength = 3) List<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void impossibleSet(@Randomize(length = 11, intMin = 0, intMax = 10) Set<Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void impossibleMap(
+      @Randomize(length = 11, intMin = 0, intMax = 10) Map<Integer, String> value) {}
+
+  @SuppressWarnings({"unused", "rawtypes"})
+  private void raw(@Randomize List value) {}
+
+  @SuppressWarnings("unused")
+  private void wildcard(@Randomize List<?> value) {}
+
+  @SuppressWarnings("unused")
+  private void generators(@Randomize List<RandomGenerator> value) {}
+
+  @SuppressWarnings("unused")
+  private void unsupportedElement(@Randomize List<Object> value) {}
+
+  @SuppressWarnings("unused")
+  private void unsupportedCollection(@Randomize Collection<Integer> value) {}
+}
@@ -0,0 +1,63 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CodePointSamplerTest {
+
+  @Test
+  void samples_from_selected_blocks() {
+    CodePointSampler sampler = CodePointSampler.of("EMOTICONS", "CJK_UNIFIED_IDEOGRAPHS");
+    Set<Character.UnicodeBlock> blocks =
+        Set.of(Character.UnicodeBlock.EMOTICONS, Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS);
+    Random random = new Random(0L);
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(Character.UnicodeBlock.of(sampler.next(random))).isIn(blocks);
+    }
+  }
+
+  @Test
+  void covers_whole_block() {
+    CodePointSampler sampler = CodePointSampler.of("BASIC_LATIN");
+    Random random = new Random(0L);
+    assertThat(IntStream.generate(() -> sampler.next(random)).limit(10_000).distinct().count())
+        .isEqualTo(128);
+  }
+
+  @Test
+  void reproducible_with_seed() {
+    CodePointSampler sampler = CodePointSampler.of("EMOTICONS");
+    Random first = new Random(42L);
+    Random second = new Random(42L);
+    for (int i = 0; i < 100; i++) {
+      assertThat(sampler.next(first)).isEqualTo(sampler.next(second));
+    }
+  }
+
+  @Test
+  void duplicate_blocks_are_ignored() {
+    CodePointSampler sampler = CodePointSampler.of("BASIC_LATIN", "BASIC_LATIN");
+    Random random = new Random(0L);
+    for (int i = 0; i < 1_000; i++) {
+      assertThat(sampler.next(random)).isBetween(0, 127);
+    }
+  }
+
+  @Test
+  void unknown_block() {
+    assertThatThrownBy(() -> CodePointSampler.of("NOT_A_BLOCK"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void no_blocks() {
+    assertThatThrownBy(CodePointSampler::of)
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("unicode block");
+  }
+}
@@ -0,0 +1,356 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+import java.io.IOException;
+import java.lang.reflect.Parameter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CustomGeneratorsTest {
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(CustomGeneratorsTest.class, name);
+  }
+
+  private static Object discover(String name) {
+    return CustomGenerators.discovered(parameter(name).getParameterizedType())
+        .apply(new GeneratedRandomize(Map.of()))
+        .generate(new SplittableRandom(0L));
+  }
+
+  private static Object generate(Class<?> generatorType, String name) {
+    return CustomGenerators.named(generatorType, parameter(name).getParameterizedType())
+        .apply(new GeneratedRandomize(Map.of()))
+        .generate(new SplittableRandom(0L));
+  }
+
+  @Test
+  void discovers_generators_of_types_and_supertypes() {
+    assertThat(discover("id")).isInstanceOf(UUID.class);
+    assertThat(discover("shape")).isInstanceOf(Circle.class);
+    assertThat(discover("polygon")).isInstanceOf(Square.class);
+    assertThat(discover("ticket")).isInstanceOf(Ticket.class);
+    assertThat(CustomGenerators.discovered(parameter("names").getParameterizedType())).isNull();
+    assertThat(CustomGenerators.discovered(Integer.class)).isNull();
+  }
+
+  @Test
+  void passes_the_annotation() {
+    Parameter square = parameter("square");
+    assertThat(
+            CustomGenerators.discovered(Square.class)
+                .apply(square.getAnnotation(Randomize.class))
+                .generate(new SplittableRandom(0L)))
+        .isEqualTo(new Square(7));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void resolves_elements_and_components() {
+    Parameter ids = parameter("ids");
+    assertThat(
+            (List<Object>)
+                BulkGenerators.collection(
+                        ids.getParameterizedType(),
+                        ObjectGenerators.elements(RandomParametersExtension.GENERATORS))
+                    .apply(ids.getAnnotation(Randomize.class))
+                    .generate(new SplittableRandom(0L)))
+        .hasSize(3)
+        .hasOnlyElementsOfType(UUID.class);
+    Shipment shipment =
+        (Shipment)
+            ObjectGenerators.object(Shipment.class, RandomParametersExtension.GENERATORS)
+                .apply(new GeneratedRandomize(Map.of()))
+                .generate(new SplittableRandom(0L));
+    assertThat(shipment.labels()).isInstanceOf(ArrayList.class).hasSize(2);
+    assertThat(shipment.ids()).hasSize(5);
+  }
+
+  @Test
+  void reports_invalid_discovered_generators() {
+    assertThat(CustomGenerators.candidates(UUID.class, List.of(Circles.class, Ids.class)))
+        .singleElement()
+        .isInstanceOf(Ids.class);
+    assertThatThrownBy(
+            () -> CustomGenerators.candidates(UUID.class, List.of(Ids.class, Unbound.class)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            Unbound.class.getName()
+                + " must implement RandomValueGenerator with a concrete type argument");
+  }
+
+  @Test
+  void orders_candidates_by_distance_then_discovery() {
+    assertThat(
+            CustomGenerators.candidates(
+                Shape.class, List.of(Squares.class, Circles.class, Tickets.class)))
+        .extracting(Object::getClass)
+        .containsExactly(Circles.class, Squares.class);
+    assertThat(CustomGenerators.candidates(UUID.class, List.of(MoreIds.class, Ids.class)))
+        .extracting(Object::getClass)
+        .containsExactly(MoreIds.class, Ids.class);
+  }
+
+  @Test
+  void defers_discovery_failures_to_the_parameters_reaching_them() {
+    Function<Randomize, ResolutionPlan.Generator> factory =
+        CustomGenerators.discovered(
+            UUID.class,
+            type -> CustomGenerators.candidates(type, List.of(Ids.class, Unbound.class)));
+    assertThatThrownBy(() -> factory.apply(new GeneratedRandomize(Map.of())))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageEndingWith("must implement RandomValueGenerator with a concrete type argument");
+  }
+
+  @Test
+  void reports_unloadable_providers(@TempDir Path directory) throws IOException {
+    Path services = directory.resolve("META-INF/services");
+    Files.createDirectories(services);
+    Files.writeString(
+        services.resolve(RandomValueGenerator.class.getName()), "io.github.lyang.Missing\n");
+    try (URLClassLoader loader =
+        new URLClassLoader(
+            new URL[] {directory.toUri().toURL()}, CustomGeneratorsTest.class.getClassLoader())) {
+      assertThatThrownBy(
+              () -> CustomGenerators.load(ServiceLoader.load(RandomValueGenerator.class, loader)))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageStartingWith("Cannot load discovered RandomValueGenerator: ")
+          .hasMessageContaining("io.github.lyang.Missing");
+    }
+  }
+
+  @Test
+  void matches_type_arguments_along_the_supertype_walk() {
+    assertThat(generate(Labels.class, "texts")).isEqualTo(List.of("a", "a"));
+    assertThat(generate(Labels.class, "sinks")).isEqualTo(List.of("a", "a"));
+    assertThat(generate(Labels.class, "iterable")).isEqualTo(List.of("a", "a"));
+    assertThat(generate(Labels.class, "bounded")).isEqualTo(List.of("a", "a"));
+    assertThat(generate(Nested.class, "nested")).isEqualTo(List.of(List.of("a")));
+    assertThat(generate(Holders.class, "names")).isEqualTo(new Holder<>(null));
+    assertThat(generate(Anything.class, "names")).isEqualTo(new Holder<>(null));
+    assertThat(generate(Pairs.class, "ticket")).isEqualTo(new Pair<>("a", null));
+    assertThat(generate(Grids.class, "grid")).isInstanceOf(List[].class);
+    assertThatThrownBy(() -> generate(Labels.class, "amounts"))
+        .hasMessageEndingWith("not java.util.List<? extends java.lang.Number>");
+    assertThatThrownBy(() -> generate(Labels.class, "counters"))
+        .hasMessageEndingWith("not java.util.List<? super java.lang.Integer>");
+    assertThatThrownBy(() -> generate(Nested.class, "nestedNumbers"))
+        .hasMessageEndingWith("not java.util.List<? extends java.util.List<java.lang.Integer>>");
+  }
+
+  @Test
+  void names_generators_of_matching_types() {
+    assertThat(generate(Labels.class, "labels")).isEqualTo(List.of("a", "a"));
+    assertThatThrownBy(() -> generate(Labels.class, "numbers"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Labels generates java.util.ArrayList<java.lang.String>, not"
+                + " java.util.List<java.lang.Integer>");
+    assertThatThrownBy(() -> generate(Labels.class, "id"))
+        .hasMessage("Labels generates java.util.ArrayList<java.lang.String>, not java.util.UUID");
+    assertThatThrownBy(() -> generate(Unbound.class, "id"))
+        .hasMessage(
+            Unbound.class.getName()
+                + " must implement RandomValueGenerator with a concrete type argument");
+    assertThatThrownBy(() -> generate(Stateful.class, "id"))
+        .hasMessageStartingWith("Cannot instantiate " + Stateful.class.getName());
+    assertThatThrownBy(() -> generate(Square.class, "id"))
+        .hasMessage(Square.class.getName() + " is not a RandomValueGenerator");
+  }
+
+  public interface Shape {}
+
+  public interface Polygon extends Shape {}
+
+  public record Circle(double radius) implements Shape {}
+
+  public record Square(int side) implements Polygon {}
+
+  public interface Box<T> {
+    T value();
+  }
+
+  public record Ticket(UUID value) implements Box<UUID> {}
+
+  public record Holder<T>(T value) implements Box<T> {}
+
+  public record Pair<A, B>(A first, B value) implements Box<B> {}
+
+  record Shipment(UUID id, @RandomizeWith(Labels.class) List<String> labels, List<UUID> ids) {}
+
+  public static final class Ids implements RandomValueGenerator<UUID> {
+    @Override
+    public UUID generate(RandomGenerator random, Randomize annotation) {
+      return new UUID(random.nextLong(), random.nextLong());
+    }
+  }
+
+  public static final class MoreIds implements RandomValueGenerator<UUID> {
+    @Override
+    public UUID generate(RandomGenerator random, Randomize annotation) {
+      return new UUID(0, random.nextLong());
+    }
+  }
+
+  public static final class Circles implements RandomValueGenerator<Circle> {
+    @Override
+    public Circle generate(RandomGenerator random, Randomize annotation) {
+      return new Circle(random.nextDouble());
+    }
+  }
+
+  public static final class Squares implements RandomValueGenerator<Square> {
+    @Override
+    public Square generate(RandomGenerator random, Randomize annotation) {
+      return new Square(random.nextInt(annotation.intMin(), annotation.intMax()));
+    }
+  }
+
+  public static final class Tickets implements RandomValueGenerator<Ticket> {
+    @Override
+    public Ticket generate(RandomGenerator random, Randomize annotation) {
+      return new Ticket(new UUID(random.nextLong(), random.nextLong()));
+    }
+  }
+
+  /** Never used: collections of supported elements resolve before discovered generators. */
+  public static final class IdLists implements RandomValueGenerator<ArrayList<UUID>> {
+    @Override
+    public ArrayList<UUID> generate(RandomGenerator random, Randomize annotation) {
+      return new ArrayList<>();
+    }
+  }
+
+  static final class Labels implements RandomValueGenerator<ArrayList<String>> {
+    @Override
+    public ArrayList<String> generate(RandomGenerator random, Randomize annotation) {
+      return new ArrayList<>(List.of("a", "a"));
+    }
+  }
+
+  static final class Nested implements RandomValueGenerator<ArrayList<List<String>>> {
+    @Override
+    public ArrayList<List<String>> generate(RandomGenerator random, Randomize annotation) {
+      return new ArrayList<>(List.of(List.of("a")));
+    }
+  }
+
+  static final class Holders<T> implements RandomValueGenerator<Holder<T>> {
+    @Override
+    public Holder<T> generate(RandomGenerator random, Randomize annotation) {
+      return new Holder<>(null);
+    }
+  }
+
+  static final class Anything implements RandomValueGenerator<Holder<?>> {
+    @Override
+    public Holder<?> generate(RandomGenerator random, Randomize annotation) {
+      return new Holder<>(null);
+    }
+  }
+
+  static final class Pairs implements RandomValueGenerator<Pair<String, UUID>> {
+    @Override
+    public Pair<String, UUID> generate(RandomGenerator random, Randomize annotation) {
+      return new Pair<>("a", null);
+    }
+  }
+
+  static final class Grids implements RandomValueGenerator<List<String>[]> {
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String>[] generate(RandomGenerator random, Randomize annotation) {
+      return new List[0];
+    }
+  }
+
+  static final class Unbound<T> implements RandomValueGenerator<T> {
+    @Override
+    public T generate(RandomGenerator random, Randomize annotation) {
+      return null;
+    }
+  }
+
+  static final class Stateful implements RandomValueGenerator<UUID> {
+    private final long seed;
+
+    Stateful(long seed) {
+      this.seed = seed;
+    }
+
+    @Override
+    public UUID generate(RandomGenerator random, Randomize annotation) {
+      return new UUID(seed, seed);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private void id(UUID value) {}
+
+  @SuppressWarnings("unused")
+  private void shape(Shape value) {}
+
+  @SuppressWarnings("unused")
+  private void polygon(Polygon value) {}
+
+  @SuppressWarnings("unused")
+  private void ticket(Box<UUID> value) {}
+
+  @SuppressWarnings("unused")
+  private void names(Box<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void square(@Randomize(intMin = 7, intMax = 8) Square value) {}
+
+  @SuppressWarnings("unused")
+  private void ids(@Randomize(length = 3) List<UUID> value) {}
+
+  @SuppressWarnings("unused")
+  private void labels(List<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void numbers(List<Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void texts(List<? extends CharSequence> value) {}
+
+  @SuppressWarnings("unused")
+  private void sinks(List<? super String> value) {}
+
+  @SuppressWarnings("unused")
+  private void iterable(Iterable<String> value) {}
+
+  @SuppressWarnings("unused")
+  private <T extends CharSequence> void bounded(List<? extends T> value) {}
+
+  @SuppressWarnings("unused")
+  private void amounts(List<? extends Number> value) {}
+
+  @SuppressWarnings("unused")
+  private void counters(List<? super Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void nested(List<? extends List<String>> value) {}
+
+  @SuppressWarnings("unused")
+  private void nestedNumbers(List<? extends List<Integer>> value) {}
+
+  @SuppressWarnings("unused")
+  private void grid(List<String>[] value) {}
+}
@@ -0,0 +1,404 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import io.github.lyang.randomparamsresolver.Distributions.AliasTable;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Distribution;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+class DistributionsTest {
+  private static final int DRAWS = 100_000;
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(DistributionsTest.class, name);
+  }
+
+  private static Function<Randomize, ResolutionPlan.Generator> factory(Parameter parameter) {
+    Function<Randomize, ResolutionPlan.Generator> factory =
+        RandomParametersExtension.GENERATORS.get(parameter.getType());
+    if (factory == null) {
+      factory =
+          BulkGenerators.collection(
+              parameter.getParameterizedType(),
+              ObjectGenerators.elements(RandomParametersExtension.GENERATORS));
+    }
+    return factory != null
+        ? factory
+        : ObjectGenerators.object(parameter.getType(), RandomParametersExtension.GENERATORS);
+  }
+
+  private static ResolutionPlan plan(String name) {
+    Parameter parameter = parameter(name);
+    return ResolutionPlan.of(
+        parameter,
+        parameter.getAnnotation(Randomize.class),
+        factory(parameter),
+        RandomParametersExtension.DEFAULT_ALGORITHM);
+  }
+
+  private static Object generate(String name) {
+    return plan(name).generator().generate(new SplittableRandom(0L));
+  }
+
+  @Test
+  void alias_tables_follow_their_weights() {
+    AliasTable table = new AliasTable(new double[] {1, 0, 3, 6});
+    SplittableRandom random = new SplittableRandom(0L);
+    int[] counts = new int[table.size()];
+    for (int i = 0; i < DRAWS; i++) {
+      counts[table.next(random)]++;
+    }
+    assertThat(counts[1]).isZero();
+    assertThat(counts[0] / (double) DRAWS).isCloseTo(0.1, within(0.01));
+    assertThat(counts[2] / (double) DRAWS).isCloseTo(0.3, within(0.01));
+    assertThat(counts[3] / (double) DRAWS).isCloseTo(0.6, within(0.01));
+  }
+
+  @Test
+  void zipf_skews_towards_the_minimum() {
+    int[] values = (int[]) generate("zipf");
+    Map<Integer, Long> counts =
+        Arrays.stream(values).boxed().collect(Collectors.groupingBy(v -> v, Collectors.counting()));
+    double harmonic = IntStream.rangeClosed(1, 1000).mapToDouble(k -> 1.0 / k).sum();
+    assertThat(Arrays.stream(values)).allMatch(value -> value >= 1 && value < 1001);
+    assertThat(counts.get(1) / (double) DRAWS).isCloseTo(1 / harmonic, within(0.01));
+    assertThat(counts.get(2) / (double) DRAWS).isCloseTo(0.5 / harmonic, within(0.01));
+  }
+
+  @Test
+  void shares_alias_tables_per_spec() {
+    SpecCache cache = new SpecCache();
+    cache.bind(() -> plan("zipf"));
+    cache.bind(() -> plan("slices"));
+    assertThat(cache.bind(() -> SpecCache.<Object>get("ZIPF 1000 1.0", () -> null))).isNotNull();
+    assertThat(cache.bind(() -> SpecCache.<Object>get("WEIGHTED [0.0, 1.0]", () -> null)))
+        .isNotNull();
+  }
+
+  @Test
+  void continuous_distributions_stay_within_bounds() {
+    double[] gaussian = (double[]) generate("gaussian");
+    assertThat(Arrays.stream(gaussian)).allMatch(value -> value >= -3 && value < 3);
+    assertThat(Arrays.stream(gaussian).average().orElseThrow()).isCloseTo(0, within(0.02));
+    assertThat(
+            Math.sqrt(Arrays.stream(gaussian).map(value -> value * value).average().orElseThrow()))
+        .isCloseTo(1, within(0.02));
+
+    long[] exponential = (long[]) generate("exponential");
+    assertThat(Arrays.stream(exponential)).allMatch(value -> value >= 0 && value < 8000);
+    assertThat(Arrays.stream(exponential).average().orElseThrow()).isCloseTo(1000, within(20.0));
+
+    double[] decaying = (double[]) generate("decaying");
+    assertThat(Arrays.stream(decaying)).allMatch(value -> value >= 0 && value < 8);
+    assertThat(Arrays.stream(decaying).average().orElseThrow()).isCloseTo(1, within(0.02));
+  }
+
+  @Test
+  void scalars_follow_their_distributions() {
+    SplittableRandom random = new SplittableRandom(0L);
+    ResolutionPlan.Generator longs = plan("gaussianLong").generator();
+    ResolutionPlan.Generator floats = plan("exponentialFloat").generator();
+    ResolutionPlan.Generator doubles = plan("gaussianDouble").generator();
+    for (int i = 0; i < 1000; i++) {
+      assertThat((long) longs.generate(random)).isBetween(-100L, 99L);
+      assertThat((float) floats.generate(random)).isGreaterThanOrEqualTo(0f).isLessThan(8f);
+      assertThat((double) doubles.generate(random)).isGreaterThanOrEqualTo(-3).isLessThan(3);
+    }
+    float[] values = (float[]) generate("exponentialFloats");
+    assertThat(values).hasSize(DRAWS);
+    for (float value : values) {
+      assertThat(value).isGreaterThanOrEqualTo(0f).isLessThan(8f);
+    }
+    assertThat(plan("reading").generator().generate(random)).isInstanceOf(Reading.class);
+  }
+
+  @Test
+  void weighted_doubles_draw_within_their_slice() {
+    double[] values = (double[]) generate("weightedDoubles");
+    assertThat(Arrays.stream(values)).allMatch(value -> value >= 5 && value < 10);
+    // slices narrower than a double collapse to their lower edge
+    assertThat((double[]) generate("tiny")).containsOnly(0.0);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void weighted_enums_and_slices() {
+    Map<Level, Long> levels =
+        ((List<Level>) generate("levels"))
+            .stream().collect(Collectors.groupingBy(level -> level, Collectors.counting()));
+    assertThat(levels).doesNotContainKey(Level.HIGH);
+    assertThat(levels.get(Level.LOW) / 1000.0).isCloseTo(0.75, within(0.05));
+
+    SplittableRandom random = new SplittableRandom(0L);
+    ResolutionPlan.Generator slices = plan("slices").generator();
+    for (int i = 0; i < 1000; i++) {
+      assertThat((int) slices.generate(random)).isBetween(50, 99);
+    }
+    assertThat(plan("level").generator().generate(random)).isInstanceOf(Level.class);
+  }
+
+  @Test
+  void rejects_invalid_distributions() {
+    assertThatThrownBy(() -> plan("unweighted"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("distribution WEIGHTED requires weights");
+    assertThatThrownBy(() -> plan("discrete"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("distribution ZIPF requires integer values");
+    assertThatThrownBy(() -> plan("large"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("distribution ZIPF supports at most 4194304 values, not 2147483647");
+    assertThatThrownBy(() -> plan("strings"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith(
+            "distribution GAUSSIAN is not supported for java.util.List<java.lang.String>");
+    assertThatThrownBy(() -> plan("unique"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("unique cannot be combined with distribution EXPONENTIAL");
+    assertThatThrownBy(() -> plan("infinite"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("distribution GAUSSIAN requires finite bounds");
+    assertThatThrownBy(() -> plan("text"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("distribution GAUSSIAN is not supported for String");
+    assertThatThrownBy(() -> plan("wildcard"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith(
+            "distribution GAUSSIAN is not supported for java.util.List<? extends"
+                + " java.lang.Integer>");
+    assertThatThrownBy(() -> plan("empty"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("Empty has no constants");
+  }
+
+  @Test
+  void rejects_invalid_weights_and_exponents() {
+    assertThatThrownBy(() -> plan("crowded"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("weights (3) must not outnumber the 2 values within the bounds");
+    assertThatThrownBy(() -> plan("misplaced"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("weights require distribution WEIGHTED, not GAUSSIAN");
+    assertThatThrownBy(() -> plan("uniform"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("weights require distribution WEIGHTED, not UNIFORM");
+    assertThatThrownBy(() -> plan("negative"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("weights (-1.0) must be finite and not negative");
+    assertThatThrownBy(() -> plan("unbounded"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("weights (Infinity) must be finite and not negative");
+    assertThatThrownBy(() -> plan("zeros"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("weights must not all be zero");
+    assertThatThrownBy(() -> plan("flat"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("exponent (-1.0) must be finite and not negative");
+    assertThatThrownBy(() -> plan("steep"))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("exponent (Infinity) must be finite and not negative");
+  }
+
+  enum Level {
+    LOW,
+    MEDIUM,
+    HIGH
+  }
+
+  enum Empty {}
+
+  record Reading(Level level, double value) {}
+
+  @SuppressWarnings("unused")
+  private void gaussianLong(
+      @Randomize(longMin = -100, longMax = 100, distribution = Distribution.GAUSSIAN) long value) {}
+
+  @SuppressWarnings("unused")
+  private void exponentialFloat(
+      @Randomize(floatMin = 0, floatMax = 8, distribution = Distribution.EXPONENTIAL)
+          float value) {}
+
+  @SuppressWarnings("unused")
+  private void exponentialFloats(
+      @Randomize(
+              floatMin = 0,
+              floatMax = 8,
+              length = DRAWS,
+              distribution = Distribution.EXPONENTIAL)
+          float[] value) {}
+
+  @SuppressWarnings("unused")
+  private void gaussianDouble(
+      @Randomize(doubleMin = -3, doubleMax = 3, distribution = Distribution.GAUSSIAN)
+          double value) {}
+
+  @SuppressWarnings("unused")
+  private void reading(@Randomize Reading value) {}
+
+  @SuppressWarnings("unused")
+  private void text(@Randomize(distribution = Distribution.GAUSSIAN) String value) {}
+
+  @SuppressWarnings("unused")
+  private void wildcard(
+      @Randomize(distribution = Distribution.GAUSSIAN) List<? extends Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void uniform(@Randomize(weights = {1, 2}) int value) {}
+
+  @SuppressWarnings("unused")
+  private void zipf(
+      @Randomize(intMin = 1, intMax = 1001, length = DRAWS, distribution = Distribution.ZIPF)
+          int[] value) {}
+
+  @SuppressWarnings("unused")
+  private void gaussian(
+      @Randomize(
+              doubleMin = -3,
+              doubleMax = 3,
+              length = DRAWS,
+              distribution = Distribution.GAUSSIAN)
+          double[] value) {}
+
+  @SuppressWarnings("unused")
+  private void exponential(
+      @Randomize(
+              longMin = 0,
+              longMax = 8000,
+              length = DRAWS,
+              distribution = Distribution.EXPONENTIAL)
+          long[] value) {}
+
+  @SuppressWarnings("unused")
+  private void decaying(
+      @Randomize(
+              doubleMin = 0,
+              doubleMax = 8,
+              length = DRAWS,
+              distribution = Distribution.EXPONENTIAL)
+          double[] value) {}
+
+  @SuppressWarnings("unused")
+  private void weightedDoubles(
+      @Randomize(
+              doubleMin = 0,
+              doubleMax = 10,
+              length = 1000,
+              distribution = Distribution.WEIGHTED,
+              weights = {0, 1})
+          double[] value) {}
+
+  @SuppressWarnings("unused")
+  private void tiny(
+      @Randomize(
+              doubleMin = 0,
+              doubleMax = Double.MIN_VALUE,
+              length = 100,
+              distribution = Distribution.WEIGHTED,
+              weights = {1, 0})
+          double[] value) {}
+
+  @SuppressWarnings("unused")
+  private void levels(
+      @Randomize(
+              length = 1000,
+              distribution = Distribution.WEIGHTED,
+              weights = {3, 1, 0})
+          List<Level> value) {}
+
+  @SuppressWarnings("unused")
+  private void level(@Randomize Level value) {}
+
+  @SuppressWarnings("unused")
+  private void slices(
+      @Randomize(
+              intMin = 0,
+              intMax = 100,
+              distribution = Distribution.WEIGHTED,
+              weights = {0, 1})
+          int value) {}
+
+  @SuppressWarnings("unused")
+  private void unweighted(@Randomize(distribution = Distribution.WEIGHTED) int value) {}
+
+  @SuppressWarnings("unused")
+  private void discrete(
+      @Randomize(doubleMin = 0, doubleMax = 1, distribution = Distribution.ZIPF) double value) {}
+
+  @SuppressWarnings("unused")
+  private void large(@Randomize(intMin = 0, distribution = Distribution.ZIPF) int value) {}
+
+  @SuppressWarnings("unused")
+  private void strings(@Randomize(distribution = Distribution.GAUSSIAN) List<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void unique(
+      @Randomize(unique = true, distribution = Distribution.EXPONENTIAL) long value) {}
+
+  @SuppressWarnings("unused")
+  private void infinite(
+      @Randomize(
+              doubleMin = -Double.MAX_VALUE,
+              doubleMax = Double.MAX_VALUE,
+              distribution = Distribution.GAUSSIAN)
+          double value) {}
+
+  @SuppressWarnings("unused")
+  private void empty(@Randomize Empty value) {}
+
+  @SuppressWarnings("unused")
+  private void crowded(
+      @Randomize(
+              intMin = 0,
+              intMax = 2,
+              distribution = Distribution.WEIGHTED,
+              weights = {1, 1, 1})
+          int value) {}
+
+  @SuppressWarnings("unused")
+  private void misplaced(
+      @Randomize(
+              distribution = Distribution.GAUSSIAN,
+              weights = {1})
+          int value) {}
+
+  @SuppressWarnings("unused")
+  private void negative(
+      @Randomize(
+              distribution = Distribution.WEIGHTED,
+              weights = {1, -1})
+          int value) {}
+
+  @SuppressWarnings("unused")
+  private void unbounded(
+      @Randomize(
+              distribution = Distribution.WEIGHTED,
+              weights = {Double.POSITIVE_INFINITY})
+          int value) {}
+
+  @SuppressWarnings("unused")
+  private void zeros(
+      @Randomize(
+              distribution = Distribution.WEIGHTED,
+              weights = {0, 0})
+          int value) {}
+
+  @SuppressWarnings("unused")
+  private void flat(@Randomize(distribution = Distribution.ZIPF, exponent = -1) int value) {}
+
+  @SuppressWarnings("unused")
+  private void steep(
+      @Randomize(distribution = Distribution.ZIPF, exponent = Double.POSITIVE_INFINITY)
+          int value) {}
+}
@@ -0,0 +1,194 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.lang.reflect.Parameter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+class ObjectGeneratorsTest {
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(ObjectGeneratorsTest.class, name);
+  }
+
+  private static Randomize annotation(String name) {
+    return TestParameters.annotation(ObjectGeneratorsTest.class, name);
+  }
+
+  private static Function<Randomize, Generator> factory(Class<?> type) {
+    return ObjectGenerators.object(type, RandomParametersExtension.GENERATORS);
+  }
+
+  private static Object generate(Class<?> type, String annotation, long seed) {
+    return factory(type).apply(annotation(annotation)).generate(new Random(seed));
+  }
+
+  @Test
+  void records() {
+    Order order = (Order) generate(Order.class, "order", 0L);
+    assertThat(order.quantity()).isBetween(1, 9);
+    assertThat(order.price()).isBetween(0.0, 100.0);
+    assertThat(order.customer().name()).hasSize(3);
+    assertThat(order.customer().tags()).hasSize(3);
+    assertThat(order.lines())
+        .hasSize(3)
+        .allSatisfy((key, line) -> assertThat(line.sku()).hasSize(8));
+    assertThat(order.checksum()).hasSize(3);
+    assertThat(generate(Order.class, "order", 0L)).usingRecursiveComparison().isEqualTo(order);
+    assertThat(generate(Order.class, "order", 1L)).usingRecursiveComparison().isNotEqualTo(order);
+  }
+
+  @Test
+  void single_constructor_classes() {
+    Account account = (Account) generate(Account.class, "account", 0L);
+    assertThat(account.owner).hasSize(4);
+    assertThat(account.balance).isBetween(0L, 99L);
+  }
+
+  @Test
+  void enums() {
+    assertThat(generate(Level.class, "order", 0L)).isEqualTo(Level.LOW);
+  }
+
+  @Test
+  void unsupported_types() {
+    assertThat(factory(Runnable.class)).isNull();
+    assertThat(factory(Number.class)).isNull();
+    assertThat(factory(int[][].class)).isNull();
+    assertThat(factory(Overloaded.class)).isNull();
+    assertThat(factory(Hidden.class)).isNull();
+    assertThat(factory(Inner.class)).isNull();
+    // a single package-private constructor, in a package not open to the library
+    assertThat(factory(Parameter.class)).isNull();
+  }
+
+  @Test
+  void unsupported_components() {
+    Randomize annotation = annotation("order");
+    assertThatThrownBy(() -> factory(Seeded.class).apply(annotation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Cannot generate java.util.random.RandomGenerator component random of Seeded");
+    assertThatThrownBy(() -> factory(Temporary.class).apply(annotation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Cannot generate java.nio.file.Path component path of Temporary");
+    assertThatThrownBy(() -> factory(Wrapper.class).apply(annotation))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "Cannot generate java.util.List<java.lang.Runnable> component tasks of Wrapper");
+  }
+
+  @Test
+  void recursive_types() {
+    assertThatThrownBy(() -> factory(Node.class).apply(annotation("order")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Node -> Edge -> Node is recursive");
+  }
+
+  @Test
+  void collections_of_records() {
+    Parameter parameter = parameter("customers");
+    Object customers =
+        BulkGenerators.collection(
+                parameter.getParameterizedType(),
+                ObjectGenerators.elements(RandomParametersExtension.GENERATORS))
+            .apply(parameter.getAnnotation(Randomize.class))
+            .generate(new Random(0L));
+    assertThat(customers)
+        .asInstanceOf(InstanceOfAssertFactories.list(Customer.class))
+        .hasSize(2)
+        .allSatisfy(customer -> assertThat(customer.name()).hasSize(2));
+  }
+
+  @Test
+  void recursive_collections() {
+    assertThatThrownBy(() -> factory(Tree.class).apply(annotation("order")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Tree -> Tree is recursive");
+  }
+
+  @Test
+  void failing_constructors() {
+    Generator generator = factory(Positive.class).apply(annotation("order"));
+    assertThatThrownBy(() -> generator.generate(new Random(0L)))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessage("Cannot construct Positive: value (-1) must be positive")
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  record Customer(String name, List<Integer> tags) {}
+
+  record Line(@Randomize(length = 8) String sku, int count) {}
+
+  record Order(
+      @Randomize(intMin = 1, intMax = 10) int quantity,
+      @Randomize(doubleMin = 0, doubleMax = 100) double price,
+      Customer customer,
+      Map<Integer, Line> lines,
+      byte[] checksum) {}
+
+  static class Account {
+    final String owner;
+    final long balance;
+
+    Account(String owner, @Randomize(longMin = 0, longMax = 100) long balance) {
+      this.owner = owner;
+      this.balance = balance;
+    }
+  }
+
+  enum Level {
+    LOW
+  }
+
+  static class Overloaded {
+    Overloaded() {}
+
+    Overloaded(int value) {}
+  }
+
+  static final class Hidden {
+    private Hidden() {}
+  }
+
+  class Inner {}
+
+  record Seeded(RandomGenerator random) {}
+
+  record Temporary(Path path) {}
+
+  record Wrapper(List<Runnable> tasks) {}
+
+  record Node(Edge edge) {}
+
+  record Edge(Node target) {}
+
+  record Tree(int value, List<Tree> children) {}
+
+  record Positive(@Randomize(intMin = -1, intMax = 0) int value) {
+    Positive {
+      if (value <= 0) {
+        throw new IllegalStateException("value (" + value + ") must be positive");
+      }
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private void order(@Randomize(length = 3) Order value) {}
+
+  @SuppressWarnings("unused")
+  private void customers(@Randomize(length = 2, elementLength = 2) List<Customer> value) {}
+
+  @SuppressWarnings("unused")
+  private void account(@Randomize(length = 4) Account value) {}
+}
@@ -0,0 +1,138 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.lang.reflect.Parameter;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class PatternAutomatonTest {
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(PatternAutomatonTest.class, name);
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        "",
+        "abc",
+        "[0-9a-f]{32}",
+        "[a-z][a-z0-9._]{2,15}@(example|test)\\.(com|org)",
+        "SKU-\\d{4}-[A-Z]{2}",
+        "^(?:ab|c)*d+e?$",
+        "[^aeiou ]{5}",
+        "\\w+\\s\\W\\S\\D",
+        ".{3,}",
+        "\\x41\\u00e9\\x{1F600}[\\t-\\r]",
+        "(a|)(?<name>b{0,3})[-+]?\\.\\[\\]",
+        "[😀-😃]{2}",
+        "\\n\\f\\e\\a\\r",
+        "a??b*+c{2}?",
+        "(a?){0,2}b",
+        "[a-cb-dx-\\x7a]{3}",
+        "[\\w-.][\\d-z][+-]"
+      })
+  void generates_matching_strings(String regex) {
+    PatternAutomaton automaton = PatternAutomaton.of(regex);
+    Pattern pattern = Pattern.compile(regex);
+    SplittableRandom random = new SplittableRandom(0L);
+    assertThat(IntStream.range(0, 1000).mapToObj(i -> automaton.generate(random)))
+        .allSatisfy(value -> assertThat(value).matches(pattern));
+  }
+
+  @Test
+  void explores_alternatives_and_repetitions() {
+    PatternAutomaton automaton = PatternAutomaton.of("(a|b)c{1,3}");
+    SplittableRandom random = new SplittableRandom(0L);
+    assertThat(IntStream.range(0, 1000).mapToObj(i -> automaton.generate(random)).distinct())
+        .containsExactlyInAnyOrder("ac", "acc", "accc", "bc", "bcc", "bccc");
+  }
+
+  @Test
+  void caches_compiled_automata() {
+    SpecCache cache = new SpecCache();
+    PatternAutomaton automaton = cache.bind(() -> PatternAutomaton.cached("[a-z]+"));
+    assertThat(cache.bind(() -> PatternAutomaton.cached("[a-z]+"))).isSameAs(automaton);
+    assertThat(cache.bind(() -> PatternAutomaton.cached("[a-z]*"))).isNotSameAs(automaton);
+    assertThat(PatternAutomaton.cached("[a-z]+")).isNotSameAs(automaton);
+  }
+
+  @Test
+  void compiles_large_counted_repetitions() {
+    SplittableRandom random = new SplittableRandom(0L);
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(10),
+        () -> {
+          assertThat(PatternAutomaton.of(".{0,60000}").generate(random).length())
+              .isBetween(0, 60000);
+          assertThat(PatternAutomaton.of("[a-z]{1000,60000}").generate(random))
+              .matches("[a-z]{1000,60000}");
+          assertThat(PatternAutomaton.of("(ab?){0,3}c").generate(random)).matches("(ab?){0,3}c");
+        });
+  }
+
+  @Test
+  void rejects_unsupported_patterns() {
+    assertThatThrownBy(() -> PatternAutomaton.of("(a)\\1"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("pattern ((a)\\1) uses unsupported escape \\1 at index 3");
+    assertThatThrownBy(() -> PatternAutomaton.of("a(?=b)"))
+        .hasMessage("pattern (a(?=b)) uses unsupported lookaround or flags at index 1");
+    assertThatThrownBy(() -> PatternAutomaton.of("(?<=a)b"))
+        .hasMessage("pattern ((?<=a)b) uses unsupported lookaround or flags at index 0");
+    assertThatThrownBy(() -> PatternAutomaton.of("a^b"))
+        .hasMessage("pattern (a^b) uses unsupported anchor inside the pattern at index 1");
+    assertThatThrownBy(() -> PatternAutomaton.of("a$b"))
+        .hasMessage("pattern (a$b) uses unsupported anchor inside the pattern at index 1");
+    assertThatThrownBy(() -> PatternAutomaton.of("[a[b]]"))
+        .hasMessage("pattern ([a[b]]) uses unsupported nested class at index 2");
+    assertThatThrownBy(() -> PatternAutomaton.of("[a&&b]"))
+        .hasMessage("pattern ([a&&b]) uses unsupported nested class at index 2");
+    assertThatThrownBy(() -> PatternAutomaton.of("x[^\\s\\S]"))
+        .hasMessage("pattern (x[^\\s\\S]) uses unsupported empty class at index 1");
+    assertThatThrownBy(() -> PatternAutomaton.of("[a-z"))
+        .isInstanceOf(PatternSyntaxException.class);
+    assertThatThrownBy(() -> PatternAutomaton.of("a{70000}"))
+        .hasMessage("pattern (a{70000}) has more than 65536 states");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void applies_to_strings_and_their_elements() {
+    Parameter keys = parameter("keys");
+    List<String> values =
+        (List<String>)
+            BulkGenerators.collection(
+                    keys.getParameterizedType(),
+                    ObjectGenerators.elements(RandomParametersExtension.GENERATORS))
+                .apply(keys.getAnnotation(Randomize.class))
+                .generate(new SplittableRandom(0L));
+    assertThat(values).hasSize(20).allSatisfy(key -> assertThat(key).matches("user:[0-9]{6}"));
+
+    Parameter unique = parameter("unique");
+    assertThatThrownBy(
+            () ->
+                RandomParametersExtension.GENERATORS
+                    .get(String.class)
+                    .apply(unique.getAnnotation(Randomize.class)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("unique cannot be combined with pattern");
+  }
+
+  @SuppressWarnings("unused")
+  private void keys(@Randomize(length = 20, pattern = "user:[0-9]{6}") List<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void unique(@Randomize(unique = true, pattern = "[a-z]") String value) {}
+}
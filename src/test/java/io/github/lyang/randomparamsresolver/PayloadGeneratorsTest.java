@@ -0,0 +1,170 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.PayloadGenerators.TemporaryFile;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.ResolutionPlan.Generator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PayloadGeneratorsTest {
+
+  private static Randomize annotation(String name) {
+    return TestParameters.annotation(PayloadGeneratorsTest.class, name);
+  }
+
+  private static byte[] bytes(long seed, int length) {
+    byte[] bytes = new byte[length];
+    new Random(seed).nextBytes(bytes);
+    return bytes;
+  }
+
+  @Test
+  void heap_buffer() {
+    ByteBuffer buffer =
+        (ByteBuffer) PayloadGenerators.byteBuffer(annotation("heap")).generate(new Random(42L));
+    assertThat(buffer.isDirect()).isFalse();
+    assertThat(buffer.array()).isEqualTo(bytes(42L, 16));
+  }
+
+  @Test
+  void direct_buffer() {
+    int length = PayloadGenerators.CHUNK_SIZE + 12;
+    ByteBuffer buffer =
+        (ByteBuffer) PayloadGenerators.byteBuffer(annotation("direct")).generate(new Random(42L));
+    assertThat(buffer.isDirect()).isTrue();
+    assertThat(buffer.position()).isZero();
+    assertThat(buffer.remaining()).isEqualTo(length);
+    byte[] content = new byte[length];
+    buffer.get(content);
+    assertThat(content).isEqualTo(bytes(42L, length));
+  }
+
+  @Test
+  void file() throws Exception {
+    Path path = (Path) PayloadGenerators.path(annotation("file")).generate(new Random(42L));
+    try (TemporaryFile file = new TemporaryFile(path)) {
+      assertThat(Files.readAllBytes(file.path()))
+          .isEqualTo(bytes(42L, PayloadGenerators.CHUNK_SIZE * 2 + 4));
+    }
+    assertThat(path).doesNotExist();
+  }
+
+  @Test
+  void deletes_files_that_fail_to_write() throws Exception {
+    Path directory = Path.of(System.getProperty("java.io.tmpdir"));
+    Set<Path> before = files(directory);
+    RandomGenerator broken =
+        () -> {
+          throw new IllegalStateException("broken");
+        };
+    assertThatThrownBy(() -> PayloadGenerators.path(annotation("file")).generate(broken))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("broken");
+    assertThat(files(directory)).isSubsetOf(before);
+  }
+
+  @Test
+  void reports_files_that_cannot_be_created() {
+    Generator generator =
+        PayloadGenerators.path(
+            annotation("file"),
+            () -> {
+              throw new IOException("full");
+            });
+    assertThatThrownBy(() -> generator.generate(new Random(42L)))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessage("Cannot create random file")
+        .hasRootCauseMessage("full");
+  }
+
+  @Test
+  void reports_files_that_can_neither_be_written_nor_deleted(@TempDir Path directory)
+      throws IOException {
+    // a non-empty directory can neither be opened for writing nor deleted
+    Files.createFile(directory.resolve("child"));
+    Generator generator = PayloadGenerators.path(annotation("file"), () -> directory);
+    assertThatThrownBy(() -> generator.generate(new Random(42L)))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessage("Cannot write random file")
+        .satisfies(
+            e ->
+                assertThat(e.getCause().getSuppressed())
+                    .singleElement()
+                    .isInstanceOf(DirectoryNotEmptyException.class));
+    assertThat(directory).isDirectory();
+  }
+
+  private static Set<Path> files(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith("randomize-"))
+          .collect(Collectors.toSet());
+    }
+  }
+
+  @Test
+  void empty_file() throws Exception {
+    Path path = (Path) PayloadGenerators.path(annotation("empty")).generate(new Random(42L));
+    try (TemporaryFile file = new TemporaryFile(path)) {
+      assertThat(file.path()).isEmptyFile();
+    }
+  }
+
+  @Test
+  void size_defaults_to_length() {
+    assertThat(PayloadGenerators.size(annotation("heap"))).isEqualTo(16L);
+    assertThat(PayloadGenerators.size(annotation("file")))
+        .isEqualTo(PayloadGenerators.CHUNK_SIZE * 2L + 4);
+  }
+
+  @Test
+  void negative_size() {
+    assertThatThrownBy(() -> PayloadGenerators.path(annotation("negative")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("size (-2) must not be negative");
+  }
+
+  @Test
+  void memory_segment_support() {
+    Map<Class<?>, ?> generators = PayloadGenerators.withMemorySegment(Map.of());
+    if (Runtime.version().feature() < 22) {
+      assertThat(generators).isEmpty();
+    } else {
+      assertThat(generators.keySet())
+          .singleElement()
+          .extracting(Class::getName)
+          .isEqualTo("java.lang.foreign.MemorySegment");
+    }
+  }
+
+  @SuppressWarnings("unused")
+  private void heap(@Randomize(length = 16) ByteBuffer value) {}
+
+  @SuppressWarnings("unused")
+  private void direct(
+      @Randomize(length = PayloadGenerators.CHUNK_SIZE + 12, direct = true) ByteBuffer value) {}
+
+  @SuppressWarnings("unused")
+  private void file(@Randomize(size = PayloadGenerators.CHUNK_SIZE * 2L + 4) Path value) {}
+
+  @SuppressWarnings("unused")
+  private void empty(@Randomize(size = 0) Path value) {}
+
+  @SuppressWarnings("unused")
+  private void negative(@Randomize(size = -2) Path value) {}
+}
@@ -0,0 +1,133 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
+
+class PrefetcherTest {
+  private static final AtomicReference<Prefetcher> PREFETCHER = new AtomicReference<>();
+  private static final AtomicInteger GENERATED = new AtomicInteger();
+  private static volatile CountDownLatch started;
+  private static volatile CountDownLatch released;
+
+  private ExtensionContext extensionContext;
+
+  @BeforeEach
+  void setUp() {
+    Map<Object, Object> store = new HashMap<>();
+    ExtensionContext.Store rootStore = mock();
+    when(rootStore.computeIfAbsent(any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                store.computeIfAbsent(invocation.getArgument(0), invocation.getArgument(1)));
+    extensionContext = mock();
+    when(extensionContext.getRoot()).thenReturn(extensionContext);
+    when(extensionContext.getStore(any(Namespace.class))).thenReturn(rootStore);
+    when(extensionContext.getConfigurationParameter(
+            eq(RandomParametersExtension.PREFETCH_PROPERTY), any()))
+        .thenReturn(Optional.of(4));
+    PREFETCHER.set(null);
+    GENERATED.set(0);
+    started = new CountDownLatch(1);
+    released = new CountDownLatch(1);
+  }
+
+  @Test
+  void stops_generating_once_closed() throws Exception {
+    when(extensionContext.getRequiredTestMethod())
+        .thenReturn(getClass().getDeclaredMethod("closing", String.class, String.class));
+    Prefetcher prefetcher = Prefetcher.start(extensionContext, new long[] {1, 2});
+    assertThat(prefetcher).isNotNull();
+    PREFETCHER.set(prefetcher);
+    released.countDown();
+    started.await();
+    assertThat(prefetcher.claim(0)).isNull();
+    assertThat(prefetcher.claim(1)).isNull();
+    assertThat(GENERATED).hasValue(0);
+  }
+
+  @Test
+  void discards_values_in_flight_when_closed() throws Exception {
+    when(extensionContext.getRequiredTestMethod())
+        .thenReturn(getClass().getDeclaredMethod("blocking", String.class));
+    Prefetcher prefetcher = Prefetcher.start(extensionContext, new long[] {1, 2});
+    assertThat(prefetcher).isNotNull();
+    started.await();
+    prefetcher.close();
+    released.countDown();
+    assertThat(prefetcher.claim(0)).isNull();
+  }
+
+  @Test
+  void falls_back_to_daemon_threads() throws Exception {
+    Executor executor = Prefetcher.executor("newCachedThreadPool");
+    assertThat(executor).isInstanceOf(ThreadPoolExecutor.class);
+    ((ExecutorService) executor).shutdown();
+
+    Executor fallback = Prefetcher.executor("missing");
+    Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, fallback).get();
+    assertThat(thread.getName()).isEqualTo("randomize-prefetch");
+    assertThat(thread.isDaemon()).isTrue();
+    ((ExecutorService) fallback).shutdown();
+  }
+
+  void closing(
+      @RandomizeWith(Closing.class) String value, @RandomizeWith(Counting.class) String next) {}
+
+  void blocking(@RandomizeWith(Blocking.class) String value) {}
+
+  /** Closes the prefetcher generating it, so the parameters after it are not generated. */
+  static final class Closing implements RandomValueGenerator<String> {
+    @Override
+    public String generate(RandomGenerator random, Randomize annotation) {
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      PREFETCHER.get().close();
+      started.countDown();
+      return "closed";
+    }
+  }
+
+  static final class Counting implements RandomValueGenerator<String> {
+    @Override
+    public String generate(RandomGenerator random, Randomize annotation) {
+      return String.valueOf(GENERATED.incrementAndGet());
+    }
+  }
+
+  static final class Blocking implements RandomValueGenerator<String> {
+    @Override
+    public String generate(RandomGenerator random, Randomize annotation) {
+      started.countDown();
+      try {
+        released.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "blocked";
+    }
+  }
+}
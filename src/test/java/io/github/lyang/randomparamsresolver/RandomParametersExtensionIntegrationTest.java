@@ -0,0 +1,410 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Scope;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+class RandomParametersExtensionIntegrationTest {
+
+  private static Events execute(Class<?> testClass) {
+    return execute(testClass, Map.of());
+  }
+
+  private static Events execute(Class<?> testClass, Map<String, String> configuration) {
+    return EngineTestKit.engine("junit-jupiter")
+        .configurationParameters(configuration)
+        .selectors(selectClass(testClass))
+        .execute()
+        .testEvents();
+  }
+
+  @Test
+  void resolves_parameters() {
+    execute(ValidParameters.class).assertStatistics(stats -> stats.started(15).succeeded(15));
+  }
+
+  @Test
+  void rejects_invalid_bounds() {
+    execute(InvalidParameters.class)
+        .assertThatEvents()
+        .haveExactly(
+            1,
+            finishedWithFailure(
+                instanceOf(ParameterResolutionException.class),
+                message(m -> m.contains("intMin (5) must be less than intMax (5)"))));
+  }
+
+  @Test
+  void separates_lifecycle_and_test_parameters() {
+    Lifecycle.VALUES.clear();
+    execute(Lifecycle.class, Map.of(RandomParametersExtension.SEED_PROPERTY, "42"))
+        .assertStatistics(stats -> stats.started(1).succeeded(1));
+    assertThat(Lifecycle.VALUES).hasSize(3).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void replays_root_seed() {
+    RecordedParameters.VALUES.clear();
+    Map<String, String> configuration =
+        Map.of(
+            RandomParametersExtension.SEED_PROPERTY,
+            "42",
+            "junit.jupiter.execution.parallel.enabled",
+            "true");
+    execute(RecordedParameters.class, configuration)
+        .assertStatistics(stats -> stats.started(5).succeeded(5));
+    Map<String, Long> first = Map.copyOf(RecordedParameters.VALUES);
+    RecordedParameters.VALUES.clear();
+
+    execute(RecordedParameters.class, configuration)
+        .assertStatistics(stats -> stats.started(5).succeeded(5));
+    assertThat(RecordedParameters.VALUES).hasSize(10).isEqualTo(first);
+    assertThat(first.values()).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void replays_journal(@TempDir Path directory) throws IOException {
+    Path journal = directory.resolve("seeds.tsv");
+    RecordedParameters.VALUES.clear();
+    execute(
+            RecordedParameters.class,
+            Map.of(RandomParametersExtension.JOURNAL_PROPERTY, journal.toString()))
+        .assertStatistics(stats -> stats.started(5).succeeded(5));
+    Map<String, Long> first = Map.copyOf(RecordedParameters.VALUES);
+    RecordedParameters.VALUES.clear();
+    assertThat(Files.readAllLines(journal))
+        .hasSize(11)
+        .first()
+        .asString()
+        .startsWith("# root seed ");
+
+    execute(
+            RecordedParameters.class,
+            Map.of(RandomParametersExtension.REPLAY_PROPERTY, journal.toString()))
+        .assertStatistics(stats -> stats.started(5).succeeded(5));
+    assertThat(RecordedParameters.VALUES).isEqualTo(first);
+  }
+
+  @Test
+  void shares_scoped_values() {
+    SharedParameters.VALUES.clear();
+    Map<String, String> configuration = Map.of(RandomParametersExtension.SEED_PROPERTY, "42");
+    execute(SharedParameters.class, configuration)
+        .assertStatistics(stats -> stats.started(4).succeeded(4));
+    Map<String, List<Object>> first = Map.copyOf(SharedParameters.VALUES);
+
+    List<Object> corpora = first.get("corpus");
+    assertThat(corpora)
+        .hasSize(9)
+        .allSatisfy(corpus -> assertThat(corpus).isSameAs(corpora.get(0)));
+    assertThat(first.get("method")).hasSize(4).containsOnlyOnce(first.get("other").get(0));
+    assertThat(first.get("method").subList(0, 3))
+        .allSatisfy(text -> assertThat(text).isSameAs(first.get("method").get(0)));
+    assertThat(first.get("invocation")).hasSize(3).doesNotHaveDuplicates();
+    assertThat(first.get("file")).hasSize(3).containsOnly(first.get("file").get(0));
+    assertThat((Path) first.get("file").get(0)).doesNotExist();
+    // each test reads a duplicate of the shared buffer from its start
+    assertThat(first.get("buffer")).hasSize(4).containsOnly(first.get("buffer").get(0));
+
+    SharedParameters.VALUES.clear();
+    execute(
+            SharedParameters.class,
+            Map.of(
+                RandomParametersExtension.SEED_PROPERTY,
+                "43",
+                RandomParametersExtension.LOG_SEEDS_PROPERTY,
+                "true"))
+        .assertStatistics(stats -> stats.started(4).succeeded(4));
+    assertThat(SharedParameters.VALUES.get("corpus").get(0)).isNotEqualTo(corpora.get(0));
+    assertThat(SharedParameters.VALUES.get("buffer")).containsOnly(first.get("buffer").get(0));
+
+    SharedParameters.VALUES.clear();
+    execute(SharedParameters.class, configuration)
+        .assertStatistics(stats -> stats.started(4).succeeded(4));
+    assertThat(SharedParameters.VALUES.get("corpus").get(0)).isEqualTo(corpora.get(0));
+  }
+
+  @Test
+  void resolves_unique_values() {
+    UniqueParameters.VALUES.clear();
+    Events events =
+        execute(
+            UniqueParameters.class,
+            Map.of(
+                RandomParametersExtension.SEED_PROPERTY,
+                "42",
+                "junit.jupiter.execution.parallel.enabled",
+                "true"));
+    events.assertStatistics(stats -> stats.started(24).succeeded(23).failed(1));
+    events
+        .assertThatEvents()
+        .haveExactly(
+            1,
+            finishedWithFailure(
+                instanceOf(ParameterResolutionException.class),
+                message(
+                    m ->
+                        m.endsWith(
+                            "Cannot generate more than 2 unique values within the configured"
+                                + " bounds"))));
+    assertThat(UniqueParameters.VALUES.get("value"))
+        .containsExactlyInAnyOrderElementsOf(IntStream.range(0, 20).boxed().toList());
+    assertThat(UniqueParameters.VALUES.get("id")).hasSize(21).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void resolves_custom_generators() {
+    Events events = execute(CustomParameters.class);
+    events.assertStatistics(stats -> stats.started(2).succeeded(1).failed(1));
+    events
+        .assertThatEvents()
+        .haveExactly(
+            1,
+            finishedWithFailure(
+                instanceOf(ParameterResolutionException.class),
+                message(
+                    m ->
+                        m.endsWith(
+                            "Labels generates java.util.ArrayList<java.lang.String>, not"
+                                + " java.util.List<java.lang.Integer>"))));
+  }
+
+  @Test
+  void rejects_shared_streams() {
+    execute(InvalidScope.class)
+        .assertThatEvents()
+        .haveExactly(
+            1,
+            finishedWithFailure(
+                instanceOf(ParameterResolutionException.class),
+                message(m -> m.endsWith("scope CLASS cannot share a InputStream"))));
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class ValidParameters {
+    @RepeatedTest(10)
+    void repeated(
+        @Randomize(intMin = 0, intMax = 10) int value,
+        @Randomize(length = 3, unicodeBlocks = "EMOTICONS") String emoticons) {
+      assertThat(value).isBetween(0, 9);
+      assertThat(emoticons.codePoints())
+          .allMatch(
+              codePoint ->
+                  Character.UnicodeBlock.of(codePoint) == Character.UnicodeBlock.EMOTICONS);
+    }
+
+    @Test
+    void pinned(@Randomize(seed = 0L) RandomGenerator random, @Randomize(seed = 0L) long value) {
+      assertThat(random.nextLong()).isEqualTo(value);
+    }
+
+    @Test
+    void collections(
+        @Randomize(intMin = 0, intMax = 10) List<Integer> list,
+        @Randomize(length = 2, elementLength = 3, longMin = 0, longMax = 10) Map<Long, int[]> map) {
+      assertThat(list).hasSize(5).allSatisfy(value -> assertThat(value).isBetween(0, 9));
+      assertThat(map).hasSize(2).allSatisfy((key, value) -> assertThat(value).hasSize(3));
+    }
+
+    @Test
+    void records(@Randomize(length = 3) Order order) {
+      assertThat(order.quantity()).isBetween(1, 9);
+      assertThat(order.customer().name()).hasSize(3);
+      assertThat(order.items()).hasSize(3);
+    }
+
+    @Test
+    void sources(
+        @Randomize(intMin = 0, intMax = 10) IntStream stream,
+        @Randomize(length = 4, unicodeBlocks = "GREEK") Supplier<String> greek) {
+      assertThat(stream.parallel().limit(10_000).distinct().sorted().toArray())
+          .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+      assertThat(greek.get()).hasSize(4).isNotEqualTo(greek.get());
+    }
+
+    @Test
+    void split(
+        @Randomize(seed = 0L, algorithm = "L64X128MixRandom") SplittableGenerator first,
+        @Randomize(seed = 0L, algorithm = "L64X128MixRandom") SplittableGenerator second) {
+      assertThat(first.splits(4).mapToLong(RandomGenerator::nextLong))
+          .containsExactlyElementsOf(
+              second.splits(4).mapToLong(RandomGenerator::nextLong).boxed().toList());
+    }
+  }
+
+  record Customer(String name, long id) {}
+
+  record Order(
+      @Randomize(intMin = 1, intMax = 10) int quantity, Customer customer, List<String> items) {}
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class Lifecycle {
+    static final List<Long> VALUES = new CopyOnWriteArrayList<>();
+
+    Lifecycle(@Randomize long value) {
+      VALUES.add(value);
+    }
+
+    @BeforeEach
+    void before(@Randomize long value) {
+      VALUES.add(value);
+    }
+
+    @Test
+    void test(@Randomize long value) {
+      VALUES.add(value);
+    }
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  @Execution(ExecutionMode.CONCURRENT)
+  static class RecordedParameters {
+    static final Map<String, Long> VALUES = new ConcurrentHashMap<>();
+
+    @RepeatedTest(5)
+    void repeated(TestInfo info, @Randomize long first, @Randomize long second) {
+      VALUES.put(info.getDisplayName() + "#first", first);
+      VALUES.put(info.getDisplayName() + "#second", second);
+    }
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class SharedParameters {
+    static final Map<String, List<Object>> VALUES = new ConcurrentHashMap<>();
+
+    SharedParameters(@Randomize(length = 1024, scope = Scope.CLASS) byte[] corpus) {
+      record("corpus", corpus);
+    }
+
+    private static void record(String name, Object value) {
+      VALUES.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>()).add(value);
+    }
+
+    private static void record(ByteBuffer buffer) {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      record("buffer", HexFormat.of().formatHex(bytes));
+    }
+
+    @BeforeAll
+    static void setUp(@Randomize(length = 1024, scope = Scope.CLASS) byte[] corpus) {
+      record("corpus", corpus);
+    }
+
+    @RepeatedTest(3)
+    void repeated(
+        @Randomize(length = 1024, scope = Scope.CLASS) byte[] corpus,
+        @Randomize(length = 8, scope = Scope.METHOD) String method,
+        @Randomize(length = 8) String invocation,
+        @Randomize(scope = Scope.ENGINE) Path file,
+        @Randomize(length = 16, seed = 7L, scope = Scope.CLASS) ByteBuffer buffer) {
+      record("corpus", corpus);
+      record(buffer);
+      record("method", method);
+      record("invocation", invocation);
+      record("file", file);
+      assertThat(file).exists();
+    }
+
+    @Test
+    void other(
+        @Randomize(length = 1024, scope = Scope.CLASS) byte[] corpus,
+        @Randomize(length = 8, scope = Scope.METHOD) String method,
+        @Randomize(length = 16, seed = 7L, scope = Scope.CLASS) ByteBuffer buffer) {
+      record("corpus", corpus);
+      record("method", method);
+      record("other", method);
+      record(buffer);
+    }
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  @Execution(ExecutionMode.CONCURRENT)
+  static class UniqueParameters {
+    static final Map<String, List<Object>> VALUES = new ConcurrentHashMap<>();
+
+    private static void record(String name, Object value) {
+      VALUES.computeIfAbsent(name, key -> new CopyOnWriteArrayList<>()).add(value);
+    }
+
+    @RepeatedTest(20)
+    void repeated(
+        @Randomize(intMin = 0, intMax = 20, unique = true) int value,
+        @Randomize(length = 3, unique = true, scope = Scope.CLASS) String id) {
+      record("value", value);
+      record("id", id);
+    }
+
+    @Test
+    void other(@Randomize(length = 3, unique = true, scope = Scope.CLASS) String id) {
+      record("id", id);
+    }
+
+    @RepeatedTest(3)
+    void exhausted(@Randomize(intMin = 0, intMax = 2, unique = true) int value) {}
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class CustomParameters {
+    @Test
+    void custom(
+        @Randomize(seed = 0L) UUID id,
+        @Randomize(length = 2) List<CustomGeneratorsTest.Shape> shapes,
+        @RandomizeWith(CustomGeneratorsTest.Labels.class) List<String> labels,
+        @Randomize(seed = 0L) RandomGenerator random) {
+      assertThat(id).isEqualTo(new UUID(random.nextLong(), random.nextLong()));
+      assertThat(shapes).hasSize(2).hasOnlyElementsOfType(CustomGeneratorsTest.Circle.class);
+      assertThat(labels).containsExactly("a", "a");
+    }
+
+    @Test
+    void mismatched(@RandomizeWith(CustomGeneratorsTest.Labels.class) List<Integer> numbers) {}
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class InvalidScope {
+    @Test
+    void invalid(@Randomize(scope = Scope.CLASS) InputStream stream) {}
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class InvalidParameters {
+    @Test
+    void invalid(@Randomize(intMin = 5, intMax = 5) int value) {
+      throw new UnsupportedOperationException(String.valueOf(value));
+    }
+  }
+}
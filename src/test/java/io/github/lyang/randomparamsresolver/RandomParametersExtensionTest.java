@@ -1,24 +1,58 @@
 package io.github.lyang.randomparamsresolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.io.InputStream;
 import java.lang.reflect.Parameter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.LeapableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGenerator.StreamableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ExtensionContext.Namespace;
 import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.io.TempDir;
 
 class RandomParametersExtensionTest {
 
   private RandomParametersExtension extension;
 
+  private ExtensionContext extensionContext;
+  private Map<Object, Object> store;
+
   private static ParameterContext parameterContext(Parameter parameter) {
     ParameterContext parameterContext = mock();
     when(parameterContext.getParameter()).thenReturn(parameter);
@@ -27,16 +61,45 @@ class RandomParametersExtensionTest {
     return parameterContext;
   }
 
+  /** The generated types, except foreign memory types that cannot be declared on this target. */
+  private static List<Class<?>> types() {
+    return RandomParametersExtension.GENERATORS.keySet().stream()
+        .filter(type -> !type.getPackageName().equals("java.lang.foreign"))
+        .toList();
+  }
+
   @BeforeEach
   void setUp() {
     extension = new RandomParametersExtension();
+    store = new HashMap<>();
+    ExtensionContext.Store rootStore = mock();
+    when(rootStore.computeIfAbsent(any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                store.computeIfAbsent(invocation.getArgument(0), invocation.getArgument(1)));
+    doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+        .when(rootStore)
+        .put(any(), any());
+    extensionContext = mock();
+    when(extensionContext.getRoot()).thenReturn(extensionContext);
+    when(extensionContext.getUniqueId()).thenReturn("[engine:test]");
+    when(extensionContext.getStore(any(Namespace.class))).thenReturn(rootStore);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    for (Object value : store.values()) {
+      if (value instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
   }
 
   @Test
   void supported_parameter_types() throws NoSuchMethodException {
-    for (Class<?> type : RandomParametersExtension.GENERATORS.keySet()) {
+    for (Class<?> type : types()) {
       ParameterContext parameterContext = parameterContext(parameter("annotated", type));
-      assertThat(extension.supportsParameter(parameterContext, mock()))
+      assertThat(extension.supportsParameter(parameterContext, extensionContext))
           .withFailMessage("Support %s", type.getSimpleName())
           .isTrue();
     }
@@ -44,9 +107,9 @@ class RandomParametersExtensionTest {
 
   @Test
   void unannotated_parameters() throws NoSuchMethodException {
-    for (Class<?> type : RandomParametersExtension.GENERATORS.keySet()) {
+    for (Class<?> type : types()) {
       ParameterContext parameterContext = parameterContext(parameter("unannotated", type));
-      assertThat(extension.supportsParameter(parameterContext, mock()))
+      assertThat(extension.supportsParameter(parameterContext, extensionContext))
           .withFailMessage("Support %s", type.getSimpleName())
           .isFalse();
     }
@@ -55,26 +118,212 @@ class RandomParametersExtensionTest {
   @Test
   void unsupported_parameter() throws NoSuchMethodException {
     ParameterContext parameterContext = parameterContext(parameter("annotated", Void.class));
-    assertThat(extension.supportsParameter(parameterContext, mock())).isFalse();
+    assertThat(extension.supportsParameter(parameterContext, extensionContext)).isFalse();
   }
 
   @Test
   void resolve_parameter() throws NoSuchMethodException {
-    for (Class<?> type : RandomParametersExtension.GENERATORS.keySet()) {
+    for (Class<?> type : types()) {
       ParameterContext parameterContext = parameterContext(parameter("annotated", type));
-      assertThat(extension.resolveParameter(parameterContext, mock())).isNotNull();
+      assertThat(extension.resolveParameter(parameterContext, extensionContext)).isNotNull();
     }
   }
 
   @Test
   void resolve_bounded_parameter() throws NoSuchMethodException {
     for (Class<?> type :
-        List.of(byte.class, short.class, char.class, float.class, double.class, BigDecimal.class)) {
+        List.of(
+            byte.class,
+            short.class,
+            char.class,
+            float.class,
+            double.class,
+            BigDecimal.class,
+            short[].class,
+            char[].class,
+            int[].class,
+            long[].class,
+            float[].class,
+            double[].class)) {
       ParameterContext parameterContext = parameterContext(parameter("boundedAnnotated", type));
-      assertThat(extension.resolveParameter(parameterContext, mock())).isNotNull();
+      assertThat(extension.resolveParameter(parameterContext, extensionContext)).isNotNull();
     }
   }
 
+  @Test
+  void temporary_files_are_deleted() throws Exception {
+    ParameterContext parameterContext = parameterContext(parameter("annotated", Path.class));
+    Path path = (Path) extension.resolveParameter(parameterContext, extensionContext);
+    assertThat(path).exists().hasSize(5);
+
+    tearDown();
+    assertThat(path).doesNotExist();
+  }
+
+  @Test
+  void resolution_plans_are_cached() throws NoSuchMethodException {
+    Parameter parameter = parameter("annotated", int.class);
+    extension.resolveParameter(parameterContext(parameter), extensionContext);
+    Object plans = store.get(parameter.getDeclaringExecutable());
+    assertThat(plans).isInstanceOf(ResolutionPlan[].class);
+
+    extension.resolveParameter(parameterContext(parameter), extensionContext);
+    assertThat(store.get(parameter.getDeclaringExecutable())).isSameAs(plans);
+  }
+
+  @Test
+  void invalid_bounds() throws NoSuchMethodException {
+    for (Class<?> type :
+        List.of(
+            byte.class,
+            short.class,
+            char.class,
+            int.class,
+            long.class,
+            float.class,
+            double.class,
+            byte[].class,
+            String.class)) {
+      ParameterContext parameterContext = parameterContext(parameter("invalidAnnotated", type));
+      assertThatThrownBy(() -> extension.supportsParameter(parameterContext, extensionContext))
+          .isInstanceOf(ParameterResolutionException.class)
+          .hasMessageStartingWith(
+              "Invalid @Randomize on RandomParametersExtensionTest#invalidAnnotated#");
+    }
+  }
+
+  @Test
+  void unknown_unicode_block() throws NoSuchMethodException {
+    ParameterContext parameterContext =
+        parameterContext(
+            getClass().getDeclaredMethod("unknownBlock", String.class).getParameters()[0]);
+    assertThatThrownBy(() -> extension.resolveParameter(parameterContext, extensionContext))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageContaining("NOT_A_BLOCK");
+  }
+
+  @Test
+  void algorithm() throws NoSuchMethodException {
+    ParameterContext parameterContext =
+        parameterContext(parameter("annotated", SplittableGenerator.class));
+    assertThat(extension.resolveParameter(parameterContext, extensionContext))
+        .isInstanceOf(SplittableGenerator.class)
+        .hasSameClassAs(RandomGeneratorFactory.of("L64X128MixRandom").create());
+  }
+
+  @Test
+  void configured_algorithm() throws NoSuchMethodException {
+    when(extensionContext.getConfigurationParameter(RandomParametersExtension.ALGORITHM_PROPERTY))
+        .thenReturn(Optional.of("Xoshiro256PlusPlus"));
+    ParameterContext parameterContext =
+        parameterContext(parameter("annotated", RandomGenerator.class));
+    assertThat(extension.resolveParameter(parameterContext, extensionContext))
+        .hasSameClassAs(RandomGeneratorFactory.of("Xoshiro256PlusPlus").create());
+  }
+
+  @Test
+  void default_algorithm() throws NoSuchMethodException {
+    ParameterContext parameterContext =
+        parameterContext(parameter("annotated", RandomGenerator.class));
+    assertThat(extension.resolveParameter(parameterContext, extensionContext))
+        .isInstanceOf(Random.class);
+  }
+
+  @Test
+  void unknown_algorithm() throws NoSuchMethodException {
+    ParameterContext parameterContext =
+        parameterContext(
+            getClass().getDeclaredMethod("unknownAlgorithm", int.class).getParameters()[0]);
+    assertThatThrownBy(() -> extension.resolveParameter(parameterContext, extensionContext))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageContaining("NotAnAlgorithm");
+  }
+
+  @Test
+  void unsupported_algorithm() throws NoSuchMethodException {
+    ParameterContext parameterContext =
+        parameterContext(
+            getClass()
+                .getDeclaredMethod("unsupportedAlgorithm", SplittableGenerator.class)
+                .getParameters()[0]);
+    assertThatThrownBy(() -> extension.resolveParameter(parameterContext, extensionContext))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageContaining("algorithm Random is not a SplittableGenerator");
+  }
+
+  @Test
+  void root_seed_is_drawn_once() throws NoSuchMethodException {
+    ParameterContext parameterContext = parameterContext(parameter("annotated", long.class));
+    extension.resolveParameter(parameterContext, extensionContext);
+    Object journal = store.get(SeedJournal.class);
+    assertThat(journal).isInstanceOf(SeedJournal.class);
+
+    extension.resolveParameter(parameterContext, extensionContext);
+    assertThat(store.get(SeedJournal.class)).isSameAs(journal);
+  }
+
+  @Test
+  void configured_root_seed() throws NoSuchMethodException {
+    when(extensionContext.getConfigurationParameter(
+            eq(RandomParametersExtension.SEED_PROPERTY), any()))
+        .thenReturn(Optional.of(42L));
+    ParameterContext parameterContext = parameterContext(parameter("annotated", long.class));
+    Object first = extension.resolveParameter(parameterContext, extensionContext);
+    store.clear();
+
+    assertThat(extension.resolveParameter(parameterContext, extensionContext)).isEqualTo(first);
+    assertThat(store.get(SeedJournal.class))
+        .isInstanceOfSatisfying(
+            SeedJournal.class, journal -> assertThat(journal.rootSeed()).isEqualTo(42L));
+  }
+
+  @Test
+  void derived_seeds_depend_on_unique_id() throws NoSuchMethodException {
+    store.put(SeedJournal.class, new SeedJournal(42L, false, false, null, Map.of()));
+    ParameterContext parameterContext = parameterContext(parameter("annotated", long.class));
+    Object first = extension.resolveParameter(parameterContext, extensionContext);
+    assertThat(extension.resolveParameter(parameterContext, extensionContext)).isEqualTo(first);
+
+    when(extensionContext.getUniqueId()).thenReturn("[engine:other]");
+    assertThat(extension.resolveParameter(parameterContext, extensionContext)).isNotEqualTo(first);
+  }
+
+  @Test
+  void reads_the_metrics_switch_from_the_journal() throws NoSuchMethodException {
+    store.put(SeedJournal.class, new SeedJournal(42L, false, false, null, Map.of()));
+    ParameterContext parameterContext = parameterContext(parameter("annotated", long.class));
+    assertThat(extension.resolveParameter(parameterContext, extensionContext)).isNotNull();
+    assertThat(store).doesNotContainKey(RandomParametersExtension.METRICS_PROPERTY);
+    verify(extensionContext, never())
+        .getConfigurationParameter(eq(RandomParametersExtension.METRICS_PROPERTY), any());
+  }
+
+  @Test
+  void logged_seeds() throws NoSuchMethodException {
+    store.put(SeedJournal.class, new SeedJournal(42L, true, false, null, Map.of()));
+    ParameterContext parameterContext = parameterContext(parameter("annotated", long.class));
+    assertThat(extension.resolveParameter(parameterContext, extensionContext)).isNotNull();
+  }
+
+  @Test
+  void journaled_seeds(@TempDir Path directory) throws Exception {
+    Path path = directory.resolve("seeds.tsv");
+    when(extensionContext.getConfigurationParameter(
+            eq(RandomParametersExtension.JOURNAL_PROPERTY), any()))
+        .thenReturn(Optional.of(path));
+    ParameterContext parameterContext = parameterContext(parameter("annotated", long.class));
+    Object first = extension.resolveParameter(parameterContext, extensionContext);
+    ((SeedJournal) store.remove(SeedJournal.class)).close();
+
+    when(extensionContext.getConfigurationParameter(
+            eq(RandomParametersExtension.JOURNAL_PROPERTY), any()))
+        .thenReturn(Optional.empty());
+    when(extensionContext.getConfigurationParameter(
+            eq(RandomParametersExtension.REPLAY_PROPERTY), any()))
+        .thenReturn(Optional.of(path));
+    assertThat(extension.resolveParameter(parameterContext, extensionContext)).isEqualTo(first);
+  }
+
   private Parameter parameter(String method, Class<?> clazz) throws NoSuchMethodException {
     return getClass().getDeclaredMethod(method, clazz).getParameters()[0];
   }
@@ -84,6 +333,30 @@ class RandomParametersExtensionTest {
     throw new UnsupportedOperationException(String.valueOf(generator));
   }
 
+  @SuppressWarnings("unused")
+  private void annotated(
+      @Randomize(seed = 0L, algorithm = "L64X128MixRandom") SplittableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(
+      @Randomize(seed = 0L, algorithm = "Xoshiro256PlusPlus") JumpableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(
+      @Randomize(seed = 0L, algorithm = "Xoroshiro128PlusPlus") LeapableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(
+      @Randomize(seed = 0L, algorithm = "L64X128MixRandom") StreamableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
   @SuppressWarnings("unused")
   private void annotated(@Randomize int value) {
     throw new UnsupportedOperationException(String.valueOf(value));
@@ -109,6 +382,91 @@ class RandomParametersExtensionTest {
     throw new UnsupportedOperationException(Arrays.toString(value));
   }
 
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize short[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize char[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize int[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize long[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize float[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize double[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize ByteBuffer value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize InputStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize ReadableByteChannel value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize SeekableByteChannel value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize Path value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize IntStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize LongStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize DoubleStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize IntSupplier value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize LongSupplier value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void annotated(@Randomize DoubleSupplier value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
   @SuppressWarnings("unused")
   private void annotated(@Randomize float value) {
     throw new UnsupportedOperationException(String.valueOf(value));
@@ -209,11 +567,121 @@ class RandomParametersExtensionTest {
     throw new UnsupportedOperationException(String.valueOf(value));
   }
 
+  @SuppressWarnings("unused")
+  private void boundedAnnotated(@Randomize(shortMin = 0, shortMax = 100) short[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void boundedAnnotated(@Randomize(charMin = 'A', charMax = 'Z') char[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void boundedAnnotated(@Randomize(intMin = 0, intMax = 100) int[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void boundedAnnotated(@Randomize(longMin = 0, longMax = 100) long[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void boundedAnnotated(@Randomize(floatMin = 0.0f, floatMax = 1.0f) float[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void boundedAnnotated(@Randomize(doubleMin = 0.0, doubleMax = 1.0) double[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(byteMin = 1, byteMax = 1) byte value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(shortMin = 1, shortMax = 0) short value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(charMin = 'Z', charMax = 'A') char value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(intMin = 5, intMax = 5) int value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(longMin = 5, longMax = 0) long value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(floatMin = 1.0f, floatMax = 0.0f) float value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(doubleMin = Double.NaN) double value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(length = -1) byte[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void invalidAnnotated(@Randomize(length = -1) String value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unknownAlgorithm(@Randomize(algorithm = "NotAnAlgorithm") int value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unsupportedAlgorithm(@Randomize(algorithm = "Random") SplittableGenerator value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unknownBlock(@Randomize(unicodeBlocks = "NOT_A_BLOCK") String value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
   @SuppressWarnings("unused")
   private void unannotated(RandomGenerator generator) {
     throw new UnsupportedOperationException(String.valueOf(generator));
   }
 
+  @SuppressWarnings("unused")
+  private void unannotated(SplittableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(JumpableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(LeapableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(StreamableGenerator generator) {
+    throw new UnsupportedOperationException(String.valueOf(generator));
+  }
+
   @SuppressWarnings("unused")
   private void unannotated(int value) {
     throw new UnsupportedOperationException(String.valueOf(value));
@@ -239,6 +707,91 @@ class RandomParametersExtensionTest {
     throw new UnsupportedOperationException(Arrays.toString(value));
   }
 
+  @SuppressWarnings("unused")
+  private void unannotated(short[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(char[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(int[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(long[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(float[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(double[] value) {
+    throw new UnsupportedOperationException(Arrays.toString(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(ByteBuffer value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(InputStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(ReadableByteChannel value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(SeekableByteChannel value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(Path value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(IntStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(LongStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(DoubleStream value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(IntSupplier value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(LongSupplier value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
+  @SuppressWarnings("unused")
+  private void unannotated(DoubleSupplier value) {
+    throw new UnsupportedOperationException(String.valueOf(value));
+  }
+
   @SuppressWarnings("unused")
   private void unannotated(float value) {
     throw new UnsupportedOperationException(String.valueOf(value));
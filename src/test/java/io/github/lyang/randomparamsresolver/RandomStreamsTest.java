@@ -0,0 +1,224 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RandomStreamsTest {
+  private static final int SIZE = RandomStreams.BLOCK_SIZE * 3 + 17;
+
+  private static Randomize annotation(String name) {
+    return TestParameters.annotation(RandomStreamsTest.class, name);
+  }
+
+  private static SeekableByteChannel channel(String name, long seed) {
+    return (SeekableByteChannel) RandomStreams.channel(annotation(name)).generate(new Random(seed));
+  }
+
+  private static InputStream inputStream(String name, long seed) {
+    return (InputStream) RandomStreams.inputStream(annotation(name)).generate(new Random(seed));
+  }
+
+  private static byte[] read(SeekableByteChannel channel, long position, int length)
+      throws Exception {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    channel.position(position);
+    while (buffer.hasRemaining() && channel.read(buffer) != -1) {}
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
+  @Test
+  void binary_channel() throws Exception {
+    try (SeekableByteChannel channel = channel("binary", 42L)) {
+      byte[] all = read(channel, 0, SIZE + 10);
+      assertThat(all).hasSize(SIZE);
+      assertThat(channel.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+      assertThat(channel.read(ByteBuffer.allocate(0))).isZero();
+      assertThat(channel.size()).isEqualTo(SIZE);
+
+      long offset = RandomStreams.BLOCK_SIZE * 2L - 5;
+      assertThat(read(channel, offset, 10))
+          .isEqualTo(Arrays.copyOfRange(all, (int) offset, (int) offset + 10));
+      assertThat(read(channel, 3, 4)).isEqualTo(Arrays.copyOfRange(all, 3, 7));
+      assertThat(read(channel("binary", 42L), 0, SIZE)).isEqualTo(all);
+      assertThat(read(channel("binary", 43L), 0, SIZE)).isNotEqualTo(all);
+    }
+  }
+
+  @Test
+  void text_channel() throws Exception {
+    try (SeekableByteChannel channel = channel("emoticons", 42L)) {
+      byte[] all = read(channel, 0, SIZE);
+      assertThat(all.length).isBetween(SIZE - 3, SIZE);
+      String text =
+          StandardCharsets.UTF_8
+              .newDecoder()
+              .onMalformedInput(CodingErrorAction.REPORT)
+              .decode(ByteBuffer.wrap(all))
+              .toString();
+      assertThat(text.codePoints())
+          .allMatch(
+              codePoint ->
+                  Character.UnicodeBlock.of(codePoint) == Character.UnicodeBlock.EMOTICONS);
+
+      long offset = RandomStreams.BLOCK_SIZE * 2L - 5;
+      assertThat(read(channel, offset, 10))
+          .isEqualTo(Arrays.copyOfRange(all, (int) offset, (int) offset + 10));
+      assertThat(read(channel, 1, 8)).isEqualTo(Arrays.copyOfRange(all, 1, 9));
+    }
+  }
+
+  @Test
+  void text_encodes_every_utf8_width() throws Exception {
+    byte[] all = read(channel("mixed", 42L), 0, SIZE);
+    String text =
+        StandardCharsets.UTF_8
+            .newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .decode(ByteBuffer.wrap(all))
+            .toString();
+    assertThat(text.codePoints().mapToObj(Character.UnicodeBlock::of).distinct())
+        .containsExactlyInAnyOrder(
+            Character.UnicodeBlock.BASIC_LATIN,
+            Character.UnicodeBlock.GREEK,
+            Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS,
+            Character.UnicodeBlock.EMOTICONS);
+  }
+
+  @Test
+  void text_matches_string_alphabet() throws Exception {
+    byte[] text = read(channel("latin", 42L), 0, SIZE);
+    assertThat(text).hasSize(SIZE);
+    assertThat(new String(text, StandardCharsets.US_ASCII).chars())
+        .allMatch(c -> c >= 0 && c < 0x80);
+  }
+
+  @Test
+  void input_stream() throws Exception {
+    byte[] all = read(channel("binary", 42L), 0, SIZE);
+    try (InputStream stream = inputStream("binary", 42L)) {
+      assertThat(stream.markSupported()).isTrue();
+      assertThat(stream.read()).isEqualTo(all[0] & 0xff);
+      assertThat(stream.skip(RandomStreams.BLOCK_SIZE * 2L))
+          .isEqualTo(RandomStreams.BLOCK_SIZE * 2L);
+      stream.mark(0);
+      assertThat(stream.readNBytes(4))
+          .isEqualTo(
+              Arrays.copyOfRange(
+                  all, RandomStreams.BLOCK_SIZE * 2 + 1, RandomStreams.BLOCK_SIZE * 2 + 5));
+      stream.reset();
+      assertThat(stream.readAllBytes())
+          .isEqualTo(Arrays.copyOfRange(all, RandomStreams.BLOCK_SIZE * 2 + 1, SIZE));
+      assertThat(stream.read()).isEqualTo(-1);
+      assertThat(stream.skip(10)).isZero();
+      assertThat(stream.read(new byte[0], 0, 0)).isZero();
+    }
+  }
+
+  @Test
+  void reads_single_bytes_across_blocks() throws Exception {
+    byte[] all = read(channel("emoticons", 42L), 0, SIZE);
+    try (InputStream stream = inputStream("emoticons", 42L)) {
+      byte[] bytes = new byte[all.length];
+      for (int i = 0; i < bytes.length; i++) {
+        bytes[i] = (byte) stream.read();
+      }
+      assertThat(bytes).isEqualTo(all);
+      assertThat(stream.read()).isEqualTo(-1);
+      // back before the loaded block
+      stream.reset();
+      assertThat(stream.read()).isEqualTo(all[0] & 0xff);
+    }
+  }
+
+  @Test
+  void rejects_surrogate_text() {
+    assertThatThrownBy(() -> RandomStreams.channel(annotation("surrogates")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("text cannot encode the lone surrogates of unicodeBlocks LOW_SURROGATES");
+    assertThatThrownBy(() -> RandomStreams.channel(annotation("highSurrogates")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("text cannot encode the lone surrogates of unicodeBlocks HIGH_SURROGATES");
+    assertThatThrownBy(() -> RandomStreams.channel(annotation("privateSurrogates")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage(
+            "text cannot encode the lone surrogates of unicodeBlocks HIGH_PRIVATE_USE_SURROGATES");
+    assertThat(RandomStreams.channel(annotation("binarySurrogates"))).isNotNull();
+  }
+
+  @Test
+  void reset_without_mark_rereads_from_start() throws Exception {
+    try (InputStream stream = inputStream("emoticons", 42L)) {
+      byte[] first = stream.readNBytes(100);
+      stream.reset();
+      assertThat(stream.readNBytes(100)).isEqualTo(first);
+    }
+  }
+
+  @Test
+  void read_only() throws Exception {
+    SeekableByteChannel channel = channel("binary", 42L);
+    assertThatThrownBy(() -> channel.write(ByteBuffer.allocate(1)))
+        .isInstanceOf(NonWritableChannelException.class);
+    assertThatThrownBy(() -> channel.truncate(0)).isInstanceOf(NonWritableChannelException.class);
+    assertThatThrownBy(() -> channel.position(-1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("position (-1) must not be negative");
+    channel.close();
+    assertThat(channel.isOpen()).isFalse();
+    assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(1)))
+        .isInstanceOf(ClosedChannelException.class);
+    assertThatThrownBy(channel::position).isInstanceOf(ClosedChannelException.class);
+    assertThatThrownBy(channel::size).isInstanceOf(ClosedChannelException.class);
+  }
+
+  @SuppressWarnings("unused")
+  private void binary(@Randomize(size = SIZE) SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void emoticons(
+      @Randomize(size = SIZE, text = true, unicodeBlocks = "EMOTICONS")
+          SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void surrogates(
+      @Randomize(
+              text = true,
+              unicodeBlocks = {"BASIC_LATIN", "LOW_SURROGATES"})
+          SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void highSurrogates(
+      @Randomize(text = true, unicodeBlocks = "HIGH_SURROGATES") SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void privateSurrogates(
+      @Randomize(text = true, unicodeBlocks = "HIGH_PRIVATE_USE_SURROGATES")
+          SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void mixed(
+      @Randomize(
+              size = SIZE,
+              text = true,
+              unicodeBlocks = {"BASIC_LATIN", "GREEK", "CJK_UNIFIED_IDEOGRAPHS", "EMOTICONS"})
+          SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void binarySurrogates(
+      @Randomize(unicodeBlocks = "HIGH_SURROGATES") SeekableByteChannel value) {}
+
+  @SuppressWarnings("unused")
+  private void latin(@Randomize(size = SIZE, text = true) SeekableByteChannel value) {}
+}
@@ -0,0 +1,386 @@
+package io.github.lyang.randomparamsresolver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.processing.FilerException;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+class RandomizeProcessorTest {
+  private static final String VALID =
+      """
+      package example;
+
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension;
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+      import io.github.lyang.randomparamsresolver.RandomValueGenerator;
+      import java.util.List;
+      import java.util.random.RandomGenerator;
+      import org.junit.jupiter.api.Test;
+      import org.junit.jupiter.api.TestInfo;
+      import org.junit.jupiter.api.extension.ExtendWith;
+
+      @ExtendWith(RandomParametersExtension.class)
+      public class Compiled {
+        @Test
+        void test(
+            @Randomize(intMin = 0, intMax = 10) int value,
+            @Randomize(length = 3, unicodeBlocks = {"GREEK", "CYRILLIC"}) String text,
+            @Randomize(charMin = 'a', charMax = 'z', scope = Randomize.Scope.CLASS) char letter,
+            @Randomize(floatMin = 0.5f, floatMax = Float.POSITIVE_INFINITY) float unbounded,
+            @Randomize(byteMin = 1, byteMax = 3, longMax = 100L) List<Byte> bytes,
+            TestInfo info,
+            @RandomizeWith(Zeros.class) Integer zero) {
+          if (value < 0 || value >= 10 || text.length() != 3 || letter < 'a' || letter >= 'z'
+              || unbounded < 0 || bytes.stream().anyMatch(b -> b < 1 || b >= 3) || zero != 0) {
+            throw new AssertionError();
+          }
+        }
+
+        public static final class Zeros implements RandomValueGenerator<Integer> {
+          @Override
+          public Integer generate(RandomGenerator random, Randomize annotation) {
+            return 0;
+          }
+        }
+
+        @ExtendWith(RandomParametersExtension.class)
+        static class Nested {
+          @Test
+          void nested(@Randomize(length = 2) byte[] bytes) {
+            if (bytes.length != 2) {
+              throw new AssertionError();
+            }
+          }
+        }
+      }
+      """;
+
+  private static final String INVALID =
+      """
+      package example;
+
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+      import java.io.InputStream;
+      import java.util.List;
+
+      class Invalid {
+        void bounds(@Randomize(intMin = 5, intMax = 5) int value) {}
+
+        void elements(@Randomize(intMin = 3, intMax = 1) List<Integer> values) {}
+
+        void algorithm(@Randomize(algorithm = "Nope") long value) {}
+
+        void shared(@Randomize(scope = Randomize.Scope.CLASS) InputStream stream) {}
+
+        void custom(@Randomize(length = -1) Invalid value) {}
+      }
+      """;
+
+  private static final String EDGES =
+      """
+      package example;
+
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+      import io.github.lyang.randomparamsresolver.RandomValueGenerator;
+      import java.util.List;
+      import java.util.random.RandomGenerator;
+
+      class Edges {
+        enum Color {
+          RED,
+          GREEN
+        }
+
+        record Point(@Randomize(intMin = 0, intMax = 10) int x) {}
+
+        void types(
+            @Randomize Color color,
+            @Randomize List<Edges> custom,
+            @Randomize Edges[] edges,
+            @Randomize Thread[] threads,
+            @Randomize(algorithm = "L64X128MixRandom") long seeded) {}
+
+        static class Unloadable {
+          void unloadable(@Randomize java.example.Thing thing) {}
+        }
+
+        <T> void generic(@Randomize T value) {}
+
+        void hidden(@RandomizeWith(Hidden.class) String value) {}
+
+        void local() {
+          class Local {
+            void method(@Randomize int value) {}
+          }
+        }
+
+        private static final class Hidden implements RandomValueGenerator<String> {
+          @Override
+          public String generate(RandomGenerator random, Randomize annotation) {
+            return "";
+          }
+        }
+      }
+      """;
+
+  private static final String DEFAULT_PACKAGE =
+      """
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+
+      public class Unnamed {
+        void method(@Randomize(length = 2) String value) {}
+      }
+      """;
+
+  private static final String CLASH =
+      """
+      package example;
+
+      import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+
+      class Clash {
+        void method(@Randomize int value) {}
+      }
+
+      class Clash_RandomParameters {}
+      """;
+
+  @TempDir Path directory;
+
+  private List<Diagnostic<? extends JavaFileObject>> compile(String name, String source)
+      throws IOException {
+    return compile(Map.of("example/" + name + ".java", source));
+  }
+
+  /** Compiles the sources by path with the processor, returning the errors. */
+  private List<Diagnostic<? extends JavaFileObject>> compile(Map<String, String> sources)
+      throws IOException {
+    List<Path> paths = new ArrayList<>();
+    for (Map.Entry<String, String> source : sources.entrySet()) {
+      Path file = directory.resolve("src").resolve(source.getKey());
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, source.getValue());
+      paths.add(file);
+    }
+    Files.createDirectories(directory.resolve("classes"));
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager files =
+        compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+      compiler
+          .getTask(
+              null,
+              files,
+              diagnostics,
+              List.of(
+                  "-processor",
+                  RandomizeProcessor.class.getName(),
+                  "-classpath",
+                  System.getProperty("java.class.path"),
+                  "-d",
+                  directory.resolve("classes").toString()),
+              null,
+              files.getJavaFileObjectsFromPaths(paths))
+          .call();
+    }
+    return diagnostics.getDiagnostics().stream()
+        .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+        .toList();
+  }
+
+  private static Method method(Class<?> type, String name) {
+    return Arrays.stream(type.getDeclaredMethods())
+        .filter(method -> method.getName().equals(name))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  @Test
+  void generates_resolvers() throws Exception {
+    assertThat(compile("Compiled", VALID)).isEmpty();
+    assertThat(directory.resolve("classes/example/Compiled_RandomParameters.class")).exists();
+    assertThat(directory.resolve("classes/example/Compiled_Nested_RandomParameters.class"))
+        .exists();
+
+    try (URLClassLoader loader =
+        new URLClassLoader(
+            new URL[] {directory.resolve("classes").toUri().toURL()},
+            getClass().getClassLoader())) {
+      Class<?> compiled = loader.loadClass("example.Compiled");
+      Method test = method(compiled, "test");
+      Randomize[] generated = GeneratedRandomize.annotations(test);
+      assertThat(generated).hasSize(7);
+      assertThat(generated[5]).isNull();
+      assertThat(generated[6]).isNull();
+      assertThat(generated[0]).isInstanceOf(GeneratedRandomize.class);
+      for (int i = 0; i < 5; i++) {
+        Randomize annotation = test.getParameters()[i].getAnnotation(Randomize.class);
+        assertThat(generated[i]).isEqualTo(annotation).hasSameHashCodeAs(annotation);
+        assertThat(annotation).isEqualTo(generated[i]);
+      }
+      assertThat(GeneratedRandomize.generators(test))
+          .containsExactly(
+              null, null, null, null, null, null, loader.loadClass("example.Compiled$Zeros"));
+      assertThat(GeneratedRandomize.annotations(method(compiled.getDeclaredClasses()[0], "nested")))
+          .singleElement()
+          .extracting(Randomize::length)
+          .isEqualTo(2);
+
+      EngineTestKit.engine("junit-jupiter")
+          .selectors(selectClass(compiled), selectClass(compiled.getDeclaredClasses()[0]))
+          .execute()
+          .testEvents()
+          .assertStatistics(stats -> stats.started(2).succeeded(2));
+    }
+  }
+
+  @Test
+  void reports_invalid_attributes() throws IOException {
+    assertThat(compile("Invalid", INVALID))
+        .extracting(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+        .hasSize(4)
+        .containsSubsequence(
+            "Invalid @Randomize: intMin (5) must be less than intMax (5)",
+            "Invalid @Randomize: intMin (3) must be less than intMax (1)")
+        .anySatisfy(message -> assertThat(message).contains("Nope"))
+        .contains("Invalid @Randomize: scope CLASS cannot share a InputStream");
+  }
+
+  @Test
+  void skips_what_resolvers_cannot_name() throws Exception {
+    // a JDK package the processor cannot load, like a JDK type of a later release
+    String thing = "package java.example;\n\npublic class Thing {}\n";
+    assertThat(compile(Map.of("example/Edges.java", EDGES, "java/example/Thing.java", thing)))
+        .isEmpty();
+    assertThat(directory.resolve("classes/example/Edges_RandomParameters.class")).exists();
+    assertThat(directory.resolve("classes/example/Edges_Point_RandomParameters.class")).exists();
+    assertThat(directory.resolve("classes/example/Local_RandomParameters.class")).doesNotExist();
+
+    try (URLClassLoader loader =
+        new URLClassLoader(
+            new URL[] {directory.resolve("classes").toUri().toURL()},
+            getClass().getClassLoader())) {
+      Class<?> edges = loader.loadClass("example.Edges");
+      // unloadable, as classes in java packages cannot be defined outside the JDK
+      assertThat(directory.resolve("classes/java/example/Thing.class")).exists();
+      assertThat(GeneratedRandomize.annotations(method(edges, "types"))).hasSize(5);
+      assertThat(
+              GeneratedRandomize.annotations(
+                  loader.loadClass("example.Edges$Point").getDeclaredConstructor(int.class)))
+          .singleElement()
+          .extracting(Randomize::intMax)
+          .isEqualTo(10);
+      // the generated key names the type variable, while its erasure is found at runtime
+      assertThat(GeneratedRandomize.annotations(method(edges, "generic"))).isNull();
+      assertThat(GeneratedRandomize.annotations(method(edges, "hidden"))).isNull();
+    }
+  }
+
+  @Test
+  void generates_resolvers_in_the_unnamed_package() throws Exception {
+    assertThat(compile(Map.of("Unnamed.java", DEFAULT_PACKAGE))).isEmpty();
+    try (URLClassLoader loader =
+        new URLClassLoader(
+            new URL[] {directory.resolve("classes").toUri().toURL()},
+            getClass().getClassLoader())) {
+      assertThat(GeneratedRandomize.annotations(method(loader.loadClass("Unnamed"), "method")))
+          .singleElement()
+          .extracting(Randomize::length)
+          .isEqualTo(2);
+    }
+  }
+
+  @Test
+  void fails_on_clashing_resolver_names() {
+    assertThatThrownBy(() -> compile("Clash", CLASH)).hasRootCauseInstanceOf(FilerException.class);
+  }
+
+  @Test
+  void falls_back_to_reflection() {
+    assertThat(GeneratedRandomize.annotations(method(RandomizeProcessorTest.class, "compile")))
+        .isNull();
+    assertThat(GeneratedRandomize.annotations(method(Impostor.class, "method"))).isNull();
+    assertThatThrownBy(() -> GeneratedRandomize.annotations(method(Broken.class, "method")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("Cannot load generated resolver of " + Broken.class.getName())
+        .hasCauseInstanceOf(NoSuchMethodException.class);
+  }
+
+  @Test
+  void defaults_match_annotation() throws ReflectiveOperationException {
+    Randomize annotation =
+        RandomizeProcessorTest.class
+            .getDeclaredMethod("defaults", int.class)
+            .getParameters()[0]
+            .getAnnotation(Randomize.class);
+    Randomize defaults = new GeneratedRandomize(Map.of());
+    assertThat(defaults).hasToString(ResolutionPlan.describe(annotation));
+    assertThat(defaults).isEqualTo(annotation).hasSameHashCodeAs(annotation);
+    for (Method attribute : Randomize.class.getDeclaredMethods()) {
+      assertThat(attribute.invoke(defaults))
+          .as(attribute.getName())
+          .isEqualTo(Randomize.class.getMethod(attribute.getName()).getDefaultValue());
+    }
+    assertThat(new GeneratedRandomize(Map.of("length", 7))).isNotEqualTo(annotation);
+    assertThat(defaults.annotationType()).isEqualTo(Randomize.class);
+    assertThat(defaults).isEqualTo(defaults).isNotEqualTo("defaults");
+  }
+
+  @Test
+  void reports_failing_annotations() {
+    Randomize failing = mock();
+    when(failing.length()).thenThrow(new UnsupportedOperationException());
+    assertThatThrownBy(() -> GeneratedRandomize.with(failing, "length", 1))
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> ResolutionPlan.describe(failing))
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @SuppressWarnings("unused")
+  private void defaults(@Randomize int value) {}
+
+  static class Impostor {
+    @SuppressWarnings("unused")
+    void method(int value) {}
+  }
+
+  static class Broken {
+    @SuppressWarnings("unused")
+    void method(int value) {}
+  }
+}
+
+/** Named like a generated resolver, without being one. */
+class RandomizeProcessorTest_Impostor_RandomParameters {}
+
+/** A generated resolver that cannot be instantiated. */
+abstract class RandomizeProcessorTest_Broken_RandomParameters implements GeneratedRandomize.Index {}
@@ -0,0 +1,334 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.testkit.engine.EventConditions.finishedWithFailure;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.instanceOf;
+import static org.junit.platform.testkit.engine.TestExecutionResultConditions.message;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize.Scope;
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.RandomizeWith;
+import io.github.lyang.randomparamsresolver.RandomizedTestExtension.RandomizedTest;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+class RandomizedTestExtensionTest {
+  private static final Map<String, String> PARALLEL =
+      Map.of(
+          RandomParametersExtension.SEED_PROPERTY,
+          "42",
+          "junit.jupiter.execution.parallel.enabled",
+          "true");
+
+  private static Events execute(Class<?> testClass, Map<String, String> configuration) {
+    return EngineTestKit.engine("junit-jupiter")
+        .configurationParameters(configuration)
+        .selectors(selectClass(testClass))
+        .execute()
+        .testEvents();
+  }
+
+  @Test
+  void runs_iterations_reproducibly() {
+    Iterations.VALUES.clear();
+    execute(Iterations.class, PARALLEL)
+        .assertStatistics(stats -> stats.started(200).succeeded(200));
+    Map<String, String> first = Map.copyOf(Iterations.VALUES);
+    Iterations.VALUES.clear();
+
+    execute(Iterations.class, PARALLEL)
+        .assertStatistics(stats -> stats.started(200).succeeded(200));
+    assertThat(Iterations.VALUES).hasSize(200).isEqualTo(first);
+    assertThat(first.values()).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void prefetches_the_same_values() {
+    Iterations.VALUES.clear();
+    execute(Iterations.class, PARALLEL);
+    Map<String, String> expected = Map.copyOf(Iterations.VALUES);
+    for (String bytes : List.of("1", "1048576")) {
+      Iterations.VALUES.clear();
+      Map<String, String> configuration = new HashMap<>(PARALLEL);
+      configuration.put(RandomParametersExtension.PREFETCH_PROPERTY, "16");
+      configuration.put(RandomParametersExtension.PREFETCH_BYTES_PROPERTY, bytes);
+      execute(Iterations.class, configuration)
+          .assertStatistics(stats -> stats.started(200).succeeded(200));
+      assertThat(Iterations.VALUES).isEqualTo(expected);
+    }
+
+    Prefetched.BACKGROUND.set(0);
+    execute(
+            Prefetched.class,
+            Map.of(
+                RandomParametersExtension.SEED_PROPERTY,
+                "42",
+                RandomParametersExtension.PREFETCH_PROPERTY,
+                "4"))
+        .assertStatistics(stats -> stats.started(20).succeeded(20));
+    assertThat(Prefetched.BACKGROUND.get()).isPositive();
+  }
+
+  @Test
+  void bounds_prefetched_bytes() {
+    Prefetched.BACKGROUND.set(0);
+    execute(
+            Prefetched.class,
+            Map.of(
+                RandomParametersExtension.PREFETCH_PROPERTY,
+                "4",
+                RandomParametersExtension.PREFETCH_BYTES_PROPERTY,
+                "1"))
+        .assertStatistics(stats -> stats.started(20).succeeded(20));
+    assertThat(Prefetched.BACKGROUND.get()).isZero();
+  }
+
+  @Test
+  void measures_claimed_values_only() throws NoSuchMethodException {
+    String payload =
+        "randomize.parameter Prefetched#iterate#"
+            + Prefetched.class
+                .getDeclaredMethod("iterate", byte[].class, String.class)
+                .getParameters()[0]
+                .getName();
+    // values dropped for the budget must not be counted either
+    for (String bytes : List.of("1", "67108864")) {
+      Map<String, String> entries =
+          EngineTestKit.engine("junit-jupiter")
+              .configurationParameters(
+                  Map.of(
+                      RandomParametersExtension.PREFETCH_PROPERTY,
+                      "16",
+                      RandomParametersExtension.PREFETCH_BYTES_PROPERTY,
+                      bytes,
+                      RandomParametersExtension.METRICS_PROPERTY,
+                      "true"))
+              .selectors(selectClass(Prefetched.class))
+              .execute()
+              .allEvents()
+              .reportingEntryPublished()
+              .stream()
+              .map(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs())
+              .filter(pairs -> pairs.containsKey(payload))
+              .findFirst()
+              .orElseThrow();
+      assertThat(entries.get(payload)).startsWith("count=20 ");
+    }
+  }
+
+  @Test
+  void prefetches_only_what_iterations_can_take() {
+    Map<String, String> prefetch = Map.of(RandomParametersExtension.PREFETCH_PROPERTY, "4");
+    Partial.PINNED.clear();
+    execute(Partial.class, prefetch).assertStatistics(stats -> stats.started(4).succeeded(4));
+    assertThat(Partial.PINNED).hasSize(4).containsOnly(Partial.PINNED.get(0));
+    execute(Unprefetchable.class, prefetch)
+        .assertStatistics(stats -> stats.started(2).succeeded(2));
+    execute(Unique.class, prefetch).assertStatistics(stats -> stats.started(2).failed(2));
+    execute(Misconfigured.class, prefetch).assertStatistics(stats -> stats.started(2).failed(2));
+  }
+
+  @Test
+  void regenerates_values_that_failed_in_the_background() {
+    execute(Broken.class, Map.of(RandomParametersExtension.PREFETCH_PROPERTY, "4"))
+        .assertStatistics(stats -> stats.started(4).failed(4));
+  }
+
+  @Test
+  void reports_failing_seeds() throws NoSuchMethodException {
+    String executable =
+        Failing.class.getDeclaredMethod("iterate", TestInfo.class, int.class).toGenericString();
+    Failing.VALUES.clear();
+    Failing.ABORTED.set(0);
+    Events events = execute(Failing.class, Map.of());
+    events.assertStatistics(
+        stats -> stats.started(50).failed(Failing.VALUES.size()).aborted(Failing.ABORTED.get()));
+    List<Long> seeds =
+        events.reportingEntryPublished().stream()
+            .map(event -> event.getRequiredPayload(ReportEntry.class))
+            .map(
+                entry ->
+                    Long.valueOf(
+                        entry.getKeyValuePairs().get(RandomizedTestExtension.SEED_REPORT_KEY)))
+            .toList();
+    assertThat(seeds).hasSameSizeAs(Failing.VALUES.values()).isNotEmpty();
+    assertThat(seeds)
+        .map(seed -> new Random(Seeds.derive(seed, executable, 1)).nextInt(0, 10))
+        .containsExactlyInAnyOrderElementsOf(Failing.VALUES.values());
+  }
+
+  @Test
+  void replays_pinned_seed() throws NoSuchMethodException {
+    String executable = Pinned.class.getDeclaredMethod("iterate", long.class).toGenericString();
+    Pinned.VALUES.clear();
+    execute(Pinned.class, Map.of()).assertStatistics(stats -> stats.started(1).succeeded(1));
+    assertThat(Pinned.VALUES)
+        .containsExactly(new Random(Seeds.derive(1234L, executable, 0)).nextLong());
+  }
+
+  @Test
+  void rejects_unique_sequences() {
+    execute(Unique.class, Map.of())
+        .assertStatistics(stats -> stats.started(2).failed(2))
+        .assertThatEvents()
+        .haveExactly(
+            2,
+            finishedWithFailure(
+                instanceOf(ParameterResolutionException.class),
+                message(
+                    m ->
+                        m.endsWith(
+                            "unique values are drawn in sequence, so @RandomizedTest iterations"
+                                + " cannot replay them from their seed"))));
+  }
+
+  @Test
+  void rejects_invalid_iterations() {
+    EngineTestKit.engine("junit-jupiter")
+        .selectors(selectClass(Invalid.class))
+        .execute()
+        .containerEvents()
+        .assertThatEvents()
+        .haveExactly(
+            1,
+            finishedWithFailure(
+                instanceOf(ExtensionConfigurationException.class),
+                message("@RandomizedTest on invalid: iterations (0) must be positive")));
+  }
+
+  @Execution(ExecutionMode.CONCURRENT)
+  static class Iterations {
+    static final Map<String, String> VALUES = new ConcurrentHashMap<>();
+
+    @RandomizedTest(iterations = 200)
+    void iterate(TestInfo info, @Randomize long first, @Randomize(length = 8) String second) {
+      VALUES.put(info.getDisplayName(), first + second);
+    }
+  }
+
+  static class Prefetched {
+    static final AtomicInteger BACKGROUND = new AtomicInteger();
+
+    @RandomizedTest(iterations = 20)
+    void iterate(
+        @Randomize(length = 1 << 16) byte[] payload,
+        @RandomizeWith(ThreadName.class) String thread) {
+      assertThat(payload).hasSize(1 << 16);
+      if (!thread.equals(Thread.currentThread().getName())) {
+        BACKGROUND.incrementAndGet();
+      }
+    }
+  }
+
+  static final class ThreadName implements RandomValueGenerator<String> {
+    @Override
+    public String generate(RandomGenerator random, Randomize annotation) {
+      return Thread.currentThread().getName();
+    }
+  }
+
+  static class Partial {
+    static final List<Long> PINNED = new CopyOnWriteArrayList<>();
+
+    // lifecycle parameters find the values prefetched for the test method, and must not take them
+    @BeforeEach
+    void setUp(
+        @Randomize long first,
+        @Randomize long second,
+        @Randomize long third,
+        @Randomize long extra) {}
+
+    @RandomizedTest(iterations = 4)
+    void iterate(@Randomize Path file, @Randomize long value, @Randomize(seed = 7L) long pinned) {
+      assertThat(file).exists();
+      PINNED.add(pinned);
+    }
+  }
+
+  static class Unprefetchable {
+    @RandomizedTest(iterations = 2)
+    void iterate(@Randomize Path file, @Randomize(scope = Scope.CLASS) long shared) {}
+  }
+
+  static class Misconfigured {
+    @RandomizedTest(iterations = 2)
+    void iterate(@Randomize(intMin = 5, intMax = 1) int value) {}
+  }
+
+  static class Broken {
+    @RandomizedTest(iterations = 2)
+    void throwing(@RandomizeWith(Throwing.class) String value) {}
+
+    @RandomizedTest(iterations = 2)
+    void erroring(@RandomizeWith(Erroring.class) String value) {}
+  }
+
+  static final class Throwing implements RandomValueGenerator<String> {
+    @Override
+    public String generate(RandomGenerator random, Randomize annotation) {
+      throw new IllegalStateException("broken");
+    }
+  }
+
+  static final class Erroring implements RandomValueGenerator<String> {
+    @Override
+    public String generate(RandomGenerator random, Randomize annotation) {
+      throw new AssertionError("broken");
+    }
+  }
+
+  static class Failing {
+    static final Map<String, Integer> VALUES = new ConcurrentHashMap<>();
+    static final AtomicInteger ABORTED = new AtomicInteger();
+
+    @RandomizedTest(iterations = 50)
+    void iterate(TestInfo info, @Randomize(intMin = 0, intMax = 10) int value) {
+      if (value == 5) {
+        ABORTED.incrementAndGet();
+      }
+      assumeTrue(value != 5);
+      if (value == 3) {
+        VALUES.put(info.getDisplayName(), value);
+        throw new AssertionError("unlucky");
+      }
+    }
+  }
+
+  static class Pinned {
+    static final List<Long> VALUES = new CopyOnWriteArrayList<>();
+
+    @RandomizedTest(iterations = 1, seed = 1234L)
+    void iterate(@Randomize long value) {
+      VALUES.add(value);
+    }
+  }
+
+  static class Unique {
+    @RandomizedTest(iterations = 2)
+    void iterate(@Randomize(intMin = 0, intMax = 10, unique = true) int id) {}
+  }
+
+  static class Invalid {
+    @RandomizedTest(iterations = 0)
+    void invalid() {}
+  }
+}
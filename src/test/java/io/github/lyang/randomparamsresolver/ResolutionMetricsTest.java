@@ -0,0 +1,211 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.engine.reporting.ReportEntry;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+class ResolutionMetricsTest {
+  private static final String EVENT = "io.github.lyang.randomparamsresolver.ParameterResolution";
+
+  private static Events execute(Map<String, String> configuration) {
+    return EngineTestKit.engine("junit-jupiter")
+        .configurationParameters(configuration)
+        .selectors(selectClass(Measured.class))
+        .execute()
+        .allEvents();
+  }
+
+  private static Map<String, String> entries(Events events) {
+    return events.reportingEntryPublished().stream()
+        .map(event -> event.getRequiredPayload(ReportEntry.class).getKeyValuePairs())
+        .reduce(Map.of(), (a, b) -> b);
+  }
+
+  private static String context(String method, Class<?> type) throws NoSuchMethodException {
+    return "Measured#"
+        + method
+        + "#"
+        + Measured.class.getDeclaredMethod(method, type).getParameters()[0].getName();
+  }
+
+  @Test
+  void sizes() {
+    assertThat(ResolutionMetrics.sizeOf(null)).isZero();
+    assertThat(ResolutionMetrics.sizeOf(1)).isEqualTo(4);
+    assertThat(ResolutionMetrics.sizeOf(1L)).isEqualTo(8);
+    assertThat(ResolutionMetrics.sizeOf("abc")).isEqualTo(6);
+    assertThat(ResolutionMetrics.sizeOf(new byte[10])).isEqualTo(10);
+    assertThat(ResolutionMetrics.sizeOf(new int[10])).isEqualTo(40);
+    assertThat(ResolutionMetrics.sizeOf(new double[0])).isZero();
+    assertThat(ResolutionMetrics.sizeOf(ByteBuffer.allocate(16))).isEqualTo(16);
+    assertThat(ResolutionMetrics.sizeOf(BigInteger.ONE.shiftLeft(64))).isEqualTo(9);
+    assertThat(ResolutionMetrics.sizeOf(List.of("ab", "cd"))).isEqualTo(8);
+    assertThat(ResolutionMetrics.sizeOf(Map.of(1, "ab"))).isEqualTo(8);
+    assertThat(ResolutionMetrics.sizeOf(new SplittableRandom())).isZero();
+  }
+
+  @Test
+  void sizes_every_primitive() {
+    assertThat(ResolutionMetrics.sizeOf((byte) 1)).isEqualTo(1);
+    assertThat(ResolutionMetrics.sizeOf(true)).isEqualTo(1);
+    assertThat(ResolutionMetrics.sizeOf((short) 1)).isEqualTo(2);
+    assertThat(ResolutionMetrics.sizeOf('a')).isEqualTo(2);
+    assertThat(ResolutionMetrics.sizeOf(1f)).isEqualTo(4);
+    assertThat(ResolutionMetrics.sizeOf(1d)).isEqualTo(8);
+    assertThat(ResolutionMetrics.sizeOf(new BigDecimal("1.5"))).isEqualTo(5);
+    assertThat(ResolutionMetrics.sizeOf(new boolean[3])).isEqualTo(3);
+    assertThat(ResolutionMetrics.sizeOf(new short[3])).isEqualTo(6);
+    assertThat(ResolutionMetrics.sizeOf(new char[3])).isEqualTo(6);
+    assertThat(ResolutionMetrics.sizeOf(new float[3])).isEqualTo(12);
+    assertThat(ResolutionMetrics.sizeOf(new long[3])).isEqualTo(24);
+    assertThat(ResolutionMetrics.sizeOf(new double[3])).isEqualTo(24);
+    assertThat(ResolutionMetrics.sizeOf(new String[] {"ab"})).isZero();
+  }
+
+  @Test
+  void publishes_nothing_without_resolutions() {
+    // a container without resolutions is never asked to publish
+    new ResolutionMetrics(null).close();
+  }
+
+  @Test
+  void counts_rejections_only_while_measuring() {
+    ResolutionMetrics.reject(5);
+    ResolutionMetrics.begin();
+    ResolutionMetrics.reject(2);
+    ResolutionMetrics.reject(3);
+    assertThat(ResolutionMetrics.end()).isEqualTo(5);
+    ResolutionMetrics.reject(7);
+    assertThat(ResolutionMetrics.end()).isZero();
+  }
+
+  @Test
+  void counts_forked_rejections_separately() {
+    ResolutionMetrics.begin();
+    ResolutionMetrics.reject(1);
+    assertThat(ResolutionMetrics.counting(() -> ResolutionMetrics.reject(4))).isEqualTo(4);
+    assertThat(ResolutionMetrics.end()).isEqualTo(1);
+    assertThat(ResolutionMetrics.counting(() -> ResolutionMetrics.reject(2))).isEqualTo(2);
+    assertThat(ResolutionMetrics.end()).isZero();
+  }
+
+  @Test
+  void summarises_parameters_and_types() {
+    ResolutionMetrics metrics = new ResolutionMetrics(null);
+    metrics.record("A#b#0", int.class, 2_000_000, 4, 0);
+    metrics.record("A#b#0", int.class, 1_000_000, 4, 0);
+    metrics.record("A#c#0", Set.class, 500_000, 10, 3);
+    assertThat(metrics.summary())
+        .containsExactly(
+            Map.entry("randomize.parameter A#b#0", "count=2 time=3.000ms bytes=8 rejected=0"),
+            Map.entry("randomize.parameter A#c#0", "count=1 time=0.500ms bytes=10 rejected=3"),
+            Map.entry("randomize.type int", "count=2 time=3.000ms bytes=8 rejected=0"),
+            Map.entry("randomize.type java.util.Set", "count=1 time=0.500ms bytes=10 rejected=3"));
+  }
+
+  @Test
+  void reports_metrics_per_container() throws Exception {
+    Map<String, String> entries =
+        entries(execute(Map.of(RandomParametersExtension.METRICS_PROPERTY, "true")));
+    assertThat(entries)
+        .containsOnlyKeys(
+            "randomize.parameter " + context("text", String.class),
+            "randomize.parameter " + context("textAgain", String.class),
+            "randomize.parameter " + context("numbers", Set.class),
+            "randomize.type java.lang.String",
+            "randomize.type java.util.Set");
+    assertThat(entries.get("randomize.parameter " + context("text", String.class)))
+        .startsWith("count=1 ")
+        .endsWith(" bytes=8 rejected=0");
+    assertThat(entries.get("randomize.type java.lang.String"))
+        .startsWith("count=2 ")
+        .endsWith(" bytes=16 rejected=0");
+    assertThat(entries.get("randomize.type java.util.Set"))
+        .startsWith("count=1 ")
+        .contains(" bytes=40 rejected=");
+  }
+
+  @Test
+  void disabled_by_default() {
+    assertThat(execute(Map.of()).reportingEntryPublished().count()).isZero();
+  }
+
+  @Test
+  void emits_flight_recorder_events(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("resolution.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(EVENT).withoutThreshold();
+      recording.start();
+      execute(Map.of(RandomParametersExtension.SEED_PROPERTY, "42"));
+      recording.stop();
+      recording.dump(file);
+    }
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(EVENT))
+            .toList();
+    assertThat(events)
+        .extracting(event -> event.getString("parameter"))
+        .containsExactlyInAnyOrder(
+            context("text", String.class),
+            context("textAgain", String.class),
+            context("numbers", Set.class));
+    String numbers = context("numbers", Set.class);
+    assertThat(events)
+        .filteredOn(event -> event.getString("parameter").equals(numbers))
+        .singleElement()
+        .satisfies(
+            event -> {
+              assertThat(event.getClass("type").getName()).isEqualTo(Set.class.getName());
+              assertThat(event.getLong("bytes")).isEqualTo(40);
+              assertThat(event.getLong("seed")).isNotZero();
+            });
+  }
+
+  @Test
+  void tracks_recordings_of_the_event() {
+    assertThat(ResolutionEvent.isRecorded()).isFalse();
+    try (Recording recording = new Recording()) {
+      recording.enable(EVENT);
+      recording.start();
+      assertThat(ResolutionEvent.isRecorded()).isTrue();
+      recording.stop();
+    }
+    assertThat(ResolutionEvent.isRecorded()).isFalse();
+    try (Recording recording = new Recording()) {
+      recording.disable(EVENT);
+      recording.start();
+      assertThat(ResolutionEvent.isRecorded()).isFalse();
+    }
+  }
+
+  @ExtendWith(RandomParametersExtension.class)
+  static class Measured {
+    @Test
+    void text(@Randomize(length = 4) String value) {}
+
+    @Test
+    void textAgain(@Randomize(length = 4) String value) {}
+
+    @Test
+    void numbers(@Randomize(length = 10, intMin = 0, intMax = 12) Set<Integer> values) {}
+  }
+}
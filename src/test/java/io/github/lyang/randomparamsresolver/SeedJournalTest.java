@@ -0,0 +1,108 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SeedJournalTest {
+  @TempDir Path directory;
+
+  @Test
+  void records_and_reads_back() throws Exception {
+    Path path = directory.resolve("nested/seeds.tsv");
+    try (SeedJournal journal =
+        new SeedJournal(42L, false, false, SeedJournal.open(path), Map.of())) {
+      journal.record(
+          "[engine:junit-jupiter]/[method:test()]", "void test(long)", 0, long.class, 7L);
+      journal.record(
+          "[method:odd\t\\name\r\n]", "void odd(int,java.lang.String)", 1, String.class, -8L);
+    }
+
+    assertThat(Files.readAllLines(path))
+        .containsExactly(
+            "# root seed 42",
+            "7\t0\tlong\tvoid test(long)\t[engine:junit-jupiter]/[method:test()]",
+            "-8\t1\tjava.lang.String\tvoid odd(int,java.lang.String)\t[method:odd\\t\\\\n"
+                + "ame\\r"
+                + "\\n"
+                + "]");
+    assertThat(SeedJournal.readRootSeed(path)).contains(42L);
+
+    SeedJournal replay = new SeedJournal(0L, false, false, null, SeedJournal.readSeeds(path));
+    assertThat(replay.seed("[engine:junit-jupiter]/[method:test()]", "void test(long)", 0))
+        .isEqualTo(7L);
+    assertThat(replay.seed("[method:odd\t\\name\r\n]", "void odd(int,java.lang.String)", 1))
+        .isEqualTo(-8L);
+    assertThat(replay.seed("[engine:junit-jupiter]/[method:test()]", "void setUp(long)", 0))
+        .isEqualTo(
+            Seeds.derive(0L, "[engine:junit-jupiter]/[method:test()]", "void setUp(long)", 0));
+    assertThat(replay.seed("[method:other()]", "void other()", 0))
+        .isEqualTo(Seeds.derive(0L, "[method:other()]", "void other()", 0));
+    assertThat(replay.seed("[engine:junit-jupiter]/[method:test()]", "void test(long)", 0, 5L))
+        .isEqualTo(7L);
+    assertThat(replay.seed("[method:other()]", "void other()", 2, 5L))
+        .isEqualTo(Seeds.derive(5L, "void other()", 2));
+  }
+
+  @Test
+  void derives_without_replay() throws Exception {
+    try (SeedJournal journal = new SeedJournal(42L, true, false, null, Map.of())) {
+      journal.record("[method:test()]", "void test(int)", 0, int.class, 1L);
+      assertThat(journal.rootSeed()).isEqualTo(42L);
+      assertThat(journal.logSeeds()).isTrue();
+      assertThat(journal.seed("[method:test()]", "void test(int)", 0))
+          .isEqualTo(Seeds.derive(42L, "[method:test()]", "void test(int)", 0));
+    }
+  }
+
+  @Test
+  void missing_root_seed() throws Exception {
+    Path path =
+        Files.writeString(
+            directory.resolve("seeds.tsv"), "\n1\t0\tint\tvoid test(int)\t[method:test()]\n");
+    assertThat(SeedJournal.readRootSeed(path)).isEmpty();
+    assertThat(SeedJournal.readSeeds(path)).hasSize(1);
+  }
+
+  @Test
+  void keeps_trailing_backslashes() throws Exception {
+    // hand-edited journals may end a field with a lone backslash
+    Path path =
+        Files.writeString(directory.resolve("seeds.tsv"), "3\t0\tint\tvoid test(int)\t[a]\\\n");
+    SeedJournal journal = new SeedJournal(0L, false, false, null, SeedJournal.readSeeds(path));
+    assertThat(journal.seed("[a]\\", "void test(int)", 0)).isEqualTo(3L);
+  }
+
+  @Test
+  void unreadable_journal() {
+    Path path = directory.resolve("missing.tsv");
+    assertThatThrownBy(() -> SeedJournal.readSeeds(path))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("missing.tsv");
+  }
+
+  @Test
+  void closed_journal() throws Exception {
+    Writer writer = SeedJournal.open(directory.resolve("seeds.tsv"));
+    SeedJournal journal = new SeedJournal(0L, false, false, writer, Map.of());
+    journal.close();
+    assertThatThrownBy(() -> journal.record("[method:test()]", "void test(int)", 0, int.class, 1L))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessage("Cannot write seed journal");
+  }
+
+  @Test
+  void unwritable_journal() throws Exception {
+    Path file = Files.createFile(directory.resolve("file"));
+    assertThatThrownBy(() -> SeedJournal.open(file.resolve("seeds.tsv")))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("seeds.tsv");
+  }
+}
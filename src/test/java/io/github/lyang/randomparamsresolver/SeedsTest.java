@@ -0,0 +1,50 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class SeedsTest {
+
+  @Test
+  void derive_is_deterministic() {
+    assertThat(Seeds.derive(42L, "[engine:junit-jupiter]/[method:test()]", "void test()", 0))
+        .isEqualTo(Seeds.derive(42L, "[engine:junit-jupiter]/[method:test()]", "void test()", 0));
+  }
+
+  @Test
+  void derive_separates_roots_ids_executables_and_indexes() {
+    long seed = Seeds.derive(42L, "[method:test()]", "void test(int)", 0);
+    assertThat(Seeds.derive(43L, "[method:test()]", "void test(int)", 0)).isNotEqualTo(seed);
+    assertThat(Seeds.derive(42L, "[method:other()]", "void test(int)", 0)).isNotEqualTo(seed);
+    assertThat(Seeds.derive(42L, "[method:test()]", "void setUp(int)", 0)).isNotEqualTo(seed);
+    assertThat(Seeds.derive(42L, "[method:test()]", "void test(int)", 1)).isNotEqualTo(seed);
+  }
+
+  @Test
+  void derive_spreads_sequential_indexes() {
+    assertThat(IntStream.range(0, 10_000).mapToLong(i -> Seeds.derive(0L, "", "", i)).distinct())
+        .hasSize(10_000);
+  }
+
+  @Test
+  void derive_through_test_seed() {
+    long testSeed = Seeds.derive(42L, "[method:test()]");
+    assertThat(Seeds.derive(testSeed, "void test()", 3))
+        .isEqualTo(Seeds.derive(42L, "[method:test()]", "void test()", 3));
+  }
+
+  @Test
+  void hash_distinguishes_strings() {
+    assertThat(Seeds.hash("ab")).isNotEqualTo(Seeds.hash("ba"));
+    assertThat(Seeds.hash("")).isEqualTo(0xcbf29ce484222325L);
+  }
+
+  @Test
+  void mix_is_bijective_on_samples() {
+    assertThat(LongStream.range(0, 10_000).map(Seeds::mix).distinct()).hasSize(10_000);
+    assertThat(Seeds.mix(0L)).isZero();
+  }
+}
@@ -0,0 +1,227 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+class SourceGeneratorsTest {
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(SourceGeneratorsTest.class, name);
+  }
+
+  private static Randomize annotation(String name) {
+    return TestParameters.annotation(SourceGeneratorsTest.class, name);
+  }
+
+  private static Object source(String name) {
+    Parameter parameter = parameter(name);
+    return SourceGenerators.source(
+            parameter.getParameterizedType(),
+            ObjectGenerators.elements(RandomParametersExtension.GENERATORS))
+        .apply(parameter.getAnnotation(Randomize.class))
+        .generate(new SplittableRandom(0L));
+  }
+
+  private static IntStream ints() {
+    return (IntStream)
+        SourceGenerators.intStream(annotation("ints")).generate(new SplittableRandom(0L));
+  }
+
+  @Test
+  void bounded_streams() {
+    assertThat(ints().limit(10_000)).allMatch(value -> value >= -5 && value < 5);
+    LongStream longs =
+        (LongStream)
+            SourceGenerators.longStream(annotation("longs")).generate(new SplittableRandom(0L));
+    assertThat(longs.limit(10_000)).allMatch(value -> value >= 100 && value < 200);
+    DoubleStream doubles =
+        (DoubleStream)
+            SourceGenerators.doubleStream(annotation("doubles")).generate(new SplittableRandom(0L));
+    assertThat(doubles.limit(10_000)).allMatch(value -> value >= 0 && value < 1e-3);
+    DoubleStream unbounded =
+        (DoubleStream)
+            SourceGenerators.doubleStream(annotation("unbounded"))
+                .generate(new SplittableRandom(0L));
+    assertThat(unbounded.limit(10_000)).allMatch(value -> value >= 0 && value < 1);
+  }
+
+  @Test
+  void parallel_streams_are_reproducible() {
+    int length = SourceGenerators.BLOCK_SIZE * 50 + 7;
+    int[] sequential = ints().limit(length).toArray();
+    assertThat(ints().parallel().limit(length).toArray()).isEqualTo(sequential);
+    assertThat(ints().limit(length).parallel().toArray()).isEqualTo(sequential);
+    assertThat(ints().skip(SourceGenerators.BLOCK_SIZE).limit(3).toArray())
+        .containsExactly(Arrays.copyOfRange(sequential, 1024, 1027));
+  }
+
+  @Test
+  void suppliers() {
+    SplittableRandom random = new SplittableRandom(0L);
+    IntSupplier ints =
+        (IntSupplier) SourceGenerators.intSupplier(annotation("ints")).generate(random);
+    LongSupplier longs =
+        (LongSupplier) SourceGenerators.longSupplier(annotation("longs")).generate(random);
+    DoubleSupplier doubles =
+        (DoubleSupplier) SourceGenerators.doubleSupplier(annotation("doubles")).generate(random);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(ints.getAsInt()).isBetween(-5, 4);
+      assertThat(longs.getAsLong()).isBetween(100L, 199L);
+      assertThat(doubles.getAsDouble()).isGreaterThanOrEqualTo(0).isLessThan(1e-3);
+    }
+  }
+
+  @Test
+  void distribution_sources() {
+    SplittableRandom random = new SplittableRandom(0L);
+    Randomize annotation = annotation("gaussian");
+    assertThat(((IntStream) SourceGenerators.intStream(annotation).generate(random)).limit(1000))
+        .allMatch(value -> value >= 0 && value < 10);
+    assertThat(((LongStream) SourceGenerators.longStream(annotation).generate(random)).limit(1000))
+        .allMatch(value -> value >= 0 && value < 10);
+    assertThat(
+            ((DoubleStream) SourceGenerators.doubleStream(annotation).generate(random)).limit(1000))
+        .allMatch(value -> value >= 0 && value < 10);
+    IntSupplier ints = (IntSupplier) SourceGenerators.intSupplier(annotation).generate(random);
+    LongSupplier longs = (LongSupplier) SourceGenerators.longSupplier(annotation).generate(random);
+    DoubleSupplier doubles =
+        (DoubleSupplier) SourceGenerators.doubleSupplier(annotation).generate(random);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(ints.getAsInt()).isBetween(0, 9);
+      assertThat(longs.getAsLong()).isBetween(0L, 9L);
+      assertThat(doubles.getAsDouble()).isGreaterThanOrEqualTo(0).isLessThan(10);
+    }
+  }
+
+  @Test
+  void unique_sources() {
+    SplittableRandom random = new SplittableRandom(0L);
+    Randomize annotation = annotation("distinct");
+    assertThat((IntStream) SourceGenerators.intStream(annotation).generate(random))
+        .containsExactlyInAnyOrder(IntStream.range(0, 10).boxed().toArray(Integer[]::new));
+    assertThat((LongStream) SourceGenerators.longStream(annotation).generate(random))
+        .containsExactlyInAnyOrder(LongStream.range(0, 10).boxed().toArray(Long[]::new));
+    // the full long range is wider than a long, so its stream only ends at Long.MAX_VALUE values
+    LongStream everything =
+        (LongStream) SourceGenerators.longStream(annotation("everything")).generate(random);
+    assertThat(everything.limit(1000)).doesNotHaveDuplicates().hasSize(1000);
+
+    IntSupplier ints = (IntSupplier) SourceGenerators.intSupplier(annotation).generate(random);
+    LongSupplier longs = (LongSupplier) SourceGenerators.longSupplier(annotation).generate(random);
+    assertThat(IntStream.generate(ints).limit(10)).doesNotHaveDuplicates().allMatch(v -> v < 10);
+    assertThat(LongStream.generate(longs).limit(10)).doesNotHaveDuplicates().allMatch(v -> v < 10);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void element_sources() {
+    Supplier<String> strings = (Supplier<String>) source("strings");
+    assertThat(List.of(strings.get(), strings.get()))
+        .allSatisfy(text -> assertThat(text).hasSize(3).matches("[ -~]+"))
+        .doesNotHaveDuplicates();
+    Iterator<Customer> customers = (Iterator<Customer>) source("customers");
+    assertThat(customers.hasNext()).isTrue();
+    assertThat(customers.next().tags()).hasSize(2);
+    assertThat(customers.next().id()).isBetween(1, 9);
+  }
+
+  @Test
+  void unsupported_sources() {
+    assertThat(
+            SourceGenerators.source(
+                parameter("lists").getParameterizedType(),
+                ObjectGenerators.elements(RandomParametersExtension.GENERATORS)))
+        .isNull();
+    assertThat(
+            SourceGenerators.source(
+                parameter("runnables").getParameterizedType(),
+                ObjectGenerators.elements(RandomParametersExtension.GENERATORS)))
+        .isNull();
+    assertThat(
+            SourceGenerators.source(
+                parameter("randoms").getParameterizedType(),
+                ObjectGenerators.elements(RandomParametersExtension.GENERATORS)))
+        .isNull();
+    assertThat(
+            SourceGenerators.source(
+                parameter("plain").getParameterizedType(),
+                ObjectGenerators.elements(RandomParametersExtension.GENERATORS)))
+        .isNull();
+    assertThatThrownBy(() -> source("fractions"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("unique requires int, long or String elements");
+  }
+
+  record Customer(@Randomize(intMin = 1, intMax = 10) int id, Map<String, Long> tags) {}
+
+  @SuppressWarnings("unused")
+  private void ints(@Randomize(intMin = -5, intMax = 5) IntStream value) {}
+
+  @SuppressWarnings("unused")
+  private void longs(@Randomize(longMin = 100, longMax = 200) LongStream value) {}
+
+  @SuppressWarnings("unused")
+  private void doubles(@Randomize(doubleMin = 0, doubleMax = 1e-3) DoubleStream value) {}
+
+  @SuppressWarnings("unused")
+  private void unbounded(@Randomize DoubleStream value) {}
+
+  @SuppressWarnings("unused")
+  private void gaussian(
+      @Randomize(
+              intMin = 0,
+              intMax = 10,
+              longMin = 0,
+              longMax = 10,
+              doubleMin = 0,
+              doubleMax = 10,
+              distribution = Randomize.Distribution.GAUSSIAN)
+          IntStream value) {}
+
+  @SuppressWarnings("unused")
+  private void distinct(
+      @Randomize(intMin = 0, intMax = 10, longMin = 0, longMax = 10, unique = true)
+          IntStream value) {}
+
+  @SuppressWarnings("unused")
+  private void everything(
+      @Randomize(longMin = Long.MIN_VALUE, longMax = Long.MAX_VALUE, unique = true)
+          LongStream value) {}
+
+  @SuppressWarnings("unused")
+  private void strings(@Randomize(length = 3) Supplier<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void customers(@Randomize(length = 2) Iterator<Customer> value) {}
+
+  @SuppressWarnings("unused")
+  private void lists(@Randomize List<Supplier<String>> value) {}
+
+  @SuppressWarnings("unused")
+  private void runnables(@Randomize Supplier<Runnable> value) {}
+
+  @SuppressWarnings("unused")
+  private void randoms(@Randomize Supplier<SplittableRandom> value) {}
+
+  @SuppressWarnings("unused")
+  private void plain(@Randomize List<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void fractions(@Randomize(unique = true) Iterator<Double> value) {}
+}
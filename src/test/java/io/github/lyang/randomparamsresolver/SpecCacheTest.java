@@ -0,0 +1,48 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class SpecCacheTest {
+
+  @Test
+  void builds_entries_once_per_bound_cache() {
+    SpecCache cache = new SpecCache();
+    Object first = cache.bind(() -> SpecCache.get("spec", Object::new));
+    assertThat(cache.bind(() -> SpecCache.get("spec", Object::new))).isSameAs(first);
+    assertThat(new SpecCache().bind(() -> SpecCache.get("spec", Object::new))).isNotSameAs(first);
+    assertThat(SpecCache.get("spec", Object::new)).isNotSameAs(first);
+  }
+
+  @Test
+  void evicts_the_least_recently_used_entries() {
+    SpecCache cache = new SpecCache();
+    Object kept = cache.bind(() -> SpecCache.get(0, Object::new));
+    Object evicted = cache.bind(() -> SpecCache.get(1, Object::new));
+    for (int i = 2; i <= SpecCache.MAX_ENTRIES; i++) {
+      int key = i;
+      cache.bind(() -> SpecCache.get(key, Object::new));
+      cache.bind(() -> SpecCache.get(0, Object::new));
+    }
+    assertThat(cache.bind(() -> SpecCache.get(0, Object::new))).isSameAs(kept);
+    assertThat(cache.bind(() -> SpecCache.get(1, Object::new))).isNotSameAs(evicted);
+  }
+
+  @Test
+  void does_not_cache_failures() {
+    SpecCache cache = new SpecCache();
+    assertThatThrownBy(
+            () ->
+                cache.bind(
+                    () ->
+                        SpecCache.get(
+                            "spec",
+                            () -> {
+                              throw new IllegalArgumentException("invalid");
+                            })))
+        .hasMessage("invalid");
+    assertThat(cache.bind(() -> SpecCache.get("spec", () -> "valid"))).isEqualTo("valid");
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.lyang.randomparamsresolver;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+
+/** The parameters that test classes declare on methods taking a single parameter. */
+final class TestParameters {
+  private TestParameters() {}
+
+  /** Returns the parameter of the single-parameter method {@code name} of {@code test}. */
+  static Parameter parameter(Class<?> test, String name) {
+    return Arrays.stream(test.getDeclaredMethods())
+        .filter(method -> method.getName().equals(name) && method.getParameterCount() == 1)
+        .findFirst()
+        .orElseThrow()
+        .getParameters()[0];
+  }
+
+  /** Returns the {@link Randomize} of the parameter of method {@code name} of {@code test}. */
+  static Randomize annotation(Class<?> test, String name) {
+    return parameter(test, name).getAnnotation(Randomize.class);
+  }
+}
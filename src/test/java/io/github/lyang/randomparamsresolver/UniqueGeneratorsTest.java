@@ -0,0 +1,214 @@
+package io.github.lyang.randomparamsresolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.lyang.randomparamsresolver.RandomParametersExtension.Randomize;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Permutation;
+import io.github.lyang.randomparamsresolver.UniqueGenerators.Sequence;
+import java.lang.reflect.Parameter;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+
+class UniqueGeneratorsTest {
+
+  private static Parameter parameter(String name) {
+    return TestParameters.parameter(UniqueGeneratorsTest.class, name);
+  }
+
+  private static Function<Randomize, ResolutionPlan.Generator> factory(Parameter parameter) {
+    Function<Randomize, ResolutionPlan.Generator> factory =
+        RandomParametersExtension.GENERATORS.get(parameter.getType());
+    if (factory == null) {
+      factory =
+          BulkGenerators.collection(
+              parameter.getParameterizedType(),
+              ObjectGenerators.elements(RandomParametersExtension.GENERATORS));
+    }
+    if (factory == null) {
+      factory =
+          SourceGenerators.source(
+              parameter.getParameterizedType(),
+              ObjectGenerators.elements(RandomParametersExtension.GENERATORS));
+    }
+    return factory;
+  }
+
+  private static Object generate(String name) {
+    Parameter parameter = parameter(name);
+    return factory(parameter)
+        .apply(parameter.getAnnotation(Randomize.class))
+        .generate(new SplittableRandom(0L));
+  }
+
+  @Test
+  void permutations_are_bijective() {
+    for (long size : new long[] {1, 2, 3, 7, 64, 1000, 1 << 16}) {
+      Permutation permutation = new Permutation(size, size);
+      Set<Long> indexes = new HashSet<>();
+      for (long i = 0; i < size; i++) {
+        long index = permutation.apply(i);
+        assertThat(index).isBetween(0L, size - 1);
+        indexes.add(index);
+      }
+      assertThat(indexes).hasSize((int) size);
+    }
+    Permutation shuffled = new Permutation(1000, 1L);
+    assertThat(LongStream.range(0, 10).map(shuffled::apply).toArray())
+        .isNotEqualTo(LongStream.range(0, 10).toArray())
+        .isNotEqualTo(LongStream.range(0, 10).map(new Permutation(1000, 2L)::apply).toArray());
+  }
+
+  @Test
+  void permutations_cover_the_full_long_range() {
+    Permutation permutation = new Permutation(-1L, 0L);
+    assertThat(LongStream.range(0, 10_000).map(permutation::apply).distinct().count())
+        .isEqualTo(10_000);
+    assertThat(LongStream.range(0, 10_000).map(permutation::apply)).anyMatch(index -> index < 0);
+  }
+
+  @Test
+  void spaces_draw_within_more_than_half_the_long_range() {
+    // a quarter of the unsigned draws fall outside this space, and are drawn again
+    UniqueGenerators.Space space = UniqueGenerators.longs(Long.MIN_VALUE, Long.MAX_VALUE / 2);
+    SplittableRandom random = new SplittableRandom(0L);
+    assertThat(LongStream.range(0, 100).map(i -> (long) space.generate(random)))
+        .allMatch(value -> value < Long.MAX_VALUE / 2);
+  }
+
+  @Test
+  void sequences_exhaust_their_space() {
+    Sequence sequence = new Sequence(UniqueGenerators.ints(-3, 3), 42L);
+    Set<Object> values = new HashSet<>();
+    while (!sequence.exhausted()) {
+      values.add(sequence.next());
+    }
+    assertThat(values).containsExactlyInAnyOrder(-3, -2, -1, 0, 1, 2);
+    assertThatThrownBy(sequence::next)
+        .isInstanceOf(NoSuchElementException.class)
+        .hasMessage("Cannot generate more than 6 unique values within the configured bounds");
+  }
+
+  @Test
+  void strings_are_distinct() {
+    CodePointSampler alphabet = CodePointSampler.of(new String[] {"BASIC_LATIN"});
+    int size = alphabet.size() * alphabet.size();
+    Sequence digits = new Sequence(UniqueGenerators.strings(alphabet, 2), 0L);
+    Set<Object> values = new HashSet<>();
+    for (int i = 0; i < size; i++) {
+      values.add(digits.next());
+    }
+    assertThat(values).hasSize(size).allSatisfy(value -> assertThat((String) value).hasSize(2));
+    assertThat(digits.exhausted()).isTrue();
+
+    Sequence longStrings = new Sequence(UniqueGenerators.strings(alphabet, 40), 0L);
+    assertThat(IntStream.range(0, 1000).mapToObj(i -> longStrings.next()))
+        .doesNotHaveDuplicates()
+        .allSatisfy(value -> assertThat((String) value).hasSize(40));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void bulk_and_sources() {
+    assertThat((int[]) generate("ints"))
+        .containsExactlyInAnyOrder(IntStream.range(0, 100).toArray());
+    assertThat((long[]) generate("longs")).hasSize(1000).doesNotHaveDuplicates();
+    assertThat((Set<String>) generate("strings")).hasSize(50).doesNotHaveDuplicates();
+    assertThat((Map<Integer, Long>) generate("maps"))
+        .hasSize(10)
+        .containsOnlyKeys(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    // values may repeat, drawn from their whole bounded space
+    assertThat(((Map<Long, Integer>) generate("values")).values())
+        .hasSize(10)
+        .allSatisfy(value -> assertThat(value).isBetween(0, 9));
+    assertThat(((IntStream) generate("stream")).toArray())
+        .containsExactlyInAnyOrder(IntStream.range(10, 20).toArray());
+    Iterator<Long> iterator = (Iterator<Long>) generate("iterator");
+    Set<Long> drawn = new HashSet<>();
+    iterator.forEachRemaining(drawn::add);
+    assertThat(drawn).containsExactlyInAnyOrder(0L, 1L, 2L);
+    Supplier<Integer> supplier = (Supplier<Integer>) generate("supplier");
+    assertThat(List.of(supplier.get(), supplier.get())).containsExactlyInAnyOrder(0, 1);
+    assertThatThrownBy(supplier::get).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  void rejects_insufficient_or_unsupported_elements() {
+    Parameter crowded = parameter("crowded");
+    assertThatThrownBy(() -> factory(crowded).apply(crowded.getAnnotation(Randomize.class)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("length (11) exceeds the 10 distinct values within the configured bounds");
+    Parameter doubles = parameter("doubles");
+    assertThatThrownBy(() -> factory(doubles).apply(doubles.getAnnotation(Randomize.class)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("unique requires int, long or String elements");
+    Parameter points = parameter("points");
+    assertThatThrownBy(() -> factory(points).apply(points.getAnnotation(Randomize.class)))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("unique is not supported for component x of Point");
+    Parameter flag = parameter("flag");
+    assertThatThrownBy(
+            () ->
+                ResolutionPlan.of(
+                    flag,
+                    flag.getAnnotation(Randomize.class),
+                    factory(flag),
+                    RandomParametersExtension.DEFAULT_ALGORITHM))
+        .isInstanceOf(ParameterResolutionException.class)
+        .hasMessageEndingWith("unique is not supported for boolean");
+  }
+
+  @SuppressWarnings("unused")
+  private void ints(
+      @Randomize(intMin = 0, intMax = 100, length = 100, unique = true) int[] value) {}
+
+  @SuppressWarnings("unused")
+  private void longs(@Randomize(length = 1000, unique = true) long[] value) {}
+
+  @SuppressWarnings("unused")
+  private void strings(@Randomize(length = 50, unique = true) Set<String> value) {}
+
+  @SuppressWarnings("unused")
+  private void maps(
+      @Randomize(intMin = 0, intMax = 10, length = 10, unique = true) Map<Integer, Long> value) {}
+
+  @SuppressWarnings("unused")
+  private void values(
+      @Randomize(intMin = 0, intMax = 10, length = 10, unique = true) Map<Long, Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void stream(@Randomize(intMin = 10, intMax = 20, unique = true) IntStream value) {}
+
+  @SuppressWarnings("unused")
+  private void iterator(@Randomize(longMin = 0, longMax = 3, unique = true) Iterator<Long> value) {}
+
+  @SuppressWarnings("unused")
+  private void supplier(
+      @Randomize(intMin = 0, intMax = 2, unique = true) Supplier<Integer> value) {}
+
+  record Point(int x, int y) {}
+
+  @SuppressWarnings("unused")
+  private void points(@Randomize(unique = true) Map<Integer, Point> value) {}
+
+  @SuppressWarnings("unused")
+  private void flag(@Randomize(unique = true) boolean value) {}
+
+  @SuppressWarnings("unused")
+  private void crowded(
+      @Randomize(intMin = 0, intMax = 10, length = 11, unique = true) List<Integer> value) {}
+
+  @SuppressWarnings("unused")
+  private void doubles(@Randomize(unique = true) List<Double> value) {}
+}